@@ -0,0 +1,40 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Excel 2007+ export on a streaming (SXSSF) workbook, for large tables.
+ */
+package org.displaytag.decorator.xssf;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * An implementor of this interface decorates tables and columns appearing in a streaming SXSSF workbook. Only the
+ * rows in the access window of the workbook can be read or changed.
+ */
+public interface DecoratesSxssf
+{
+    /**
+     * Set the worksheet used to render a table model.
+     * 
+     * @param sheet The worksheet used to render a table model.
+     */
+    void setSheet(Sheet sheet);
+}
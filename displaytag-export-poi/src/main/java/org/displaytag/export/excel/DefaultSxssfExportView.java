@@ -0,0 +1,108 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Excel 2007+ export on a streaming (SXSSF) workbook, for large tables.
+ */
+package org.displaytag.export.excel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.servlet.jsp.JspException;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.displaytag.export.BinaryExportView;
+import org.displaytag.model.TableModel;
+import org.displaytag.render.XssfTableWriter;
+
+/**
+ * Excel 2007+/xlsx exporter using the POI streaming API. Same output as <code>DefaultXssfExportView</code>, but only
+ * the last <code>export.excel.rowaccesswindow</code> rows are kept in memory while writing: older rows are flushed to
+ * a temporary file, gzip-compressed if <code>export.excel.compresstempfiles</code> is true. The temporary files are
+ * deleted after the export.
+ */
+public class DefaultSxssfExportView implements BinaryExportView
+{
+
+    /**
+     * TableModel to render.
+     */
+    private TableModel model;
+
+    /**
+     * @see org.displaytag.export.BinaryExportView#doExport(java.io.OutputStream)
+     */
+    public void doExport(OutputStream out) throws IOException, JspException
+    {
+        SXSSFWorkbook wb = new SXSSFWorkbook(null, getRowAccessWindowSize(), isCompressTempFiles());
+        try
+        {
+            new XssfTableWriter(wb).writeTable(this.model, "-1");
+            wb.write(out);
+        }
+        catch (Exception e)
+        {
+            throw new DefaultXssfExportView.XssfGenerationException(e);
+        }
+        finally
+        {
+            // remove temporary files
+            wb.dispose();
+        }
+    }
+
+    /**
+     * Number of rows kept in memory while writing, older rows are flushed to a temporary file.
+     * @return <code>export.excel.rowaccesswindow</code> property
+     */
+    protected int getRowAccessWindowSize()
+    {
+        return this.model.getProperties().getExportExcelRowAccessWindow();
+    }
+
+    /**
+     * Should temporary files be gzip-compressed? Compression saves disk space for large exports at the price of some
+     * cpu time.
+     * @return <code>export.excel.compresstempfiles</code> property
+     */
+    protected boolean isCompressTempFiles()
+    {
+        return this.model.getProperties().getExportExcelCompressTempFiles();
+    }
+
+    /**
+     * @see org.displaytag.export.ExportView#setParameters(org.displaytag.model.TableModel, boolean, boolean, boolean)
+     */
+    public void setParameters(TableModel model, boolean exportFullList,
+            boolean includeHeader, boolean decorateValues)
+    {
+        this.model = model;
+    }
+
+    /**
+     * @see org.displaytag.export.BaseExportView#getMimeType()
+     * @return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
+     */
+    public String getMimeType()
+    {
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"; //$NON-NLS-1$
+    }
+}
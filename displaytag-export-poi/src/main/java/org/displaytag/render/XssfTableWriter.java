@@ -20,6 +20,9 @@
  *
  * 4 August 2015
  * Modifed Excel export to support Excel 2007+ format
+ *
+ * 18 October 2026
+ * Also writes to a streaming (SXSSF) workbook, for large tables.
  */ 
 package org.displaytag.render;
 
@@ -31,17 +34,20 @@ import org.apache.commons.lang.ObjectUtils;
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.NumberUtils;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFFont;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
-import org.apache.poi.xssf.usermodel.XSSFRow;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.displaytag.decorator.TableDecorator;
+import org.displaytag.decorator.xssf.DecoratesSxssf;
 import org.displaytag.decorator.xssf.DecoratesXssf;
 import org.displaytag.model.Column;
 import org.displaytag.model.HeaderCell;
@@ -49,7 +55,9 @@ import org.displaytag.model.Row;
 import org.displaytag.model.TableModel;
 
 /**
- * A table writer that formats a table in format of Excel 2007+ spreadsheet, and writes it to a XSSF workbook.
+ * A table writer that formats a table in format of Excel 2007+ spreadsheet, and writes it to a XSSF workbook or to a
+ * streaming SXSSF workbook. With a SXSSF workbook only the last rows (the row access window of the workbook) are kept
+ * in memory, and column widths are adjusted on the rows still in memory at the end of the table.
  * @see org.displaytag.render.TableWriterTemplate
  */
 public class XssfTableWriter extends TableWriterAdapter
@@ -58,12 +66,12 @@ public class XssfTableWriter extends TableWriterAdapter
     /**
      * The workbook to which the table is written.
      */
-    private XSSFWorkbook wb;
+    private Workbook wb;
 
     /**
      * Generated sheet.
      */
-    private XSSFSheet sheet;
+    private Sheet sheet;
 
     /**
      * Current row number.
@@ -73,7 +81,7 @@ public class XssfTableWriter extends TableWriterAdapter
     /**
      * Current row.
      */
-    private XSSFRow currentRow;
+    private org.apache.poi.ss.usermodel.Row currentRow;
 
     /**
      * Current column number.
@@ -83,12 +91,12 @@ public class XssfTableWriter extends TableWriterAdapter
     /**
      * Current cell.
      */
-    private XSSFCell currentCell;
+    private Cell currentCell;
 
     /**
-     * Percent Excel format.
+     * Style for percent values, created on first use.
      */
-    private short pctFormat = -1;
+    private CellStyle pctStyle;
 
     /**
      * This table writer uses a XSSF workbook to write the table.
@@ -99,6 +107,15 @@ public class XssfTableWriter extends TableWriterAdapter
         this.wb = workbook;
     }
 
+    /**
+     * This table writer uses a streaming SXSSF workbook to write the table.
+     * @param workbook The SXSSF workbook to write the table.
+     */
+    public XssfTableWriter(SXSSFWorkbook workbook)
+    {
+        this.wb = workbook;
+    }
+
     /**
      * @see org.displaytag.render.TableWriterTemplate#writeTableOpener(org.displaytag.model.TableModel)
      */
@@ -117,7 +134,7 @@ public class XssfTableWriter extends TableWriterAdapter
      */
     protected void writeCaption(TableModel model) throws Exception
     {
-        XSSFFont captionFont= wb.createFont();
+        XSSFFont captionFont = (XSSFFont) wb.createFont();
         captionFont.setFontHeightInPoints((short)14);
         captionFont.setBoldweight(XSSFFont.BOLDWEIGHT_BOLD);
         captionFont.setBold(true);
@@ -209,12 +226,7 @@ public class XssfTableWriter extends TableWriterAdapter
             if (value.toString().indexOf("%") > -1)
             {
                 this.currentCell.setCellValue(num.doubleValue() / 100);
-                XSSFCellStyle cellStyle = this.wb.createCellStyle();
-                if (this.pctFormat == -1) {
-                    this.pctFormat = this.wb.createDataFormat().getFormat("0.00%");
-                }
-                cellStyle.setDataFormat(this.pctFormat);
-                this.currentCell.setCellStyle(cellStyle);
+                this.currentCell.setCellStyle(this.getPercentStyle());
             }
             else
             {
@@ -236,16 +248,21 @@ public class XssfTableWriter extends TableWriterAdapter
     }
 
     /**
-     * Decorators that help render the table to an HSSF table must implement DecoratesHssf.
+     * Decorators that help render the table to a XSSF table must implement DecoratesXssf, or DecoratesSxssf for a
+     * SXSSF table.
      * @see org.displaytag.render.TableWriterTemplate#writeDecoratedRowFinish(org.displaytag.model.TableModel)
      */
     protected void writeDecoratedRowFinish(TableModel model) throws Exception
     {
         TableDecorator decorator = model.getTableDecorator();
-        if (decorator instanceof DecoratesXssf)
+        if (decorator instanceof DecoratesXssf && this.sheet instanceof XSSFSheet)
         {
             DecoratesXssf xdecorator = (DecoratesXssf) decorator;
-            xdecorator.setSheet(this.sheet);
+            xdecorator.setSheet((XSSFSheet) this.sheet);
+        }
+        else if (decorator instanceof DecoratesSxssf)
+        {
+            ((DecoratesSxssf) decorator).setSheet(this.sheet);
         }
         decorator.finishRow();
         this.rowNum = this.sheet.getLastRowNum();
@@ -338,7 +355,7 @@ public class XssfTableWriter extends TableWriterAdapter
      * @param row The row in which to write the header or footer.
      * @param style Style used to render the header or footer.
      */
-    private void writeHeaderFooter(String value, XSSFRow row, XSSFCellStyle style)
+    private void writeHeaderFooter(String value, org.apache.poi.ss.usermodel.Row row, XSSFCellStyle style)
     {
         this.currentCell = row.createCell(this.colNum++);
         this.currentCell.setCellValue(new XSSFRichTextString(value));
@@ -351,19 +368,34 @@ public class XssfTableWriter extends TableWriterAdapter
      */
     private XSSFCellStyle getHeaderFooterStyle()
     {
-    	XSSFFont font = this.wb.createFont();
+    	XSSFFont font = (XSSFFont) this.wb.createFont();
     	font.setColor(IndexedColors.WHITE.getIndex());
     	font.setBold(true);
     	font.setBoldweight(XSSFFont.BOLDWEIGHT_BOLD);
     	font.setItalic(false);
 
-        XSSFCellStyle style = this.wb.createCellStyle(); 
+        XSSFCellStyle style = (XSSFCellStyle) this.wb.createCellStyle(); 
     	style.setFillPattern(XSSFCellStyle.FINE_DOTS);
     	style.setFillBackgroundColor(IndexedColors.BLUE_GREY.getIndex());
     	style.setFont(font);
         return style;
     }
 
+    /**
+     * Obtain the style used to render percent values. A single style is shared by all the percent cells, a workbook
+     * can't hold more than 64000 styles.
+     * @return The style used to render percent values.
+     */
+    private CellStyle getPercentStyle()
+    {
+        if (this.pctStyle == null)
+        {
+            this.pctStyle = this.wb.createCellStyle();
+            this.pctStyle.setDataFormat(this.wb.createDataFormat().getFormat("0.00%"));
+        }
+        return this.pctStyle;
+    }
+
     /**
      * @see org.displaytag.render.TableWriterAdapter#writeBottomBanner(org.displaytag.model.TableModel)
      */
@@ -0,0 +1,139 @@
+package org.displaytag.export.excel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.displaytag.export.BinaryExportView;
+import org.displaytag.model.HeaderCell;
+import org.displaytag.model.Row;
+import org.displaytag.model.TableModel;
+import org.displaytag.properties.MediaTypeEnum;
+import org.displaytag.properties.TableProperties;
+
+
+/**
+ * Tests for DefaultSxssfExportView.
+ */
+public class DefaultSxssfExportViewTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Caption, header and rows are the same as the ones written by DefaultXssfExportView, also for rows flushed out of
+     * the access window.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testSameAsXssf() throws Exception
+    {
+        TableModel model = createModel(25);
+        model.getProperties().setProperty(TableProperties.PROPERTY_INT_EXPORT_EXCEL_ROWACCESSWINDOW, "10");
+
+        Sheet expected = export(new DefaultXssfExportView(), model);
+        Sheet sheet = export(new DefaultSxssfExportView(), model);
+
+        assertEquals("caption", sheet.getRow(0).getCell(0).getStringCellValue());
+        assertEquals("Name", sheet.getRow(1).getCell(0).getStringCellValue());
+        assertEquals("Amount", sheet.getRow(1).getCell(1).getStringCellValue());
+
+        assertEquals(expected.getLastRowNum(), sheet.getLastRowNum());
+        assertEquals(expected.getNumMergedRegions(), sheet.getNumMergedRegions());
+        for (int j = 0; j <= expected.getLastRowNum(); j++)
+        {
+            org.apache.poi.ss.usermodel.Row expectedRow = expected.getRow(j);
+            org.apache.poi.ss.usermodel.Row row = sheet.getRow(j);
+            assertEquals("Row " + j, expectedRow.getLastCellNum(), row.getLastCellNum());
+            for (int k = 0; k < expectedRow.getLastCellNum(); k++)
+            {
+                assertEquals("Cell " + j + "," + k, value(expectedRow.getCell(k)), value(row.getCell(k)));
+            }
+        }
+        assertEquals("name24", sheet.getRow(26).getCell(0).getStringCellValue());
+        assertEquals(24, sheet.getRow(26).getCell(1).getNumericCellValue(), 0);
+    }
+
+    /**
+     * The row access window and the compression of temporary files are read from the table properties.
+     */
+    public void testProperties()
+    {
+        TableModel model = createModel(1);
+        DefaultSxssfExportView view = new DefaultSxssfExportView();
+        view.setParameters(model, true, true, true);
+
+        assertEquals(100, view.getRowAccessWindowSize());
+        assertFalse(view.isCompressTempFiles());
+
+        model.getProperties().setProperty(TableProperties.PROPERTY_INT_EXPORT_EXCEL_ROWACCESSWINDOW, "500");
+        model.getProperties().setProperty(TableProperties.PROPERTY_BOOLEAN_EXPORT_EXCEL_COMPRESSTEMPFILES, "true");
+        assertEquals(500, view.getRowAccessWindowSize());
+        assertTrue(view.isCompressTempFiles());
+    }
+
+    /**
+     * Creates a table with a caption and two columns.
+     * @param size number of rows
+     * @return TableModel
+     */
+    private TableModel createModel(int size)
+    {
+        TableModel model = new TableModel(TableProperties.getInstance(null), null, null);
+        model.setId("table");
+        model.setMedia(MediaTypeEnum.EXCEL);
+        model.setCaption("caption");
+
+        HeaderCell name = new HeaderCell();
+        name.setBeanPropertyName("name");
+        model.addColumnHeader(name);
+        HeaderCell amount = new HeaderCell();
+        amount.setBeanPropertyName("amount");
+        model.addColumnHeader(amount);
+
+        for (int j = 0; j < size; j++)
+        {
+            Map object = new HashMap();
+            object.put("name", "name" + j);
+            object.put("amount", new Integer(j));
+            model.addRow(new Row(object, j + 1));
+        }
+        model.setRowListPage(model.getRowListFull());
+        return model;
+    }
+
+    /**
+     * Exports a table and reads the sheet back.
+     * @param view export view
+     * @param model table model
+     * @return exported sheet
+     * @throws Exception any exception thrown during export.
+     */
+    private Sheet export(BinaryExportView view, TableModel model) throws Exception
+    {
+        view.setParameters(model, true, true, true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        view.doExport(out);
+        return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray())).getSheetAt(0);
+    }
+
+    /**
+     * @param cell cell, may be null
+     * @return cell value as a String
+     */
+    private String value(Cell cell)
+    {
+        return cell != null ? cell.toString() : null;
+    }
+}
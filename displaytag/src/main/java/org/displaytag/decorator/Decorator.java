@@ -9,13 +9,21 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - The getter cache is thread safe and attached to the
+ *      decorator class.
+ */
 package org.displaytag.decorator;
 
 import java.beans.IndexedPropertyDescriptor;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.servlet.jsp.PageContext;
 
@@ -41,14 +49,18 @@ abstract class Decorator
 {
 
     /**
-     * Char used to separate class name and property in the cache key.
+     * property info cache: for each decorator class, simple property names as keys and Booleans as values. Attached to
+     * the class so that entries go away with their classloader.
      */
-    private static final char CLASS_PROPERTY_SEPARATOR = '#';
+    private static final ClassValue<ConcurrentMap<String, Boolean>> PROPERTY_MAP = //
+    new ClassValue<ConcurrentMap<String, Boolean>>()
+    {
 
-    /**
-     * property info cache contains classname#propertyname Strings as keys and Booleans as values.
-     */
-    private static Map propertyMap = new HashMap();
+        protected ConcurrentMap<String, Boolean> computeValue(Class< ? > type)
+        {
+            return new ConcurrentHashMap<String, Boolean>();
+        }
+    };
 
     /**
      * page context.
@@ -138,9 +150,8 @@ abstract class Decorator
             simpleProperty = simpleProperty.substring(0, indexOfDot);
         }
 
-        Boolean cachedResult = (Boolean) propertyMap.get(getClass().getName()
-            + CLASS_PROPERTY_SEPARATOR
-            + simpleProperty);
+        ConcurrentMap<String, Boolean> propertyMap = PROPERTY_MAP.get(getClass());
+        Boolean cachedResult = propertyMap.get(simpleProperty);
 
         if (cachedResult != null)
         {
@@ -151,8 +162,7 @@ abstract class Decorator
         boolean hasGetter = searchGetterFor(propertyName);
 
         // save in cache
-        propertyMap.put(getClass().getName() + CLASS_PROPERTY_SEPARATOR + simpleProperty, BooleanUtils
-            .toBooleanObject(hasGetter));
+        propertyMap.putIfAbsent(simpleProperty, BooleanUtils.toBooleanObject(hasGetter));
 
         // and return
         return hasGetter;
@@ -9,21 +9,35 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Subtotal labels and totals read the cached column
+ *      values of the table model.
+ *  18 October 2026 - Totals are aggregated as rows are written, with
+ *      sum, count, min, max and average functions.
+ *  18 October 2026 - Header and total rows are written directly to the
+ *      output, unless startRow() or finishRow() are overridden.
+ *  18 October 2026 - Cells and totals are looked up by column number.
+ */
 package org.displaytag.decorator;
 
+import java.io.IOException;
 import java.util.*;
 import java.text.MessageFormat;
 
 import javax.servlet.jsp.PageContext;
 
 import org.apache.commons.lang.ObjectUtils;
-import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.UnhandledException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.displaytag.exception.DecoratorException;
 import org.displaytag.exception.ObjectLookupException;
+import org.displaytag.model.Cell;
 import org.displaytag.model.Column;
-import org.displaytag.model.ColumnIterator;
 import org.displaytag.model.HeaderCell;
 import org.displaytag.model.Row;
 import org.displaytag.model.TableModel;
@@ -39,6 +53,31 @@ import org.displaytag.util.TagConstants;
 public class MultilevelTotalTableDecorator extends TableDecorator
 {
 
+    /**
+     * Aggregate function: sum of the values (default).
+     */
+    public static final int SUM = 0;
+
+    /**
+     * Aggregate function: number of values.
+     */
+    public static final int COUNT = 1;
+
+    /**
+     * Aggregate function: smallest value.
+     */
+    public static final int MIN = 2;
+
+    /**
+     * Aggregate function: largest value.
+     */
+    public static final int MAX = 3;
+
+    /**
+     * Aggregate function: average of the values.
+     */
+    public static final int AVERAGE = 4;
+
     /**
      * If there are no columns that are totaled, we should not issue a totals row.
      */
@@ -116,10 +155,73 @@ public class MultilevelTotalTableDecorator extends TableDecorator
      */
     private List headerRows = new ArrayList(5);
 
+    /**
+     * Aggregate functions by column number, columns not in the map are summed.
+     */
+    private Map aggregateFunctions = new HashMap();
+
+    /**
+     * Totaled columns.
+     */
+    private HeaderCell[] totaledHeaders;
+
+    /**
+     * Index in totaledHeaders for each column number, -1 for columns which are not totaled. Keyed on the column
+     * number, as the header cell list is reversed for rtl exports.
+     */
+    private int[] totaledIndexes;
+
+    /**
+     * Aggregates for the grand total.
+     */
+    private RunningAggregate[] grandTotals;
+
+    /**
+     * Totals of the defined groups.
+     */
+    private GroupTotals[] groups;
+
+    /**
+     * Index in the full list of the next row to add to the aggregates.
+     */
+    private int nextRowToAggregate;
+
+    /**
+     * A subclass overrides <code>startRow()</code>: header rows are written from its result.
+     */
+    private final boolean startRowOverridden = isOverridden(
+        MultilevelTotalTableDecorator.class,
+        "startRow",
+        new Class[0]);
+
+    /**
+     * A subclass overrides <code>finishRow()</code>: total rows are written from its result.
+     */
+    private final boolean finishRowOverridden = isOverridden(
+        MultilevelTotalTableDecorator.class,
+        "finishRow",
+        new Class[0]);
+
     public void init(PageContext context, Object decorated, TableModel model)
     {
         super.init(context, decorated, model);
         List headerCells = model.getHeaderCellList();
+
+        List totaled = new ArrayList();
+        this.totaledIndexes = new int[headerCells.size()];
+        for (int j = 0; j < headerCells.size(); j++)
+        {
+            HeaderCell headerCell = (HeaderCell) headerCells.get(j);
+            this.totaledIndexes[headerCell.getColumnNumber()] = headerCell.isTotaled() ? totaled.size() : -1;
+            if (headerCell.isTotaled())
+            {
+                totaled.add(headerCell);
+            }
+        }
+        this.totaledHeaders = (HeaderCell[]) totaled.toArray(new HeaderCell[totaled.size()]);
+        this.grandTotals = newAggregates();
+        this.nextRowToAggregate = 0;
+
         // go through each column, looking for grouped columns; add them to the group number map
         for (Iterator iterator = headerCells.iterator(); iterator.hasNext();)
         {
@@ -135,6 +237,116 @@ public class MultilevelTotalTableDecorator extends TableDecorator
                 }
             }
         }
+        this.groups = (GroupTotals[]) groupNumberToGroupTotal.values().toArray(
+            new GroupTotals[groupNumberToGroupTotal.size()]);
+    }
+
+    /**
+     * Sets the aggregate function used for subtotals and grand total of a totaled column.
+     * @param columnNumber column number
+     * @param function SUM, COUNT, MIN, MAX or AVERAGE
+     */
+    public void setAggregateFunction(int columnNumber, int function)
+    {
+        this.aggregateFunctions.put(new Integer(columnNumber), new Integer(function));
+    }
+
+    /**
+     * Returns the aggregate function for a totaled column, SUM unless set with <code>setAggregateFunction()</code>.
+     * @param header totaled column
+     * @return SUM, COUNT, MIN, MAX or AVERAGE
+     */
+    protected int getAggregateFunction(HeaderCell header)
+    {
+        Integer function = (Integer) this.aggregateFunctions.get(new Integer(header.getColumnNumber()));
+        return function != null ? function.intValue() : SUM;
+    }
+
+    /**
+     * Creates the aggregates for the totaled columns.
+     * @return one RunningAggregate for each totaled column
+     */
+    private RunningAggregate[] newAggregates()
+    {
+        RunningAggregate[] aggregates = new RunningAggregate[this.totaledHeaders.length];
+        for (int k = 0; k < aggregates.length; k++)
+        {
+            aggregates[k] = new RunningAggregate();
+        }
+        return aggregates;
+    }
+
+    /**
+     * Adds the values of the rows up to the given one to the group and grand total aggregates. Rows before the first
+     * written row (previous pages) are added at once, as they are part of the totals.
+     * @param lastRow index in the full list of the last row to add
+     */
+    private void aggregateRows(int lastRow)
+    {
+        List fullList = tableModel.getRowListFull();
+
+        // only sums and averages add up the values, count, min and max also work on text or date columns
+        boolean[] summed = new boolean[this.totaledHeaders.length];
+        for (int k = 0; k < summed.length; k++)
+        {
+            int function = getAggregateFunction(this.totaledHeaders[k]);
+            summed[k] = function == SUM || function == AVERAGE;
+        }
+
+        for (; this.nextRowToAggregate <= lastRow; this.nextRowToAggregate++)
+        {
+            int rowIndex = this.nextRowToAggregate;
+            Row row = null;
+            for (int k = 0; k < this.totaledHeaders.length; k++)
+            {
+                HeaderCell header = this.totaledHeaders[k];
+                Object value = null;
+                try
+                {
+                    // cached values, the column bodies are not evaluated again
+                    value = tableModel.getColumnValue(rowIndex, header.getColumnNumber(), false);
+                }
+                catch (ObjectLookupException e)
+                {
+                    logger.error(e);
+                }
+                catch (DecoratorException e)
+                {
+                    logger.error(e);
+                }
+                if (value == null || TagConstants.EMPTY_STRING.equals(value))
+                {
+                    continue;
+                }
+
+                if (!summed[k])
+                {
+                    this.grandTotals[k].add(value, null);
+                    for (int g = 0; g < this.groups.length; g++)
+                    {
+                        this.groups[g].aggregates[k].add(value, null);
+                    }
+                    continue;
+                }
+
+                if (row == null)
+                {
+                    row = (Row) fullList.get(rowIndex);
+                }
+                List cells = row.getCellList();
+                int cellIndex = header.getColumnNumber();
+                Column column = new Column(header, cellIndex < cells.size()
+                    ? (Cell) cells.get(cellIndex)
+                    : Cell.EMPTY_CELL, row);
+
+                this.grandTotals[k].add(value, add(column, this.grandTotals[k].getSum(), value));
+                for (int g = 0; g < this.groups.length; g++)
+                {
+                    RunningAggregate aggregate = this.groups[g].aggregates[k];
+                    aggregate.add(value, add(column, aggregate.getSum(), value));
+                }
+            }
+        }
     }
 
     public String getGrandTotalDescription()
@@ -257,12 +469,46 @@ public class MultilevelTotalTableDecorator extends TableDecorator
     public String startRow()
     {
         StringBuffer sb = new StringBuffer();
+        try
+        {
+            writeStartRow(sb);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the group header rows, or the result of <code>startRow()</code> if a subclass overrides it.
+     * @see org.displaytag.decorator.TableDecorator#startRow(java.lang.Appendable)
+     */
+    public void startRow(Appendable out) throws IOException
+    {
+        if (this.startRowOverridden)
+        {
+            super.startRow(out);
+        }
+        else
+        {
+            writeStartRow(out);
+        }
+    }
+
+    /**
+     * Writes the group header rows.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    private void writeStartRow(Appendable out) throws IOException
+    {
         for (Iterator iterator = headerRows.iterator(); iterator.hasNext();)
         {
             StringBuffer stringBuffer = (StringBuffer) iterator.next();
-            sb.append(stringBuffer);
+            out.append(stringBuffer);
         }
-        return sb.toString();
     }
 
     public void endOfGroup(String value, int groupNumber)
@@ -275,12 +521,49 @@ public class MultilevelTotalTableDecorator extends TableDecorator
 
     public String finishRow()
     {
-        String returnValue = "";
+        StringBuffer sb = new StringBuffer();
+        try
+        {
+            writeFinishRow(sb);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the subtotal rows of the groups ending with the current row, and the grand total row after the last row,
+     * or the result of <code>finishRow()</code> if a subclass overrides it.
+     * @see org.displaytag.decorator.TableDecorator#finishRow(java.lang.Appendable)
+     */
+    public void finishRow(Appendable out) throws IOException
+    {
+        if (this.finishRowOverridden)
+        {
+            super.finishRow(out);
+        }
+        else
+        {
+            writeFinishRow(out);
+        }
+    }
+
+    /**
+     * Writes the subtotal rows of the groups ending with the current row, and the grand total row after the last row.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    private void writeFinishRow(Appendable out) throws IOException
+    {
         if (containsTotaledColumns)
         {
+            aggregateRows(getListIndex());
+
             if (innermostGroup > 0 && deepestResetGroup != NO_RESET_GROUP)
             {
-                StringBuffer out = new StringBuffer();
                 // Starting with the deepest group, print the current total and reset. Do not reset unaffected groups.
                 for (int i = innermostGroup; i >= deepestResetGroup; i--)
                 {
@@ -295,21 +578,14 @@ public class MultilevelTotalTableDecorator extends TableDecorator
                     totals.printTotals(getListIndex(), out);
                     totals.setStartRow(getListIndex() + 1);
                 }
-                returnValue = out.toString();
-            }
-            else
-            {
-                returnValue = null;
             }
             deepestResetGroup = NO_RESET_GROUP;
             headerRows.clear();
             if (isLastRow())
             {
-                returnValue = StringUtils.defaultString(returnValue);
-                returnValue += totalAllRows();
+                out.append(totalAllRows());
             }
         }
-        return returnValue;
     }
 
     /**
@@ -322,13 +598,12 @@ public class MultilevelTotalTableDecorator extends TableDecorator
         {
             List headerCells = tableModel.getHeaderCellList();
             StringBuffer output = new StringBuffer();
-            int currentRow = getListIndex();
             output.append(TagConstants.TAG_OPEN + TagConstants.TAGNAME_ROW
                     + " class=\"grandtotal-row\"" + TagConstants.TAG_CLOSE);
             boolean first = true;
-            for (Iterator iterator = headerCells.iterator(); iterator.hasNext();)
+            for (int j = 0; j < headerCells.size(); j++)
             {
-                HeaderCell headerCell = (HeaderCell) iterator.next();
+                HeaderCell headerCell = (HeaderCell) headerCells.get(j);
                 if (first)
                 {
                     output.append(getTotalsTdOpen(headerCell, getGrandTotalLabel()));
@@ -338,7 +613,7 @@ public class MultilevelTotalTableDecorator extends TableDecorator
                 else if (headerCell.isTotaled())
                 {
                     // a total if the column should be totaled
-                    Object total = getTotalForColumn(headerCell.getColumnNumber(), 0, currentRow);
+                    Object total = grandTotals[totaledIndexes[headerCell.getColumnNumber()]].get(getAggregateFunction(headerCell));
                     output.append(getTotalsTdOpen(headerCell, getGrandTotalSum()));
                     output.append(formatTotal(headerCell, total));
                 }
@@ -361,66 +636,65 @@ public class MultilevelTotalTableDecorator extends TableDecorator
 
     protected String getCellValue(int columnNumber, int rowNumber)
     {
-        List fullList = tableModel.getRowListFull();
-        Row row = (Row) fullList.get(rowNumber);
-        ColumnIterator columnIterator = row.getColumnIterator(tableModel.getHeaderCellList());
-        while (columnIterator.hasNext())
+        try
         {
-            Column column = columnIterator.nextColumn();
-            if (column.getHeaderCell().getColumnNumber() == columnNumber)
-            {
-                try
-                {
-                    column.initialize();
-                    return column.getChoppedAndLinkedValue();
-                }
-                catch (ObjectLookupException e)
-                {
-                    logger.error("Error: " + e.getMessage(), e);
-                    throw new RuntimeException("Error: " + e.getMessage(), e);
-                }
-                catch (DecoratorException e)
-                {
-                    logger.error("Error: " + e.getMessage(), e);
-                    throw new RuntimeException("Error: " + e.getMessage(), e);
-                }
-            }
+            // already computed when the row has been rendered
+            return tableModel.getColumnDisplayValue(rowNumber, columnNumber);
+        }
+        catch (ObjectLookupException e)
+        {
+            logger.error("Error: " + e.getMessage(), e);
+            throw new RuntimeException("Error: " + e.getMessage(), e);
+        }
+        catch (DecoratorException e)
+        {
+            logger.error("Error: " + e.getMessage(), e);
+            throw new RuntimeException("Error: " + e.getMessage(), e);
         }
-        throw new RuntimeException("Unable to find column " + columnNumber + " in the list of columns");
     }
 
     protected Object getTotalForColumn(int columnNumber, int startRow, int stopRow)
     {
         List fullList = tableModel.getRowListFull();
-        List window = fullList.subList(startRow, stopRow + 1);
+        List headerCells = tableModel.getHeaderCellList();
+        HeaderCell header = null;
+        for (int j = 0; j < headerCells.size(); j++)
+        {
+            HeaderCell headerCell = (HeaderCell) headerCells.get(j);
+            if (headerCell.getColumnNumber() == columnNumber)
+            {
+                header = headerCell;
+                break;
+            }
+        }
+        if (header == null)
+        {
+            return null;
+        }
+
         Object total = null;
-        for (Iterator iterator = window.iterator(); iterator.hasNext();)
+        for (int j = startRow; j <= stopRow; j++)
         {
-            Row row = (Row) iterator.next();
-            ColumnIterator columnIterator = row.getColumnIterator(tableModel.getHeaderCellList());
-            while (columnIterator.hasNext())
+            Object value = null;
+            try
             {
-                Column column = columnIterator.nextColumn();
-                if (column.getHeaderCell().getColumnNumber() == columnNumber)
-                {
-                    Object value = null;
-                    try
-                    {
-                        value = column.getValue(false);
-                    }
-                    catch (ObjectLookupException e)
-                    {
-                        logger.error(e);
-                    }
-                    catch (DecoratorException e)
-                    {
-                        logger.error(e);
-                    }
-                    if (value != null && ! TagConstants.EMPTY_STRING.equals(value))
-                    {
-                        total = add(column, total, value);
-                    }
-                }
+                // cached values, the column bodies are not evaluated again
+                value = tableModel.getColumnValue(j, columnNumber, false);
+            }
+            catch (ObjectLookupException e)
+            {
+                logger.error(e);
+            }
+            catch (DecoratorException e)
+            {
+                logger.error(e);
+            }
+            if (value != null && ! TagConstants.EMPTY_STRING.equals(value))
+            {
+                Row row = (Row) fullList.get(j);
+                List cells = row.getCellList();
+                Cell cell = columnNumber < cells.size() ? (Cell) cells.get(columnNumber) : Cell.EMPTY_CELL;
+                total = add(new Column(header, cell, row), total, value);
             }
         }
         return total;
@@ -529,13 +803,19 @@ public class MultilevelTotalTableDecorator extends TableDecorator
 
         private int firstRowOfCurrentSet;
 
+        /**
+         * Aggregates of the totaled columns for the current set of rows.
+         */
+        private RunningAggregate[] aggregates;
+
         public GroupTotals(int headerCellColumn)
         {
             this.columnNumber = headerCellColumn;
             this.firstRowOfCurrentSet = 0;
+            this.aggregates = newAggregates();
         }
 
-        public void printTotals(int currentRow, StringBuffer out)
+        public void printTotals(int currentRow, Appendable out) throws IOException
         {
 
             // For each column, output:
@@ -543,9 +823,9 @@ public class MultilevelTotalTableDecorator extends TableDecorator
             if (firstRowOfCurrentSet < currentRow) // If there is more than one row, show a total
             {
                 out.append(totalsRowOpen);
-                for (Iterator iterator = headerCells.iterator(); iterator.hasNext();)
+                for (int j = 0; j < headerCells.size(); j++)
                 {
-                    HeaderCell headerCell = (HeaderCell) iterator.next();
+                    HeaderCell headerCell = (HeaderCell) headerCells.get(j);
 
                     if (columnNumber == headerCell.getColumnNumber())
                     {
@@ -557,8 +837,7 @@ public class MultilevelTotalTableDecorator extends TableDecorator
                     else if (headerCell.isTotaled())
                     {
                         // a total if the column should be totaled
-                        Object total = getTotalForColumn(headerCell.getColumnNumber(),
-                                firstRowOfCurrentSet, currentRow);
+                        Object total = aggregates[totaledIndexes[headerCell.getColumnNumber()]].get(getAggregateFunction(headerCell));
                         out.append(getTotalsTdOpen(headerCell, getTotalValueClass() + " group-" + (columnNumber + 1)));
                         out.append(formatTotal(headerCell, total));
                     }
@@ -581,6 +860,10 @@ public class MultilevelTotalTableDecorator extends TableDecorator
         public void setStartRow(int i)
         {
             firstRowOfCurrentSet = i;
+            for (int k = 0; k < aggregates.length; k++)
+            {
+                aggregates[k].reset();
+            }
         }
 
         public String getTotalLabelClass()
@@ -0,0 +1,139 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Running sum, count, minimum, maximum and average of a totaled column.
+ */
+package org.displaytag.decorator;
+
+/**
+ * Aggregates of the values of a column, updated as rows are written. The sum is computed by the decorator (see
+ * <code>MultilevelTotalTableDecorator.add()</code>) and handed over with each value, the other aggregates are kept
+ * here. Count, min and max don't need a sum, so they also work on text or date values.
+ */
+final class RunningAggregate
+{
+
+    /**
+     * Sum of the values.
+     */
+    private Object sum;
+
+    /**
+     * Number of values.
+     */
+    private int count;
+
+    /**
+     * Smallest value.
+     */
+    private Object min;
+
+    /**
+     * Largest value.
+     */
+    private Object max;
+
+    /**
+     * Adds a value.
+     * @param value column value, not null
+     * @param newSum sum including this value, null if the column is not summed
+     */
+    void add(Object value, Object newSum)
+    {
+        this.sum = newSum;
+        this.count++;
+        if (this.min == null || compare(value, this.min) < 0)
+        {
+            this.min = value;
+        }
+        if (this.max == null || compare(value, this.max) > 0)
+        {
+            this.max = value;
+        }
+    }
+
+    /**
+     * Returns the current sum.
+     * @return sum, null if no value has been added
+     */
+    Object getSum()
+    {
+        return this.sum;
+    }
+
+    /**
+     * Returns the value of an aggregate function.
+     * @param function one of the <code>MultilevelTotalTableDecorator</code> aggregate constants
+     * @return aggregate value, null if no value has been added (except for count)
+     */
+    Object get(int function)
+    {
+        switch (function)
+        {
+            case MultilevelTotalTableDecorator.COUNT :
+                return new Integer(this.count);
+            case MultilevelTotalTableDecorator.MIN :
+                return this.min;
+            case MultilevelTotalTableDecorator.MAX :
+                return this.max;
+            case MultilevelTotalTableDecorator.AVERAGE :
+                if (this.count == 0 || !(this.sum instanceof Number))
+                {
+                    return null;
+                }
+                return new Double(((Number) this.sum).doubleValue() / this.count);
+            default :
+                return this.sum;
+        }
+    }
+
+    /**
+     * Clears the aggregates, at the end of a group.
+     */
+    void reset()
+    {
+        this.sum = null;
+        this.count = 0;
+        this.min = null;
+        this.max = null;
+    }
+
+    /**
+     * Compares two values: numbers by their double value, else using their natural order when they are comparable.
+     * Values which can't be compared count as equal, so min and max keep the first of them.
+     * @param value1 first value
+     * @param value2 second value
+     * @return comparison result
+     */
+    private static int compare(Object value1, Object value2)
+    {
+        if (value1 instanceof Number && value2 instanceof Number)
+        {
+            return Double.compare(((Number) value1).doubleValue(), ((Number) value2).doubleValue());
+        }
+        if (value1 instanceof Comparable && value1.getClass().isInstance(value2))
+        {
+            return ((Comparable) value1).compareTo(value2);
+        }
+        return 0;
+    }
+
+}
@@ -9,8 +9,17 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Row decorations can be written directly to the output.
+ */
 package org.displaytag.decorator;
 
+import java.io.IOException;
+
 import org.displaytag.exception.ObjectLookupException;
 import org.displaytag.render.TableWriterTemplate;
 import org.displaytag.util.LookupUtil;
@@ -101,6 +110,63 @@ public abstract class TableDecorator extends Decorator
         return null;
     }
 
+    /**
+     * Writes the data provided at the beginning of a row. Used by the html writer, the default implementation writes
+     * the value returned by <code>startRow()</code>: decorators producing large fragments can override this method to
+     * write them directly, keeping <code>startRow()</code> as an adapter.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    public void startRow(Appendable out) throws IOException
+    {
+        String value = startRow();
+        if (value != null)
+        {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Writes the data provided at the end of a row. Used by the html writer, the default implementation writes the
+     * value returned by <code>finishRow()</code>: decorators producing large fragments can override this method to
+     * write them directly, keeping <code>finishRow()</code> as an adapter.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    public void finishRow(Appendable out) throws IOException
+    {
+        String value = finishRow();
+        if (value != null)
+        {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Tells if a method of the given base class is overridden by the class of this decorator. Decorators writing rows
+     * directly to the output use it to keep calling the methods returning Strings when a subclass overrides them.
+     * @param base class declaring the method
+     * @param name method name
+     * @param parameterTypes method parameter types
+     * @return <code>true</code> if a subclass of the base class declares the method
+     */
+    final boolean isOverridden(Class base, String name, Class[] parameterTypes)
+    {
+        for (Class c = getClass(); c != null && c != base; c = c.getSuperclass())
+        {
+            try
+            {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            }
+            catch (NoSuchMethodException e)
+            {
+                // not declared by this class
+            }
+        }
+        return false;
+    }
+
     /**
      * Called at the end of evaluation. Can be subclassed to eventully clean up data. Always remember to also call
      * super.finish()!
@@ -9,9 +9,23 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Totals are accumulated in primitive arrays, or in
+ *      BigDecimal for columns with exact totals.
+ *  18 October 2026 - Total rows are written directly to the output, unless
+ *      createTotalRow() is overridden.
+ */
 package org.displaytag.decorator;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -21,6 +35,7 @@ import javax.servlet.jsp.PageContext;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.UnhandledException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.displaytag.exception.DecoratorException;
@@ -43,14 +58,47 @@ public class TotalTableDecorator extends TableDecorator
     private static Log log = LogFactory.getLog(TotalTableDecorator.class);
 
     /**
-     * total amount.
+     * Totaled columns.
+     */
+    private HeaderCell[] totaledCells = new HeaderCell[0];
+
+    /**
+     * total amount, non integral values.
+     */
+    private double[] grandTotals;
+
+    /**
+     * total amount for current group, non integral values.
+     */
+    private double[] subTotals;
+
+    /**
+     * total amount, integral values.
+     */
+    private long[] grandIntegralTotals;
+
+    /**
+     * total amount for current group, integral values.
      */
-    private Map grandTotals = new HashMap();
+    private long[] subIntegralTotals;
 
     /**
-     * total amount for current group.
+     * total amount for columns with exact totals, null for other columns.
      */
-    private Map subTotals = new HashMap();
+    private BigDecimal[] grandExactTotals;
+
+    /**
+     * total amount for current group for columns with exact totals, null for other columns.
+     */
+    private BigDecimal[] subExactTotals;
+
+    /**
+     * A subclass overrides <code>createTotalRow()</code>: total rows are written from its result.
+     */
+    private final boolean totalRowOverridden = isOverridden(
+        TotalTableDecorator.class,
+        "createTotalRow",
+        new Class[]{Boolean.TYPE});
 
     /**
      * Previous values needed for grouping.
@@ -99,10 +147,9 @@ public class TotalTableDecorator extends TableDecorator
 
         // reset
         groupPropertyName = null;
-        grandTotals.clear();
-        subTotals.clear();
         previousValues.clear();
 
+        List totaled = new ArrayList();
         for (Iterator it = tableModel.getHeaderCellList().iterator(); it.hasNext();)
         {
             HeaderCell cell = (HeaderCell) it.next();
@@ -110,6 +157,26 @@ public class TotalTableDecorator extends TableDecorator
             {
                 groupPropertyName = cell.getBeanPropertyName();
             }
+            if (cell.isTotaled())
+            {
+                totaled.add(cell);
+            }
+        }
+
+        totaledCells = (HeaderCell[]) totaled.toArray(new HeaderCell[totaled.size()]);
+        grandTotals = new double[totaledCells.length];
+        subTotals = new double[totaledCells.length];
+        grandIntegralTotals = new long[totaledCells.length];
+        subIntegralTotals = new long[totaledCells.length];
+        grandExactTotals = new BigDecimal[totaledCells.length];
+        subExactTotals = new BigDecimal[totaledCells.length];
+        for (int j = 0; j < totaledCells.length; j++)
+        {
+            if (totaledCells[j].isExactTotal())
+            {
+                grandExactTotals[j] = new BigDecimal(0);
+                subExactTotals[j] = new BigDecimal(0);
+            }
         }
     }
 
@@ -130,31 +197,60 @@ public class TotalTableDecorator extends TableDecorator
             previousValues.put(groupPropertyName, groupedPropertyValue);
         }
 
-        for (Iterator it = tableModel.getHeaderCellList().iterator(); it.hasNext();)
+        for (int j = 0; j < totaledCells.length; j++)
         {
-            HeaderCell cell = (HeaderCell) it.next();
-            if (cell.isTotaled())
+            Number amount = (Number) evaluate(totaledCells[j].getBeanPropertyName());
+            if (amount == null)
             {
-                String totalPropertyName = cell.getBeanPropertyName();
-                Number amount = (Number) evaluate(totalPropertyName);
-
-                Number previousSubTotal = (Number) subTotals.get(totalPropertyName);
-                Number previousGrandTotals = (Number) grandTotals.get(totalPropertyName);
-
-                subTotals.put(totalPropertyName, new Double((previousSubTotal != null
-                    ? previousSubTotal.doubleValue()
-                    : 0)
-                    + (amount != null ? amount.doubleValue() : 0)));
+                continue;
+            }
 
-                grandTotals.put(totalPropertyName, new Double((previousGrandTotals != null ? previousGrandTotals
-                    .doubleValue() : 0)
-                    + (amount != null ? amount.doubleValue() : 0)));
+            if (subExactTotals[j] != null)
+            {
+                BigDecimal exactAmount = HeaderCell.toExactAmount(amount);
+                if (exactAmount == null)
+                {
+                    if (log.isDebugEnabled())
+                    {
+                        log.debug("Skipping non finite value " + amount + " in exact total of column " + j);
+                    }
+                    continue;
+                }
+                subExactTotals[j] = subExactTotals[j].add(exactAmount);
+                grandExactTotals[j] = grandExactTotals[j].add(exactAmount);
+            }
+            else if (amount instanceof Integer || amount instanceof Long || amount instanceof Short
+                || amount instanceof Byte)
+            {
+                subIntegralTotals[j] += amount.longValue();
+                grandIntegralTotals[j] += amount.longValue();
+            }
+            else
+            {
+                subTotals[j] += amount.doubleValue();
+                grandTotals[j] += amount.doubleValue();
             }
         }
 
         return subtotalRow;
     }
 
+    /**
+     * Returns the total of a totaled column.
+     * @param index index of the column in the totaled columns
+     * @param grandTotal <code>true</code> for the grand total, <code>false</code> for the current subtotal
+     * @return BigDecimal for columns with exact totals, else Double
+     */
+    private Number getTotal(int index, boolean grandTotal)
+    {
+        if (grandExactTotals[index] != null)
+        {
+            return grandTotal ? grandExactTotals[index] : subExactTotals[index];
+        }
+        return grandTotal ? new Double(grandIntegralTotals[index] + grandTotals[index]) : new Double(
+            subIntegralTotals[index] + subTotals[index]);
+    }
+
     /**
      * After every row completes we evaluate to see if we should be drawing a new total line and summing the results
      * from the previous group.
@@ -163,45 +259,98 @@ public class TotalTableDecorator extends TableDecorator
     public final String finishRow()
     {
         StringBuffer buffer = new StringBuffer(1000);
+        try
+        {
+            finishRow(buffer);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
+        return buffer.toString();
+    }
 
+    /**
+     * Writes the subtotal and total rows after the last row.
+     * @see org.displaytag.decorator.TableDecorator#finishRow(java.lang.Appendable)
+     */
+    public void finishRow(Appendable out) throws IOException
+    {
         // Grand totals...
         if (getViewIndex() == ((List) getDecoratedObject()).size() - 1)
         {
             if (groupPropertyName != null)
             {
-                buffer.append(createTotalRow(false));
+                appendTotalRow(out, false);
             }
-            buffer.append(createTotalRow(true));
+            appendTotalRow(out, true);
         }
-        return buffer.toString();
+    }
 
+    /**
+     * Writes a total row, through <code>createTotalRow()</code> if a subclass overrides it.
+     * @param out output
+     * @param grandTotal <code>true</code> for the grand total row, <code>false</code> for a subtotal row
+     * @throws IOException if thrown by the output
+     */
+    private void appendTotalRow(Appendable out, boolean grandTotal) throws IOException
+    {
+        if (this.totalRowOverridden)
+        {
+            out.append(createTotalRow(grandTotal));
+        }
+        else
+        {
+            writeTotalRow(out, grandTotal);
+        }
     }
 
     protected String createTotalRow(boolean grandTotal)
     {
         StringBuffer buffer = new StringBuffer(1000);
-        buffer.append("\n<tr class=\"total\">"); //$NON-NLS-1$
+        try
+        {
+            writeTotalRow(buffer, grandTotal);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Writes a total row and resets the subtotals.
+     * @param out output
+     * @param grandTotal <code>true</code> for the grand total row, <code>false</code> for a subtotal row
+     * @throws IOException if thrown by the output
+     */
+    protected void writeTotalRow(Appendable out, boolean grandTotal) throws IOException
+    {
+        out.append("\n<tr class=\"total\">"); //$NON-NLS-1$
 
         List headerCells = tableModel.getHeaderCellList();
 
+        int totalIndex = 0;
         for (Iterator it = headerCells.iterator(); it.hasNext();)
         {
             HeaderCell cell = (HeaderCell) it.next();
             String cssClass = ObjectUtils.toString(cell.getHtmlAttributes().get("class"));
 
-            buffer.append("<td"); //$NON-NLS-1$
+            out.append("<td"); //$NON-NLS-1$
             if (StringUtils.isNotEmpty(cssClass))
             {
-                buffer.append(" class=\""); //$NON-NLS-1$
-                buffer.append(cssClass);
-                buffer.append("\""); //$NON-NLS-1$
+                out.append(" class=\""); //$NON-NLS-1$
+                out.append(cssClass);
+                out.append("\""); //$NON-NLS-1$
             }
-            buffer.append(">"); //$NON-NLS-1$
+            out.append(">"); //$NON-NLS-1$
 
             if (cell.isTotaled())
             {
-                String totalPropertyName = cell.getBeanPropertyName();
-                Object total = grandTotal ? grandTotals.get(totalPropertyName) : subTotals.get(totalPropertyName);
+                Object total = getTotal(totalIndex++, grandTotal);
 
                 DisplaytagColumnDecorator[] decorators = cell.getColumnDecorators();
                 for (int j = 0; j < decorators.length; j++)
@@ -216,24 +365,30 @@ public class TotalTableDecorator extends TableDecorator
                         // ignore, use undecorated value for totals
                     }
                 }
-                buffer.append(total);
+                out.append(String.valueOf(total));
             }
             else if (groupPropertyName != null && groupPropertyName.equals(cell.getBeanPropertyName()))
             {
-                buffer.append(grandTotal ? totalLabel : MessageFormat.format(subtotalLabel, new Object[]{previousValues
+                out.append(grandTotal ? totalLabel : MessageFormat.format(subtotalLabel, new Object[]{previousValues
                     .get(groupPropertyName)}));
             }
 
-            buffer.append("</td>"); //$NON-NLS-1$
+            out.append("</td>"); //$NON-NLS-1$
 
         }
 
-        buffer.append("</tr>"); //$NON-NLS-1$
+        out.append("</tr>"); //$NON-NLS-1$
 
         // reset subtotal
-        this.subTotals.clear();
-
-        return buffer.toString();
+        Arrays.fill(this.subTotals, 0);
+        Arrays.fill(this.subIntegralTotals, 0);
+        for (int j = 0; j < this.subExactTotals.length; j++)
+        {
+            if (this.subExactTotals[j] != null)
+            {
+                this.subExactTotals[j] = new BigDecimal(0);
+            }
+        }
     }
 
 }
@@ -9,6 +9,14 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - The export can be written one row at a time, for
+ *        streaming exports.
+ */
 package org.displaytag.export;
 
 import java.io.IOException;
@@ -220,22 +228,7 @@ public abstract class BaseExportView implements TextExportView
             log.debug(getClass().getName());
         }
 
-        final String DOCUMENT_START = getDocumentStart();
-        final String DOCUMENT_END = getDocumentEnd();
-        final String ROW_START = getRowStart();
-        final String ROW_END = getRowEnd();
-        final String CELL_START = getCellStart();
-        final String CELL_END = getCellEnd();
-        final boolean ALWAYS_APPEND_CELL_END = getAlwaysAppendCellEnd();
-        final boolean ALWAYS_APPEND_ROW_END = getAlwaysAppendRowEnd();
-
-        // document start
-        write(out, DOCUMENT_START);
-
-        if (this.header)
-        {
-            write(out, doHeaders());
-        }
+        writeStart(out);
 
         // get the correct iterator (full or partial list according to the exportFull field)
         RowIterator rowIterator = this.model.getRowIterator(this.exportFull);
@@ -244,45 +237,87 @@ public abstract class BaseExportView implements TextExportView
         while (rowIterator.hasNext())
         {
             Row row = rowIterator.next();
+            writeRow(out, row, !rowIterator.hasNext());
+        }
 
-            if (this.model.getTableDecorator() != null)
-            {
+        writeEnd(out);
+    }
 
-                String stringStartRow = this.model.getTableDecorator().startRow();
-                write(out, stringStartRow);
-            }
+    /**
+     * Writes the start of the document and the header. Used with <code>writeRow()</code> and <code>writeEnd()</code>
+     * for streaming exports, where each row is written as soon as the table body has been evaluated for it.
+     * @param out output writer
+     * @throws IOException exception thrown when writing content
+     */
+    public void writeStart(Writer out) throws IOException
+    {
+        // document start
+        write(out, getDocumentStart());
 
-            // iterator on columns
-            ColumnIterator columnIterator = row.getColumnIterator(this.model.getHeaderCellList());
+        if (this.header)
+        {
+            write(out, doHeaders());
+        }
+    }
 
-            write(out, ROW_START);
+    /**
+     * Writes a row.
+     * @param out output writer
+     * @param row row to write
+     * @param last <code>true</code> if this is the last row of the export
+     * @throws IOException exception thrown when writing content
+     * @throws JspException for errors in evaluating column values
+     */
+    public void writeRow(Writer out, Row row, boolean last) throws IOException, JspException
+    {
+        final String CELL_START = getCellStart();
+        final String CELL_END = getCellEnd();
+        final boolean ALWAYS_APPEND_CELL_END = getAlwaysAppendCellEnd();
 
-            while (columnIterator.hasNext())
-            {
-                Column column = columnIterator.nextColumn();
+        if (this.model.getTableDecorator() != null)
+        {
+
+            String stringStartRow = this.model.getTableDecorator().startRow();
+            write(out, stringStartRow);
+        }
 
-                // Get the value to be displayed for the column
-                String value = escapeColumnValue(column.getValue(this.decorated));
+        // iterator on columns
+        ColumnIterator columnIterator = row.getColumnIterator(this.model.getHeaderCellList());
 
-                write(out, CELL_START);
+        write(out, getRowStart());
 
-                write(out, value);
+        while (columnIterator.hasNext())
+        {
+            Column column = columnIterator.nextColumn();
 
-                if (ALWAYS_APPEND_CELL_END || columnIterator.hasNext())
-                {
-                    write(out, CELL_END);
-                }
+            // Get the value to be displayed for the column
+            String value = escapeColumnValue(column.getValue(this.decorated));
 
-            }
-            if (ALWAYS_APPEND_ROW_END || rowIterator.hasNext())
+            write(out, CELL_START);
+
+            write(out, value);
+
+            if (ALWAYS_APPEND_CELL_END || columnIterator.hasNext())
             {
-                write(out, ROW_END);
+                write(out, CELL_END);
             }
+
+        }
+        if (getAlwaysAppendRowEnd() || !last)
+        {
+            write(out, getRowEnd());
         }
+    }
 
+    /**
+     * Writes the end of the document.
+     * @param out output writer
+     * @throws IOException exception thrown when writing content
+     */
+    public void writeEnd(Writer out) throws IOException
+    {
         // document end
-        write(out, DOCUMENT_END);
-
+        write(out, getDocumentEnd());
     }
 
     /**
@@ -15,6 +15,8 @@
  * made the following changes to this source file:
  *
  *  18 October 2019 - Added support for Right-to-Left languages
+ *
+ *  18 October 2026 - Added a check for views which support streaming exports
  *  
  */
 package org.displaytag.export;
@@ -149,6 +151,18 @@ public final class ExportViewFactory
         }
     }
 
+    /**
+     * Can the export view associated with the given export type write rows while they are read from the list? This is
+     * true for the simple text views extending <code>BaseExportView</code>.
+     * @param exportType MediaTypeEnum
+     * @return <code>true</code> if the view supports streaming exports
+     */
+    public boolean isStreamingView(MediaTypeEnum exportType)
+    {
+        Class viewClass = (Class) viewClasses.get(exportType);
+        return viewClass != null && BaseExportView.class.isAssignableFrom(viewClass);
+    }
+
     /**
      * returns an instance of export view associated with the given export type.
      * @param exportType MediaTypeEnum
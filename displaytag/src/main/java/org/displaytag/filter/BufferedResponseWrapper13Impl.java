@@ -9,11 +9,19 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Buffer the page in pooled chunks and write it without
+ *      building a String, a single PrintWriter is returned.
+ */
 package org.displaytag.filter;
 
-import java.io.CharArrayWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
@@ -24,6 +32,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.displaytag.tags.TableTagParameters;
+import org.displaytag.util.CharChunkBuffer;
 
 
 /**
@@ -44,7 +53,12 @@ public class BufferedResponseWrapper13Impl extends HttpServletResponseWrapper im
     /**
      * The buffered response.
      */
-    private CharArrayWriter outputWriter;
+    private CharChunkBuffer outputWriter;
+
+    /**
+     * Writer on the buffer, created on the first call to getWriter().
+     */
+    private PrintWriter printWriter;
 
     /**
      * The outputWriter stream.
@@ -72,7 +86,7 @@ public class BufferedResponseWrapper13Impl extends HttpServletResponseWrapper im
     public BufferedResponseWrapper13Impl(HttpServletResponse httpServletResponse)
     {
         super(httpServletResponse);
-        this.outputWriter = new CharArrayWriter();
+        this.outputWriter = new CharChunkBuffer();
         this.servletOutputStream = new SimpleServletOutputStream();
     }
 
@@ -133,7 +147,11 @@ public class BufferedResponseWrapper13Impl extends HttpServletResponseWrapper im
             return ((HttpServletResponse) getResponse()).getWriter();
         }
 
-        return new PrintWriter(this.outputWriter);
+        if (this.printWriter == null)
+        {
+            this.printWriter = new PrintWriter(this.outputWriter);
+        }
+        return this.printWriter;
     }
 
     /**
@@ -203,6 +221,30 @@ public class BufferedResponseWrapper13Impl extends HttpServletResponseWrapper im
         return this.outputWriter.toString() + this.servletOutputStream.toString();
     }
 
+    /**
+     * Writes the content to the given writer without building a String: characters written to the writer are copied
+     * chunk by chunk, followed by the decoded bytes written to the output stream. The buffers are left unchanged.
+     * @param out target writer
+     * @throws IOException if thrown by the target writer
+     */
+    public void writeContentTo(Writer out) throws IOException
+    {
+        this.outputWriter.writeTo(out);
+        if (this.servletOutputStream.size() > 0)
+        {
+            out.write(this.servletOutputStream.toString());
+        }
+    }
+
+    /**
+     * Returns the buffered content to the pool. The content can't be read after this call.
+     */
+    public void release()
+    {
+        this.outputWriter.reset();
+        this.servletOutputStream.reset();
+    }
+
     /**
      * @see javax.servlet.http.HttpServletResponse#setDateHeader(java.lang.String, long)
      */
@@ -9,6 +9,15 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Delete the buffered export content if it could not be
+ *      written to the response.
+ *  18 October 2026 - Return the page buffer to the pool.
+ */
 package org.displaytag.filter;
 
 import java.util.HashMap;
@@ -104,7 +113,7 @@ public class DisplayTagSpringInterceptor implements HandlerInterceptor
             return true;
         }
 
-        BufferedResponseWrapper wrapper = new BufferedResponseWrapper13Impl(response);
+        BufferedResponseWrapper13Impl wrapper = new BufferedResponseWrapper13Impl(response);
 
         Map contentBean = new HashMap(4);
         if (buffer)
@@ -119,9 +128,18 @@ public class DisplayTagSpringInterceptor implements HandlerInterceptor
         }
 
         HandlerAdapter handlerAdaptor = new SimpleControllerHandlerAdapter();
-        handlerAdaptor.handle(request, wrapper, handler);
+        try
+        {
+            handlerAdaptor.handle(request, wrapper, handler);
 
-        ExportDelegate.writeExport(response, request, wrapper);
+            ExportDelegate.writeExport(response, request, wrapper);
+        }
+        finally
+        {
+            // temporary files of buffered exports
+            ExportDelegate.disposeExport(request);
+            wrapper.release();
+        }
 
         return false;
     }
@@ -17,6 +17,10 @@
  *  5 January 2016 - Include "no-cache, no-store, must-revalidate"
  *      cache control directive on exports.
  *  18 October 2019 - Added support for different character encodings
+ *  18 October 2026 - Buffered exports are written from an ExportBuffer,
+ *      without copying them to a String or byte array.
+ *  18 October 2026 - Page content is written from the wrapper buffer
+ *      without building a String.
  */ 
 package org.displaytag.filter;
 
@@ -33,6 +37,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.displaytag.tags.TableTag;
 import org.displaytag.tags.TableTagParameters;
+import org.displaytag.util.ExportBuffer;
 
 
 /**
@@ -57,6 +62,24 @@ public final class ExportDelegate
         // unused
     }
 
+    /**
+     * Deletes the buffered export content, if any, when the export could not be written (for example because of an
+     * exception in the page).
+     * @param request ServletRequest
+     */
+    protected static void disposeExport(ServletRequest request)
+    {
+        Map bean = (Map) request.getAttribute(TableTag.FILTER_CONTENT_OVERRIDE_BODY);
+        if (bean != null)
+        {
+            Object pageContent = bean.remove(TableTagParameters.BEAN_BODY);
+            if (pageContent instanceof ExportBuffer)
+            {
+                ((ExportBuffer) pageContent).dispose();
+            }
+        }
+    }
+
     /**
      * Actually writes exported data. Extracts content from the Map stored in request with the
      * <code>TableTag.FILTER_CONTENT_OVERRIDE_BODY</code> key.
@@ -99,7 +122,14 @@ public final class ExportDelegate
             response.setContentType(wrapper.getContentType());
             PrintWriter out = response.getWriter();
 
-            out.write(wrapper.getContentAsString());
+            if (wrapper instanceof BufferedResponseWrapper13Impl)
+            {
+                ((BufferedResponseWrapper13Impl) wrapper).writeContentTo(out);
+            }
+            else
+            {
+                out.write(wrapper.getContentAsString());
+            }
             out.flush();
             return;
         }
@@ -144,7 +174,33 @@ public final class ExportDelegate
         
         response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
 
-        if (pageContent instanceof String)
+        if (pageContent instanceof ExportBuffer)
+        {
+            // text or binary content, already encoded
+            ExportBuffer content = (ExportBuffer) pageContent;
+            try
+            {
+                long length = content.size();
+                if (length <= Integer.MAX_VALUE)
+                {
+                    response.setContentLength((int) length);
+                }
+                else
+                {
+                    response.setHeader("Content-Length", Long.toString(length)); //$NON-NLS-1$
+                }
+
+                OutputStream out = response.getOutputStream();
+                content.writeTo(out);
+                out.flush();
+            }
+            finally
+            {
+                content.dispose();
+                bean.remove(TableTagParameters.BEAN_BODY);
+            }
+        }
+        else if (pageContent instanceof String)
         {
             // text content
             if (characterEncoding != null)
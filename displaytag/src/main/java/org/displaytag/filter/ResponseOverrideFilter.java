@@ -9,6 +9,15 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Delete the buffered export content if it could not be
+ *      written to the response.
+ *  18 October 2026 - Return the page buffer to the pool.
+ */
 package org.displaytag.filter;
 
 import java.io.IOException;
@@ -128,7 +137,7 @@ public class ResponseOverrideFilter implements Filter
 
         HttpServletRequest request = (HttpServletRequest) servletRequest;
 
-        BufferedResponseWrapper wrapper = new BufferedResponseWrapper13Impl((HttpServletResponse) servletResponse);
+        BufferedResponseWrapper13Impl wrapper = new BufferedResponseWrapper13Impl((HttpServletResponse) servletResponse);
 
         Map contentBean = new HashMap(4);
         if (buffer)
@@ -137,9 +146,18 @@ public class ResponseOverrideFilter implements Filter
         }
         request.setAttribute(TableTag.FILTER_CONTENT_OVERRIDE_BODY, contentBean);
 
-        filterChain.doFilter(request, wrapper);
+        try
+        {
+            filterChain.doFilter(request, wrapper);
 
-        ExportDelegate.writeExport((HttpServletResponse) servletResponse, servletRequest, wrapper);
+            ExportDelegate.writeExport((HttpServletResponse) servletResponse, servletRequest, wrapper);
+        }
+        finally
+        {
+            // temporary files of buffered exports
+            ExportDelegate.disposeExport(servletRequest);
+            wrapper.release();
+        }
     }
 
     /**
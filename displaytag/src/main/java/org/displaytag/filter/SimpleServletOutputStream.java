@@ -9,15 +9,23 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Bulk writes to the buffer, bytes are kept in pooled
+ *      chunks.
+ */
 package org.displaytag.filter;
 
-import java.io.ByteArrayOutputStream;
-
 import javax.servlet.ServletOutputStream;
 
+import org.displaytag.util.ByteChunkBuffer;
+
 
 /**
- * A simple implementation of ServletOutputStream which wraps a ByteArrayOutputStream.
+ * A simple implementation of ServletOutputStream which wraps a ByteChunkBuffer.
  * @author Fabrizio Giustina
  * @version $Revision: 1081 $ ($Author: fgiust $)
  */
@@ -27,7 +35,7 @@ public class SimpleServletOutputStream extends ServletOutputStream
     /**
      * My outputWriter stream, a buffer.
      */
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ByteChunkBuffer outputStream = new ByteChunkBuffer();
 
     /**
      * {@inheritDoc}
@@ -37,6 +45,24 @@ public class SimpleServletOutputStream extends ServletOutputStream
         this.outputStream.write(b);
     }
 
+    /**
+     * Writes the whole array at once, instead of byte by byte as <code>OutputStream</code> does.
+     * @see java.io.OutputStream#write(byte[], int, int)
+     */
+    public void write(byte[] b, int off, int len)
+    {
+        this.outputStream.write(b, off, len);
+    }
+
+    /**
+     * Returns the number of bytes written.
+     * @return number of bytes in the buffer
+     */
+    public int size()
+    {
+        return this.outputStream.size();
+    }
+
     /**
      * Get the contents of the outputStream.
      * @return contents of the outputStream
@@ -47,7 +73,7 @@ public class SimpleServletOutputStream extends ServletOutputStream
     }
 
     /**
-     * Reset the wrapped ByteArrayOutputStream.
+     * Reset the wrapped ByteChunkBuffer, its chunks go back to the pool.
      */
     public void reset()
     {
@@ -19,10 +19,20 @@
  *
  *  23 May 2018 - fix an error that would occur when attempting to process
  *        a value that has already been decorated by another decorator.
+ *
+ *  18 October 2026 - Values are cached in the table model value cache.
+ *
+ *  18 October 2026 - The open tag is computed once per column.
+ *
+ *  18 October 2026 - The open tag and the linked value are written to an
+ *      Appendable, the String methods are adapters.
+ *
+ *  18 October 2026 - A column can be reset to a cell of another row.
  */
  
 package org.displaytag.model;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 
@@ -70,10 +80,15 @@ public class Column
     private HtmlAttributeMap htmlAttributes;
 
     /**
-     * contains the evaluated body value. Filled in getOpenTag.
+     * contains the evaluated body value, chopped but not linked. Filled in initialize.
      */
     private String stringValue;
 
+    /**
+     * Link around the body value, null if the column has no href. Filled in initialize.
+     */
+    private Href href;
+
     /**
      * Cell.
      */
@@ -100,6 +115,21 @@ public class Column
         this.htmlAttributes = headerCell.getHtmlAttributes();
     }
 
+    /**
+     * Moves this column to a cell of another row, so a single Column can be used for the same header in all the rows.
+     * The value of the previous cell is discarded.
+     * @param currentCell Cell
+     * @param parentRow Row
+     */
+    public void reset(Cell currentCell, Row parentRow)
+    {
+        this.cell = currentCell;
+        this.row = parentRow;
+        this.htmlAttributes = this.header.getHtmlAttributes();
+        this.stringValue = null;
+        this.href = null;
+    }
+
     /**
      * Get the header cell for this column.
      * @return the cell
@@ -110,13 +140,49 @@ public class Column
     }
 
     /**
-     * Gets the value, after calling the table / column decorator is requested.
+     * Gets the value, after calling the table / column decorator is requested. The value is evaluated once for each
+     * row and cached in the table model.
      * @param decorated boolean
      * @return Object will never be null if ShowNulls has been set to false
      * @throws ObjectLookupException for errors in bean property lookup
      * @throws DecoratorException if a column decorator is used and an exception is thrown during value decoration
      */
     public Object getValue(boolean decorated) throws ObjectLookupException, DecoratorException
+    {
+        ColumnValueCache cache = getValueCache();
+        if (cache == null)
+        {
+            return evaluateValue(decorated);
+        }
+
+        int kind = decorated ? ColumnValueCache.DECORATED : ColumnValueCache.RAW;
+        Object value = cache.get(this.row, this.header.getColumnNumber(), kind);
+        if (value == ColumnValueCache.NOT_CACHED)
+        {
+            value = evaluateValue(decorated);
+            cache.put(this.row, this.header.getColumnNumber(), kind, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value cache of the table model, null if the row doesn't belong to a table model yet.
+     * @return ColumnValueCache
+     */
+    private ColumnValueCache getValueCache()
+    {
+        TableModel model = this.row.getParentTable();
+        return model != null ? model.getValueCache() : null;
+    }
+
+    /**
+     * Evaluates the value, see <code>getValue()</code>.
+     * @param decorated boolean
+     * @return Object will never be null if ShowNulls has been set to false
+     * @throws ObjectLookupException for errors in bean property lookup
+     * @throws DecoratorException if a column decorator is used and an exception is thrown during value decoration
+     */
+    private Object evaluateValue(boolean decorated) throws ObjectLookupException, DecoratorException
     {
 
         Object object = null;
@@ -203,8 +269,40 @@ public class Column
      * @return String td open tag
      */
     public String getOpenTag()
+    {
+        if (cell.getPerRowAttributes() == null && htmlAttributes == header.getHtmlAttributes())
+        {
+            // same attributes for all the cells of the column
+            return header.getCellOpenTag();
+        }
+
+        StringBuffer buffer = new StringBuffer();
+        try
+        {
+            writeOpenTag(buffer);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Writes the cell open tag to the given output.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    public void writeOpenTag(Appendable out) throws IOException
     {
         HtmlAttributeMap rowAttributes = cell.getPerRowAttributes();
+        if (rowAttributes == null && htmlAttributes == header.getHtmlAttributes())
+        {
+            // same attributes for all the cells of the column
+            out.append(header.getCellOpenTag());
+            return;
+        }
 
         HtmlAttributeMap atts = htmlAttributes;
         if (rowAttributes != null)
@@ -212,7 +310,7 @@ public class Column
             atts = (HtmlAttributeMap) atts.clone();
             atts.putAll(rowAttributes);
         }
-        return HtmlTagUtil.createOpenTagString(TagConstants.TAGNAME_COLUMN, atts);
+        HtmlTagUtil.writeOpenTag(out, TagConstants.TAGNAME_COLUMN, atts);
     }
 
     /**
@@ -226,7 +324,7 @@ public class Column
     {
         if (this.stringValue == null)
         {
-            this.stringValue = createChoppedAndLinkedValue();
+            this.stringValue = createChoppedValue();
         }
     }
 
@@ -237,6 +335,7 @@ public class Column
     public String getCloseTag()
     {
         this.stringValue = null;
+        this.href = null;
         return this.header.getCloseTag();
     }
 
@@ -247,9 +346,23 @@ public class Column
      * @throws DecoratorException if a column decorator is used and an exception is thrown during value decoration
      */
     public String createChoppedAndLinkedValue() throws ObjectLookupException, DecoratorException
+    {
+        this.stringValue = createChoppedValue();
+        return getChoppedAndLinkedValue();
+    }
+
+    /**
+     * Calculates the cell content, cropping the value as needed. The link, if any, is kept in <code>href</code> and
+     * only added when the value is written.
+     * @return String
+     * @throws ObjectLookupException for errors in bean property lookup
+     * @throws DecoratorException if a column decorator is used and an exception is thrown during value decoration
+     */
+    private String createChoppedValue() throws ObjectLookupException, DecoratorException
     {
 
         String fullValue = ObjectUtils.toString(getValue(true));
+        this.href = null;
         if (row.getSecured())
         {
         	return fullValue;
@@ -285,9 +398,7 @@ public class Column
         if (this.header.getHref() != null)
         {
             // generates the href for the link
-            Href colHref = getColumnHref(fullValue);
-            Anchor anchor = new Anchor(colHref, choppedValue);
-            choppedValue = anchor.toString();
+            this.href = getColumnHref(fullValue);
         }
 
         return choppedValue;
@@ -346,7 +457,48 @@ public class Column
      */
     public String getChoppedAndLinkedValue()
     {
-        return this.stringValue;
+        String value = this.stringValue;
+        if (this.href != null)
+        {
+            StringBuffer buffer = new StringBuffer();
+            try
+            {
+                writeChoppedAndLinkedValue(buffer);
+            }
+            catch (IOException e)
+            {
+                // never thrown by a StringBuffer
+                throw new UnhandledException(e);
+            }
+            value = buffer.toString();
+        }
+
+        ColumnValueCache cache = getValueCache();
+        if (cache != null && value != null)
+        {
+            cache.put(this.row, this.header.getColumnNumber(), ColumnValueCache.DISPLAY, value);
+        }
+        return value;
+    }
+
+    /**
+     * Writes the final value to be displayed in the table to the given output, with the link around it if the column
+     * has an href. This method can only be called after initialize(), where the content is evaluated.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    public void writeChoppedAndLinkedValue(Appendable out) throws IOException
+    {
+        if (this.href == null)
+        {
+            out.append(this.stringValue);
+            return;
+        }
+
+        Anchor anchor = new Anchor(this.href, this.stringValue);
+        anchor.writeOpenTag(out);
+        out.append(this.stringValue);
+        out.append(anchor.getCloseTag());
     }
 
     /**
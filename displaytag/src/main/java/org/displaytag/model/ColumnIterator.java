@@ -15,16 +15,15 @@
  * made the following changes to this source file:
  *
  *  18 October 2019 - Added support for Right-to-Left languages
+ *  18 October 2026 - Cells are looked up by column number, the cell list
+ *                    of the row is no longer reversed in place
  *  
  */
 package org.displaytag.model;
 
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
-import org.displaytag.properties.MediaTypeEnum;
-
 /**
  * Iterator on columns.
  * @author Fabrizio Giustina
@@ -44,9 +43,9 @@ public class ColumnIterator
     private Iterator headerIterator;
 
     /**
-     * Internal iterator on cells.
+     * Cells of the current row, in column number order.
      */
-    private Iterator cellIterator;
+    private List cells;
 
     /**
      * Creates a new ColumnIterator given a list of column and a row.
@@ -57,13 +56,9 @@ public class ColumnIterator
     {
         this.headerIterator = columns.iterator();
 
-        // Reverse column order during export if direction is rtl.
-        // Note at this point, the table has been rendered completely, so it should be safe to re-arrange the order of cell list.
-        if (!row.getParentTable().getMedia().equals(MediaTypeEnum.HTML) &&
-        	row.getParentTable().getProperties().getExportDirectionRtl()) {
-        	Collections.reverse(row.getCellList());
-        }
-        this.cellIterator = row.getCellList().iterator();
+        // Column order is reversed during rtl exports by reversing the header cell list. Cells are looked up by the
+        // column number of the header, so the cell list of the row is left in column order for sorting and totals.
+        this.cells = row.getCellList();
 
         this.parentRow = row;
     }
@@ -89,9 +84,9 @@ public class ColumnIterator
 
         // if cells is not present simply return an empty cell.
         // this is needed for automatic properties discovery
-        if (this.cellIterator.hasNext())
+        if (header.getColumnNumber() < this.cells.size())
         {
-            cell = (Cell) this.cellIterator.next();
+            cell = (Cell) this.cells.get(header.getColumnNumber());
         }
 
         // create a new column using the next value in the header and cell iterators and returns it
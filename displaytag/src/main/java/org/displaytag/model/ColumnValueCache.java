@@ -0,0 +1,112 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Compute the value of a cell once, for rendering, grouping and totals.
+ */
+package org.displaytag.model;
+
+/**
+ * Cache of the column values of the rows of a table model, keyed by row and column number. For each cell it holds
+ * the raw value (<code>Column.getValue(false)</code>), the decorated value (<code>Column.getValue(true)</code>) and
+ * the chopped and linked value displayed in html. Values are stored on the rows themselves: they follow the rows when
+ * the list is sorted and rows created on the fly for streaming exports don't stay referenced.
+ * <p>
+ * Values are only cached for rows which belong to a table model. A row marked as secured drops its values.
+ * </p>
+ */
+final class ColumnValueCache
+{
+
+    /**
+     * Raw value.
+     */
+    static final int RAW = 0;
+
+    /**
+     * Decorated value.
+     */
+    static final int DECORATED = 1;
+
+    /**
+     * Chopped and linked value.
+     */
+    static final int DISPLAY = 2;
+
+    /**
+     * Returned by <code>get()</code> if the value has not been cached.
+     */
+    static final Object NOT_CACHED = new Object();
+
+    /**
+     * Number of values for each column.
+     */
+    private static final int KINDS = 3;
+
+    /**
+     * Stored in place of null values.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    /**
+     * Table model the rows belong to.
+     */
+    private final TableModel tableModel;
+
+    /**
+     * @param model Table model the rows belong to
+     */
+    ColumnValueCache(TableModel model)
+    {
+        this.tableModel = model;
+    }
+
+    /**
+     * Returns a cached value.
+     * @param row Row
+     * @param columnNumber column number
+     * @param kind RAW, DECORATED or DISPLAY
+     * @return the cached value (may be null) or NOT_CACHED
+     */
+    Object get(Row row, int columnNumber, int kind)
+    {
+        Object value = row.getCachedValue(columnNumber * KINDS + kind);
+        if (value == null)
+        {
+            return NOT_CACHED;
+        }
+        return value == NULL_VALUE ? null : value;
+    }
+
+    /**
+     * Caches a value.
+     * @param row Row
+     * @param columnNumber column number
+     * @param kind RAW, DECORATED or DISPLAY
+     * @param value value, may be null
+     */
+    void put(Row row, int columnNumber, int kind, Object value)
+    {
+        row.setCachedValue(columnNumber * KINDS + kind, value == null ? NULL_VALUE : value, this.tableModel
+            .getNumberOfColumns()
+            * KINDS);
+    }
+
+}
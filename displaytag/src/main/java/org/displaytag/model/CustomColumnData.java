@@ -21,6 +21,8 @@
  *
  *  27 April 2018 - Ability to customize the set of columns displayed
  *        and their order  
+ *
+ *  18 October 2026 - Copy constructor, for copies of cached configurations
  */
 
 package org.displaytag.model;
@@ -61,6 +63,25 @@ public class CustomColumnData implements Comparable<CustomColumnData> {
 	}
 	
 	
+	/**
+	 * Copies a column configuration, without parsing it again.
+	 * @param other column configuration
+	 */
+	public CustomColumnData(CustomColumnData other) {
+		this.recnum = other.recnum;
+		this.cotsTitle = other.cotsTitle;
+		this.customTitle = other.customTitle;
+		this.displayOrder = other.displayOrder;
+		this.hidden = other.hidden;
+		this.propertyName = other.propertyName;
+		this.sortable = other.sortable;
+		this.sortOnProperty = other.sortOnProperty;
+		this.maxLength = other.maxLength;
+		this.isAdded = other.isAdded;
+		this.nonConfigurable = other.nonConfigurable;
+		this.sortDirection = other.sortDirection;
+	}
+	
 	public void initColumn(ColumnTag columnTag) {
 		columnTag.setProperty(propertyName);
 		columnTag.setTitle(getTitle());
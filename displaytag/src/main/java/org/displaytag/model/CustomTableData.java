@@ -24,12 +24,16 @@
  *  
  *   2 April 2021 - Fixed an issue where setting a sort direction on
  *        a column would not cause the column to be highlighted 
+ *
+ *  18 October 2026 - Copies of a parsed configuration, see
+ *        DataGridCustomiztionUtil.readCustomizations
  */
 
 package org.displaytag.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -95,6 +99,41 @@ public class CustomTableData {
 		}
 	}
 	
+	/**
+	 * Copies a table configuration, without parsing it again. Column configurations are copied as well, since they
+	 * are updated while the table is rendered.
+	 * @param other table configuration
+	 */
+	public CustomTableData(CustomTableData other) {
+		this.recnum = other.recnum;
+		this.defaultTableSortProperty = other.defaultTableSortProperty;
+		this.defaultTableSortDirection = other.defaultTableSortDirection;
+		this.defaultTableSortColumnIndex = other.defaultTableSortColumnIndex;
+		
+		Map<CustomColumnData, CustomColumnData> copies = new IdentityHashMap<CustomColumnData, CustomColumnData>();
+		for (Map.Entry<String, CustomColumnData> entry : other.columnConfigByCotsTitle.entrySet()) {
+			columnConfigByCotsTitle.put(entry.getKey(), copy(entry.getValue(), copies));
+		}
+		for (CustomColumnData columnData : other.visibleColumnList) {
+			visibleColumnList.add(copy(columnData, copies));
+		}
+		for (CustomColumnData columnData : other.hiddenColumnList) {
+			hiddenColumnList.add(copy(columnData, copies));
+		}
+		for (CustomColumnData columnData : other.addedColumnList) {
+			addedColumnList.add(copy(columnData, copies));
+		}
+	}
+	
+	private static CustomColumnData copy(CustomColumnData columnData, Map<CustomColumnData, CustomColumnData> copies) {
+		CustomColumnData copy = copies.get(columnData);
+		if (copy == null) {
+			copy = new CustomColumnData(columnData);
+			copies.put(columnData, copy);
+		}
+		return copy;
+	}
+	
 	public CustomColumnData getColumnByCotsTitle(String cotsTitle) {
 		return columnConfigByCotsTitle.containsKey(cotsTitle) ? columnConfigByCotsTitle.get(cotsTitle) : null;
 	}
@@ -9,10 +9,19 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Optional collation key mode for string sorting.
+ */
 package org.displaytag.model;
 
+import java.text.CollationKey;
 import java.text.Collator;
 import java.util.Comparator;
+import java.util.Map;
 
 
 /**
@@ -29,6 +38,11 @@ public class DefaultComparator implements Comparator
      */
     private Collator collator;
 
+    /**
+     * Sort strings on collation keys?
+     */
+    private boolean collationKeys;
+
     /**
      * Instantiate a default comparator with no collator specified.
      */
@@ -42,14 +56,60 @@ public class DefaultComparator implements Comparator
      * @param collatorToUse collator instance
      */
     public DefaultComparator(Collator collatorToUse)
+    {
+        this(collatorToUse, false);
+    }
+
+    /**
+     * Instantiate a default comparator with a specified collator, optionally sorting strings on collation keys. In
+     * collation key mode each distinct string is converted to a <code>CollationKey</code> once per sort (see
+     * <code>getSortKey()</code>) and keys are then compared bitwise, instead of normalizing both strings in each
+     * comparison. The resulting order is the same.
+     * @param collatorToUse collator instance
+     * @param useCollationKeys <code>true</code> to sort strings on collation keys
+     */
+    public DefaultComparator(Collator collatorToUse, boolean useCollationKeys)
     {
         this.collator = collatorToUse;
+        this.collationKeys = useCollationKeys;
         collator.setStrength(Collator.PRIMARY); // ignore case and accents
     }
 
+    /**
+     * Is this comparator sorting strings on collation keys?
+     * @return <code>true</code> if strings should be converted with <code>getSortKey()</code> before sorting
+     */
+    public boolean isUsingCollationKeys()
+    {
+        return this.collationKeys;
+    }
+
+    /**
+     * Converts a value to the key used for sorting: strings are replaced by their collation key, other values are
+     * returned unchanged. Keys are cached in the given map, which should live for a single sort.
+     * @param value value to be sorted
+     * @param keyCache collation keys already computed in this sort, by string
+     * @return sort key
+     */
+    public Object getSortKey(Object value, Map keyCache)
+    {
+        if (!(value instanceof String))
+        {
+            return value;
+        }
+
+        CollationKey key = (CollationKey) keyCache.get(value);
+        if (key == null)
+        {
+            key = collator.getCollationKey((String) value);
+            keyCache.put(value, key);
+        }
+        return key;
+    }
+
     /**
      * Compares two given objects. Not comparable objects are compared using their string representation. String
-     * comparisons are done using a Collator.
+     * comparisons are done using a Collator. Collation keys from <code>getSortKey()</code> are compared bitwise.
      * @param object1 first parameter
      * @param object2 second parameter
      * @return the value
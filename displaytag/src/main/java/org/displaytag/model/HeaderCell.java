@@ -19,12 +19,20 @@
  *        and groupTitleKey
  *  
  *  27 April 2018 - Ability to customize columns displayed and their order.
+ *
+ *  18 October 2026 - Exact (BigDecimal) totals.
+ *
+ *  18 October 2026 - The td open tag is built once per column.
  */
 package org.displaytag.model;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.beanutils.Converter;
 import org.apache.commons.lang.StringUtils;
@@ -67,6 +75,11 @@ public class HeaderCell
      */
     private HtmlAttributeMap htmlAttributes;
 
+    /**
+     * td open tag with htmlAttributes, built on first use.
+     */
+    private String cellOpenTag;
+
     /**
      * Map containing the html tag attributes for header cells (td).
      */
@@ -164,6 +177,16 @@ public class HeaderCell
      */
     private double total;
 
+    /**
+     * Should the total be computed exactly, with BigDecimal?
+     */
+    private boolean exactTotal;
+
+    /**
+     * The running total for the column, if computed exactly.
+     */
+    private BigDecimal exactTotalValue = new BigDecimal(0);
+
     /**
      * DISPL-242: new grouped title attribute 
      */
@@ -466,6 +489,21 @@ public class HeaderCell
     public void setHtmlAttributes(HtmlAttributeMap attributes)
     {
         this.htmlAttributes = attributes;
+        this.cellOpenTag = null;
+    }
+
+    /**
+     * Returns the open tag for the cells (td) of this column, with the attributes in <code>getHtmlAttributes()</code>.
+     * The tag is built once and shared by all the cells without specific attributes.
+     * @return String &lt;td&gt; tag with attributes
+     */
+    public String getCellOpenTag()
+    {
+        if (this.cellOpenTag == null)
+        {
+            this.cellOpenTag = HtmlTagUtil.createOpenTagString(TagConstants.TAGNAME_COLUMN, this.htmlAttributes);
+        }
+        return this.cellOpenTag;
     }
 
     /**
@@ -692,10 +730,79 @@ public class HeaderCell
     {
         if (value != null && value instanceof Number)
         {
+            if (this.exactTotal)
+            {
+                // NaN and infinite values can't be added to an exact total, they are skipped
+                BigDecimal exactValue = toExactAmount((Number) value);
+                if (exactValue != null)
+                {
+                    this.exactTotalValue = this.exactTotalValue.add(exactValue);
+                }
+            }
             this.total = this.total + ((Number) value).doubleValue();
         }
     }
 
+    /**
+     * Converts a number to a BigDecimal for an exact total. Doubles and floats are converted from their double value,
+     * integral types from their long value, so no value relies on <code>toString()</code>.
+     * @param amount number, not null
+     * @return the BigDecimal value, or null if the number is NaN or infinite
+     */
+    public static BigDecimal toExactAmount(Number amount)
+    {
+        if (amount instanceof BigDecimal)
+        {
+            return (BigDecimal) amount;
+        }
+        if (amount instanceof BigInteger)
+        {
+            return new BigDecimal((BigInteger) amount);
+        }
+        if (amount instanceof Integer
+            || amount instanceof Long
+            || amount instanceof Short
+            || amount instanceof Byte
+            || amount instanceof AtomicInteger
+            || amount instanceof AtomicLong)
+        {
+            return BigDecimal.valueOf(amount.longValue());
+        }
+        double doubleValue = amount.doubleValue();
+        if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue))
+        {
+            return null;
+        }
+        return BigDecimal.valueOf(doubleValue);
+    }
+
+    /**
+     * Will the total for this column be computed exactly?
+     * @return <code>true</code> if the total is a BigDecimal
+     */
+    public boolean isExactTotal()
+    {
+        return this.exactTotal;
+    }
+
+    /**
+     * Setter for exactTotal.
+     * @param exact <code>true</code> to compute the total with BigDecimal, without rounding errors
+     */
+    public void setExactTotal(boolean exact)
+    {
+        this.exactTotal = exact;
+    }
+
+    /**
+     * Get the current total, as a BigDecimal if the total is computed exactly, else as a Double.
+     * @return the current total.
+     */
+    public Number getTotalValue()
+    {
+        return this.exactTotal ? (Number) this.exactTotalValue : new Double(this.total);
+    }
+
     /**
      * Get the current total.
      * @return the current total.
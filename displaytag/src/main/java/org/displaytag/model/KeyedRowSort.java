@@ -0,0 +1,500 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Sort rows on keys extracted once per row (decorate-sort-undecorate).
+ * Optional parallel sort for large lists, on a shared pool.
+ * Partial sort of the first rows only, for html pages.
+ * Sorted order returned for caching.
+ * Strings sorted on collation keys are converted once per sort.
+ */
+package org.displaytag.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Sorts a list of rows by first extracting the sort key of every row with a <code>RowSorter</code>, then sorting row
+ * positions on the extracted keys and finally reordering the list. Each row is read once, instead of twice per
+ * comparison. The sort is a stable merge sort, so rows with equal keys keep their order as they do with
+ * <code>Collections.sort()</code>.
+ * <p>
+ * Large lists can be sorted in parallel: keys are still extracted on the calling thread (table decorators are not
+ * thread safe), only the comparisons are spread over a fork/join pool. The comparator must be thread safe in this case.
+ * The parallel sort uses the same stable merge, so the result is identical to the sequential sort. All the parallel
+ * sorts share one pool of daemon threads, created on first use and shut down by <code>ParallelSortListener</code>.
+ * </p>
+ * <p>
+ * If only the first rows are displayed, <code>sortTop()</code> selects them with a bounded heap and only puts them in
+ * order, in O(n log k) instead of O(n log n). Rows with equal keys are ordered by position, so the first rows are the
+ * same as with a full sort.
+ * </p>
+ */
+final class KeyedRowSort
+{
+
+    /**
+     * Ranges shorter than this are sorted with an insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+
+    /**
+     * Ranges shorter than this are not split further in a parallel sort.
+     */
+    private static final int PARALLEL_MIN_RANGE = 8192;
+
+    /**
+     * Pool shared by the parallel sorts, null until the first one.
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Sorter used for key extraction and comparison.
+     */
+    private final RowSorter sorter;
+
+    /**
+     * Extracted keys, by original row position.
+     */
+    private final Object[] keys;
+
+    /**
+     * Extracts the sort keys of the given rows. If the sorter compares strings on collation keys, string keys are
+     * replaced by their collation key, computed once for each distinct string in this sort.
+     * @param rows list of Row objects
+     * @param rowSorter sorter used for key extraction and comparison
+     */
+    KeyedRowSort(List rows, RowSorter rowSorter)
+    {
+        this.sorter = rowSorter;
+        this.keys = new Object[rows.size()];
+        Map collationKeys = rowSorter.isUsingCollationKeys() ? new HashMap() : null;
+        int j = 0;
+        for (ListIterator it = rows.listIterator(); it.hasNext();)
+        {
+            Object key = rowSorter.getSortKey(it.next());
+            if (collationKeys != null)
+            {
+                key = rowSorter.getCollationKey(key, collationKeys);
+            }
+            this.keys[j++] = key;
+        }
+    }
+
+    /**
+     * Sorts the given list of rows, optionally comparing keys in parallel.
+     * @param rows list of Row objects
+     * @param rowSorter sorter used for key extraction and comparison
+     * @param parallel <code>true</code> to sort using a fork/join pool
+     */
+    static void sort(List rows, RowSorter rowSorter, boolean parallel)
+    {
+        if (rows == null || rows.size() < 2)
+        {
+            return;
+        }
+        reorder(rows, sortedOrder(rows, rowSorter, parallel));
+    }
+
+    /**
+     * Returns the sorted order of the given list of rows, without reordering it.
+     * @param rows list of Row objects
+     * @param rowSorter sorter used for key extraction and comparison
+     * @param parallel <code>true</code> to sort using a fork/join pool
+     * @return original positions of the rows, in sorted order
+     */
+    static int[] sortedOrder(List rows, RowSorter rowSorter, boolean parallel)
+    {
+        return new KeyedRowSort(rows, rowSorter).getSortedOrder(parallel);
+    }
+
+    /**
+     * Puts the first rows of the given list in order, the other rows follow in their original order.
+     * @param rows list of Row objects
+     * @param rowSorter sorter used for key extraction and comparison
+     * @param count number of rows to put in order
+     */
+    static void sortTop(List rows, RowSorter rowSorter, int count)
+    {
+        if (rows == null || rows.size() < 2)
+        {
+            return;
+        }
+        KeyedRowSort keyedSort = new KeyedRowSort(rows, rowSorter);
+        reorder(rows, keyedSort.getTopOrder(count));
+    }
+
+    /**
+     * Returns the original positions of the first rows in sorted order, followed by the positions of the other rows in
+     * their original order.
+     * @param count number of rows to put in order
+     * @return permutation of row positions
+     */
+    int[] getTopOrder(int count)
+    {
+        if (count >= this.keys.length)
+        {
+            return getSortedOrder(false);
+        }
+
+        // max-heap of the first rows found so far: the root is the last one, replaced by any row before it
+        int[] heap = new int[count];
+        int size = 0;
+        for (int j = 0; j < this.keys.length; j++)
+        {
+            if (size < count)
+            {
+                heap[size] = j;
+                siftUp(heap, size++);
+            }
+            else if (compareStable(j, heap[0]) < 0)
+            {
+                heap[0] = j;
+                siftDown(heap, 0, count);
+            }
+        }
+
+        // heap sort: the last row is moved to the end of the heap until it is empty
+        for (int end = count - 1; end > 0; end--)
+        {
+            int swap = heap[0];
+            heap[0] = heap[end];
+            heap[end] = swap;
+            siftDown(heap, 0, end);
+        }
+
+        boolean[] selected = new boolean[this.keys.length];
+        int[] order = new int[this.keys.length];
+        for (int j = 0; j < count; j++)
+        {
+            order[j] = heap[j];
+            selected[heap[j]] = true;
+        }
+        int next = count;
+        for (int j = 0; j < this.keys.length; j++)
+        {
+            if (!selected[j])
+            {
+                order[next++] = j;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Moves a heap entry up to its place.
+     * @param heap max-heap of row positions
+     * @param index index of the entry
+     */
+    private void siftUp(int[] heap, int index)
+    {
+        int row = heap[index];
+        while (index > 0)
+        {
+            int parent = (index - 1) >>> 1;
+            if (compareStable(heap[parent], row) >= 0)
+            {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    /**
+     * Moves a heap entry down to its place.
+     * @param heap max-heap of row positions
+     * @param index index of the entry
+     * @param size heap size
+     */
+    private void siftDown(int[] heap, int index, int size)
+    {
+        int row = heap[index];
+        int child;
+        while ((child = 2 * index + 1) < size)
+        {
+            if (child + 1 < size && compareStable(heap[child + 1], heap[child]) > 0)
+            {
+                child++;
+            }
+            if (compareStable(row, heap[child]) >= 0)
+            {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    /**
+     * Returns the original positions of the rows, in sorted order.
+     * @param parallel <code>true</code> to sort using a fork/join pool
+     * @return permutation of row positions
+     */
+    int[] getSortedOrder(boolean parallel)
+    {
+        int[] order = new int[this.keys.length];
+        for (int j = 0; j < order.length; j++)
+        {
+            order[j] = j;
+        }
+        int[] work = (int[]) order.clone();
+
+        if (parallel && order.length >= PARALLEL_MIN_RANGE)
+        {
+            getPool().invoke(new SortTask(work, order, 0, order.length));
+        }
+        else
+        {
+            sortRange(work, order, 0, order.length);
+        }
+        return order;
+    }
+
+    /**
+     * Returns the pool shared by the parallel sorts, created if needed. Its parallelism is the number of processors,
+     * whatever the number of concurrent sorts.
+     * @return ForkJoinPool
+     */
+    static synchronized ForkJoinPool getPool()
+    {
+        if (pool == null || pool.isShutdown())
+        {
+            pool = new ForkJoinPool(
+                Runtime.getRuntime().availableProcessors(),
+                new ForkJoinPool.ForkJoinWorkerThreadFactory()
+                {
+
+                    public ForkJoinWorkerThread newThread(ForkJoinPool forkJoinPool)
+                    {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+                            .newThread(forkJoinPool);
+                        thread.setName("displaytag-sort-" + thread.getPoolIndex()); //$NON-NLS-1$
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                },
+                null,
+                false);
+        }
+        return pool;
+    }
+
+    /**
+     * Shuts the pool shared by the parallel sorts down, if created. A later parallel sort creates a new one.
+     */
+    static synchronized void shutdownPool()
+    {
+        if (pool != null)
+        {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Merge sort on a range of positions. <code>src</code> and <code>dest</code> must hold the same values on entry,
+     * the sorted range ends up in <code>dest</code>.
+     * @param src working copy
+     * @param dest positions to sort
+     * @param low first index, inclusive
+     * @param high last index, exclusive
+     */
+    void sortRange(int[] src, int[] dest, int low, int high)
+    {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD)
+        {
+            insertionSort(dest, low, high);
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        sortRange(dest, src, low, mid);
+        sortRange(dest, src, mid, high);
+        merge(src, dest, low, mid, high);
+    }
+
+    /**
+     * Merges the sorted ranges <code>[low, mid)</code> and <code>[mid, high)</code> of <code>src</code> into
+     * <code>dest</code>. On equal keys the left range wins, which keeps the merge stable.
+     * @param src sorted halves
+     * @param dest merge target
+     * @param low first index, inclusive
+     * @param mid start of the second half
+     * @param high last index, exclusive
+     */
+    void merge(int[] src, int[] dest, int low, int mid, int high)
+    {
+        // already in order?
+        if (compare(src[mid - 1], src[mid]) <= 0)
+        {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; i++)
+        {
+            if (q >= high || (p < mid && compare(src[p], src[q]) <= 0))
+            {
+                dest[i] = src[p++];
+            }
+            else
+            {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    /**
+     * Stable insertion sort for small ranges.
+     * @param order positions to sort
+     * @param low first index, inclusive
+     * @param high last index, exclusive
+     */
+    private void insertionSort(int[] order, int low, int high)
+    {
+        for (int i = low + 1; i < high; i++)
+        {
+            for (int j = i; j > low && compare(order[j - 1], order[j]) > 0; j--)
+            {
+                int swap = order[j];
+                order[j] = order[j - 1];
+                order[j - 1] = swap;
+            }
+        }
+    }
+
+    /**
+     * Compares the keys of two rows.
+     * @param row1 original position of the first row
+     * @param row2 original position of the second row
+     * @return comparison result
+     */
+    private int compare(int row1, int row2)
+    {
+        return this.sorter.compareSortKeys(this.keys[row1], this.keys[row2]);
+    }
+
+    /**
+     * Compares the keys of two rows, then their original positions: the order of a stable sort.
+     * @param row1 original position of the first row
+     * @param row2 original position of the second row
+     * @return comparison result
+     */
+    private int compareStable(int row1, int row2)
+    {
+        int result = compare(row1, row2);
+        if (result != 0)
+        {
+            return result;
+        }
+        return row1 < row2 ? -1 : (row1 == row2 ? 0 : 1);
+    }
+
+    /**
+     * Fork/join task for a parallel merge sort, same contract as <code>sortRange()</code>.
+     */
+    private final class SortTask extends RecursiveAction
+    {
+
+        /**
+         * Serial version uid.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * working copy.
+         */
+        private final int[] src;
+
+        /**
+         * positions to sort.
+         */
+        private final int[] dest;
+
+        /**
+         * first index, inclusive.
+         */
+        private final int low;
+
+        /**
+         * last index, exclusive.
+         */
+        private final int high;
+
+        /**
+         * @param src working copy
+         * @param dest positions to sort
+         * @param low first index, inclusive
+         * @param high last index, exclusive
+         */
+        SortTask(int[] src, int[] dest, int low, int high)
+        {
+            this.src = src;
+            this.dest = dest;
+            this.low = low;
+            this.high = high;
+        }
+
+        /**
+         * @see java.util.concurrent.RecursiveAction#compute()
+         */
+        protected void compute()
+        {
+            if (this.high - this.low < PARALLEL_MIN_RANGE)
+            {
+                sortRange(this.src, this.dest, this.low, this.high);
+                return;
+            }
+
+            int mid = (this.low + this.high) >>> 1;
+            invokeAll(
+                new SortTask(this.dest, this.src, this.low, mid),
+                new SortTask(this.dest, this.src, mid, this.high));
+            merge(this.src, this.dest, this.low, mid, this.high);
+        }
+    }
+
+    /**
+     * Reorders a list according to a permutation of its positions.
+     * @param rows list to reorder
+     * @param order original positions, in the new order
+     */
+    static void reorder(List rows, int[] order)
+    {
+        Object[] original = rows.toArray();
+        ListIterator it = rows.listIterator();
+        for (int j = 0; j < order.length; j++)
+        {
+            it.next();
+            it.set(original[order[j]]);
+        }
+    }
+
+}
@@ -17,19 +17,20 @@
  *  29 July 2014 - extended the security feature to be applicable to
  *        text exports of table contents.
  *  
+ *  18 October 2026 - Column values are computed once per row and cached.
+ *  18 October 2026 - The open tag is written from a template built once per table.
+ *  18 October 2026 - Security is checked on first use and kept.
  */
  
 package org.displaytag.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
-import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.UnhandledException;
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
-import org.displaytag.util.HtmlAttributeMap;
-import org.displaytag.util.MultipleHtmlAttribute;
 import org.displaytag.util.TagConstants;
 
 
@@ -61,7 +62,15 @@ public class Row
      */
     private TableModel tableModel;
     
-    private boolean secured;
+    /**
+     * Secured flag, null until checked or set.
+     */
+    private Boolean secured;
+
+    /**
+     * Values of the columns of this row, see <code>getCachedValue()</code>. Null until the first value is stored.
+     */
+    private Object[] cachedValues;
 
     /**
      * Constructor for Row.
@@ -154,27 +163,34 @@ public class Row
      */
     public String getOpenTag()
     {
-        Map rowAttributes = new HtmlAttributeMap();
-
-        MultipleHtmlAttribute cssAttribute = new MultipleHtmlAttribute(this.tableModel.getProperties().getCssRow(
-            this.rowNumber));
+        StringBuffer tag = new StringBuffer();
+        try
+        {
+            writeOpenTag(tag);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
+        return tag.toString();
+    }
 
+    /**
+     * Writes the open &lt;tr> tag to the given output, from the row tag template of the table.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    public void writeOpenTag(Appendable out) throws IOException
+    {
+        String addStyle = null;
+        String id = null;
         if (this.tableModel.getTableDecorator() != null)
         {
             try
             {
-                String addStyle = this.tableModel.getTableDecorator().addRowClass();
-
-                if (StringUtils.isNotBlank(addStyle))
-                {
-                    cssAttribute.addAttributeValue(addStyle);
-                }
-
-                String id = this.tableModel.getTableDecorator().addRowId();
-                if (StringUtils.isNotBlank(id))
-                {
-                    rowAttributes.put(TagConstants.ATTRIBUTE_ID, id);
-                }
+                addStyle = this.tableModel.getTableDecorator().addRowClass();
+                id = this.tableModel.getTableDecorator().addRowId();
             }
             catch (NoSuchMethodError e)
             {
@@ -184,20 +200,7 @@ public class Row
             }
         }
 
-        if (!cssAttribute.isEmpty())
-        {
-            rowAttributes.put(TagConstants.ATTRIBUTE_CLASS, cssAttribute);
-        }
-
-        StringBuffer tag = new StringBuffer();
-        tag.append(TagConstants.TAG_OPEN);
-        tag.append(TagConstants.TAGNAME_ROW);
-
-        tag.append(rowAttributes.toString());
-
-        tag.append(TagConstants.TAG_CLOSE);
-
-        return tag.toString();
+        this.tableModel.getRowTagTemplate().writeOpenTag(out, this.rowNumber, addStyle, id);
     }
 
     /**
@@ -220,12 +223,57 @@ public class Row
             .toString();
     }
 
+    /**
+     * Returns <code>true</code> if the row object must be hidden from the current user. Unless set, security is checked
+     * the first time the row is read, through the parent table, and kept for the following reads. A row not yet added
+     * to a table is not secured.
+     * @return boolean
+     */
 	public boolean getSecured() {
-	    return secured;
+	    if (secured == null) {
+	        if (tableModel == null) {
+	            return false;
+	        }
+	        setSecured(tableModel.isRowSecured(rowObject));
+	    }
+	    return secured.booleanValue();
     }
 
 	public void setSecured(boolean secured) {
-	    this.secured = secured;
+	    this.secured = Boolean.valueOf(secured);
+	    // secured rows show different values
+	    this.cachedValues = null;
+    }
+
+    /**
+     * Returns a column value stored with <code>setCachedValue()</code>. Values are kept on the row, so they are
+     * discarded with it, and they follow the row when the list is sorted.
+     * @param slot value slot, see <code>ColumnValueCache</code>
+     * @return the stored value (may be <code>ColumnValueCache.NULL_VALUE</code>), or null if no value has been stored
+     */
+    Object getCachedValue(int slot)
+    {
+        return this.cachedValues != null && slot < this.cachedValues.length ? this.cachedValues[slot] : null;
+    }
+
+    /**
+     * Stores a column value.
+     * @param slot value slot, see <code>ColumnValueCache</code>
+     * @param value value to store
+     * @param size number of slots needed by the row
+     */
+    void setCachedValue(int slot, Object value, int size)
+    {
+        if (this.cachedValues == null || slot >= this.cachedValues.length)
+        {
+            Object[] values = new Object[Math.max(size, slot + 1)];
+            if (this.cachedValues != null)
+            {
+                System.arraycopy(this.cachedValues, 0, values, 0, this.cachedValues.length);
+            }
+            this.cachedValues = values;
+        }
+        this.cachedValues[slot] = value;
     }
 
 }
\ No newline at end of file
@@ -9,9 +9,18 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Sort keys can be extracted once per row instead of
+ *        once per comparison. Strings can be sorted on collation keys.
+ */
 package org.displaytag.model;
 
 import java.util.Comparator;
+import java.util.Map;
 
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang.builder.HashCodeBuilder;
@@ -94,59 +103,45 @@ public class RowSorter implements Comparator
      */
     public final int compare(Object object1, Object object2)
     {
+        return compareSortKeys(getSortKey(object1), getSortKey(object2));
+    }
 
-        Object obj1 = null;
-        Object obj2 = null;
-
+    /**
+     * Extracts the value this sorter compares on from a row: the static cell for the sorted column if no property has
+     * been set, else the property value read from the decorator (if it has a getter for the property) or from the row
+     * object. Sorting a list can extract each key once and then compare keys with <code>compareSortKeys()</code>.
+     * @param row Row
+     * @return sort key, may be null
+     */
+    public Object getSortKey(Object row)
+    {
         // if property is null compare using two static cell objects
         if (this.property == null)
         {
-            if (object1 instanceof Row)
-            {
-                obj1 = ((Row) object1).getCellList().get(this.columnIndex);
-            }
-            if (object2 instanceof Row)
+            if (row instanceof Row)
             {
-                obj2 = ((Row) object2).getCellList().get(this.columnIndex);
+                return ((Row) row).getCellList().get(this.columnIndex);
             }
-
-            return checkNullsAndCompare(obj1, obj2);
+            return null;
         }
 
-        if (object1 instanceof Row)
+        Object obj = null;
+        if (row instanceof Row)
         {
-            obj1 = ((Row) object1).getObject();
-        }
-        if (object2 instanceof Row)
-        {
-            obj2 = ((Row) object2).getObject();
+            obj = ((Row) row).getObject();
         }
 
         try
         {
-            Object result1;
-            Object result2;
-
             // If they have supplied a decorator, then make sure and use it for the sorting as well
             if (this.decorator != null && this.decorator.hasGetterFor(this.property))
             {
                 // set the row before sending to the decorator
-                this.decorator.initRow(obj1, 0, 0);
+                this.decorator.initRow(obj, 0, 0);
 
-                result1 = LookupUtil.getBeanProperty(this.decorator, this.property);
-
-                // set the row before sending to the decorator
-                this.decorator.initRow(obj2, 0, 0);
-
-                result2 = LookupUtil.getBeanProperty(this.decorator, this.property);
-            }
-            else
-            {
-                result1 = LookupUtil.getBeanProperty(obj1, this.property);
-                result2 = LookupUtil.getBeanProperty(obj2, this.property);
+                return LookupUtil.getBeanProperty(this.decorator, this.property);
             }
-
-            return checkNullsAndCompare(result1, result2);
+            return LookupUtil.getBeanProperty(obj, this.property);
         }
         catch (ObjectLookupException e)
         {
@@ -154,6 +149,39 @@ public class RowSorter implements Comparator
         }
     }
 
+    /**
+     * Does the comparator sort strings on collation keys? In this case keys extracted once per row should be converted
+     * with <code>getCollationKey()</code> before being compared.
+     * @return <code>true</code> if the comparator is a <code>DefaultComparator</code> using collation keys
+     */
+    boolean isUsingCollationKeys()
+    {
+        return this.comparator instanceof DefaultComparator
+            && ((DefaultComparator) this.comparator).isUsingCollationKeys();
+    }
+
+    /**
+     * Converts a key extracted with <code>getSortKey()</code> to its collation key, if it is a string.
+     * @param key sort key
+     * @param keyCache collation keys already computed in this sort, by string
+     * @return collation key, or the given key if it is not a string
+     */
+    Object getCollationKey(Object key, Map keyCache)
+    {
+        return ((DefaultComparator) this.comparator).getSortKey(key, keyCache);
+    }
+
+    /**
+     * Compares two keys extracted with <code>getSortKey()</code>, applying the sort order.
+     * @param key1 first key
+     * @param key2 second key
+     * @return int result
+     */
+    public int compareSortKeys(Object key1, Object key2)
+    {
+        return checkNullsAndCompare(key1, key2);
+    }
+
     /**
      * Compares two given objects, and handles the case where nulls are present.
      * @param object1 first object to compare
@@ -0,0 +1,170 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Write row open tags from parts computed once per table.
+ */
+package org.displaytag.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.displaytag.properties.TableProperties;
+import org.displaytag.util.HtmlAttributeMap;
+import org.displaytag.util.TagConstants;
+
+
+/**
+ * Template for the &lt;tr> open tag of the rows of a table. The odd/even css classes are split once per table, only
+ * the class and id returned by the table decorator are added for each row. The output is the same as building the tag
+ * with an <code>HtmlAttributeMap</code> and a <code>MultipleHtmlAttribute</code>, including the order of the
+ * attributes, without creating them for each row.
+ */
+final class RowTagTemplate
+{
+
+    /**
+     * <code>true</code> if an HtmlAttributeMap holding both attributes prints the id before the class.
+     */
+    private static final boolean ID_FIRST;
+
+    static
+    {
+        HtmlAttributeMap probe = new HtmlAttributeMap();
+        probe.put(TagConstants.ATTRIBUTE_ID, TagConstants.EMPTY_STRING);
+        probe.put(TagConstants.ATTRIBUTE_CLASS, TagConstants.EMPTY_STRING);
+        ID_FIRST = TagConstants.ATTRIBUTE_ID.equals(probe.keySet().iterator().next());
+    }
+
+    /**
+     * Css classes for odd rows, as distinct values.
+     */
+    private final List oddClasses;
+
+    /**
+     * Css class attribute value for odd rows.
+     */
+    private final String oddClass;
+
+    /**
+     * Css classes for even rows, as distinct values.
+     */
+    private final List evenClasses;
+
+    /**
+     * Css class attribute value for even rows.
+     */
+    private final String evenClass;
+
+    /**
+     * @param properties table properties, for the odd and even css classes
+     */
+    RowTagTemplate(TableProperties properties)
+    {
+        this.oddClasses = distinctValues(properties.getCssRow(0));
+        this.oddClass = StringUtils.join(this.oddClasses.iterator(), ' ');
+        this.evenClasses = distinctValues(properties.getCssRow(1));
+        this.evenClass = StringUtils.join(this.evenClasses.iterator(), ' ');
+    }
+
+    /**
+     * Splits a class attribute value as MultipleHtmlAttribute does.
+     * @param value attribute value
+     * @return distinct values, in order
+     */
+    private static List distinctValues(String value)
+    {
+        String[] values = StringUtils.split(value);
+        if (values == null)
+        {
+            return Arrays.asList(new String[0]);
+        }
+        List distinct = new ArrayList(values.length);
+        for (int j = 0; j < values.length; j++)
+        {
+            if (!distinct.contains(values[j]))
+            {
+                distinct.add(values[j]);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Writes the open tag of a row.
+     * @param out output
+     * @param rowNumber row number, for the odd/even class
+     * @param addStyle css class added by the table decorator, may be null
+     * @param id row id added by the table decorator, may be null
+     * @throws IOException if thrown by the output
+     */
+    void writeOpenTag(Appendable out, int rowNumber, String addStyle, String id) throws IOException
+    {
+        boolean odd = rowNumber % 2 == 0;
+        List classes = odd ? this.oddClasses : this.evenClasses;
+        String cssClass = odd ? this.oddClass : this.evenClass;
+
+        boolean addClass = StringUtils.isNotBlank(addStyle) && !classes.contains(addStyle);
+        boolean hasClass = !classes.isEmpty() || addClass;
+        boolean hasId = StringUtils.isNotBlank(id);
+
+        out.append(TagConstants.TAG_OPEN).append(TagConstants.TAGNAME_ROW);
+        if (hasId && ID_FIRST)
+        {
+            writeAttribute(out, TagConstants.ATTRIBUTE_ID, id, null);
+        }
+        if (hasClass)
+        {
+            writeAttribute(out, TagConstants.ATTRIBUTE_CLASS, cssClass, addClass ? addStyle : null);
+        }
+        if (hasId && !ID_FIRST)
+        {
+            writeAttribute(out, TagConstants.ATTRIBUTE_ID, id, null);
+        }
+        out.append(TagConstants.TAG_CLOSE);
+    }
+
+    /**
+     * Writes an attribute, as HtmlAttributeMap does.
+     * @param out output
+     * @param name attribute name
+     * @param value attribute value
+     * @param additionalValue value appended after a space, may be null
+     * @throws IOException if thrown by the output
+     */
+    private static void writeAttribute(Appendable out, String name, String value, String additionalValue)
+        throws IOException
+    {
+        out.append(' ').append(name).append('=').append('"').append(value);
+        if (additionalValue != null)
+        {
+            if (value.length() > 0)
+            {
+                out.append(' ');
+            }
+            out.append(additionalValue);
+        }
+        out.append('"');
+    }
+
+}
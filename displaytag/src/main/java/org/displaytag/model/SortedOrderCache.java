@@ -0,0 +1,206 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Keep the sorted order of full lists across paging requests.
+ */
+package org.displaytag.model;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpSession;
+
+
+/**
+ * Session cache of the sorted orders of full lists, as permutations of row positions. An order is keyed by table id,
+ * sort column, sort direction and a fingerprint of the list: its size and the identity hashes of its objects, in
+ * order. The identity hash of each object is kept with the order and checked on every hit, so a fingerprint collision
+ * or a list holding other objects, or the same objects in another order, is very unlikely to get a cached order:
+ * identity hashes are not unique, so it only happens if every object has the same identity hash as the one at its
+ * position in the cached list. Objects are not referenced by the cache, which would keep them alive in the session.
+ * Changes to the properties of the same objects are not detected.
+ * <p>
+ * The least recently used orders are evicted above the maximum size. The cache is thread safe.
+ * </p>
+ */
+final class SortedOrderCache implements Serializable
+{
+
+    /**
+     * Session attribute holding the cache.
+     */
+    static final String SESSION_ATTRIBUTE = SortedOrderCache.class.getName();
+
+    /**
+     * Serial version uid.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum number of orders.
+     */
+    private final int maxSize;
+
+    /**
+     * Orders by key, in access order.
+     */
+    private final Map<String, CachedOrder> orders;
+
+    /**
+     * @param size maximum number of orders
+     */
+    SortedOrderCache(int size)
+    {
+        this.maxSize = size;
+        this.orders = new LinkedHashMap<String, CachedOrder>(16, 0.75f, true)
+        {
+
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<String, CachedOrder> eldest)
+            {
+                return size() > SortedOrderCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache of the given session, created if needed.
+     * @param session http session
+     * @param size maximum number of orders
+     * @return cache
+     */
+    static SortedOrderCache getInstance(HttpSession session, int size)
+    {
+        SortedOrderCache cache = (SortedOrderCache) session.getAttribute(SESSION_ATTRIBUTE);
+        if (cache == null || cache.maxSize != size)
+        {
+            cache = new SortedOrderCache(size);
+            session.setAttribute(SESSION_ATTRIBUTE, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Builds the key of the order of a list.
+     * @param tableId table id
+     * @param property sorted property, may be null
+     * @param column sorted column
+     * @param ascending sort direction
+     * @param objects objects of the list, in their unsorted order
+     * @return key
+     */
+    static String getKey(String tableId, String property, int column, boolean ascending, List objects)
+    {
+        long fingerprint = 0;
+        for (int j = 0; j < objects.size(); j++)
+        {
+            fingerprint = fingerprint * 31 + System.identityHashCode(objects.get(j));
+        }
+
+        StringBuffer key = new StringBuffer(64);
+        key.append(tableId).append('|').append(property).append('|').append(column).append('|');
+        key.append(ascending ? 'a' : 'd').append('|').append(objects.size()).append('|');
+        key.append(Long.toHexString(fingerprint));
+        return key.toString();
+    }
+
+    /**
+     * Returns a cached order, if it has been computed for the same objects.
+     * @param key key built with <code>getKey()</code>
+     * @param objects objects of the list, in their unsorted order
+     * @return original positions of the rows in sorted order, null if not cached
+     */
+    int[] get(String key, List objects)
+    {
+        CachedOrder cached;
+        synchronized (this.orders)
+        {
+            cached = this.orders.get(key);
+        }
+        if (cached == null || cached.identities.length != objects.size())
+        {
+            return null;
+        }
+        for (int j = 0; j < cached.identities.length; j++)
+        {
+            if (cached.identities[j] != System.identityHashCode(objects.get(j)))
+            {
+                return null;
+            }
+        }
+        return cached.order;
+    }
+
+    /**
+     * Caches an order.
+     * @param key key built with <code>getKey()</code>
+     * @param objects objects of the list, in their unsorted order
+     * @param order original positions of the rows in sorted order
+     */
+    void put(String key, List objects, int[] order)
+    {
+        int[] identities = new int[objects.size()];
+        for (int j = 0; j < identities.length; j++)
+        {
+            identities[j] = System.identityHashCode(objects.get(j));
+        }
+        synchronized (this.orders)
+        {
+            this.orders.put(key, new CachedOrder(order, identities));
+        }
+    }
+
+    /**
+     * A sorted order and the identity hashes of the objects it has been computed for.
+     */
+    private static final class CachedOrder implements Serializable
+    {
+
+        /**
+         * Serial version uid.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Original positions of the rows in sorted order.
+         */
+        final int[] order;
+
+        /**
+         * Identity hash of each object, in the unsorted order.
+         */
+        final int[] identities;
+
+        /**
+         * @param order original positions of the rows in sorted order
+         * @param identities identity hash of each object, in the unsorted order
+         */
+        CachedOrder(int[] order, int[] identities)
+        {
+            this.order = order;
+            this.identities = identities;
+        }
+    }
+
+}
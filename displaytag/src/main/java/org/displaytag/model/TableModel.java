@@ -22,17 +22,43 @@
  *
  *   2 April 2021 - Fixed an issue where setting a sort direction on a
  *        column would not highlight the column.
+ *
+ *  18 October 2026 - Rows are sorted on sort keys extracted once per row,
+ *        large lists can optionally be sorted in parallel.
+ *
+ *  18 October 2026 - Rows of streaming exports can be linked to the model
+ *        without being added to the list.
+ *
+ *  18 October 2026 - Added a cache of column values.
+ *
+ *  18 October 2026 - Added the row tag template.
+ *
+ *  18 October 2026 - Rows of tables with an empty body can be created on
+ *        first access.
+ *
+ *  18 October 2026 - Added a partial sort of the first rows of the full list.
+ *
+ *  18 October 2026 - Sorted orders of the full list can be cached in the
+ *        session.
+ *
+ *  18 October 2026 - Row security is checked when a row is first written.
+ *
+ *  18 October 2026 - The sorted order of a list can be read from its objects
+ *        before the rows are created, and reused to sort the rows.
+ *
+ *  18 October 2026 - Column values look up cells by column number.
  */
 package org.displaytag.model;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
 import javax.servlet.jsp.PageContext;
 
 import org.apache.commons.lang.StringUtils;
@@ -43,9 +69,12 @@ import org.apache.commons.logging.LogFactory;
 import org.displaytag.decorator.DisplaytagColumnDecorator;
 import org.displaytag.decorator.EscapeXmlColumnDecorator;
 import org.displaytag.decorator.TableDecorator;
+import org.displaytag.exception.DecoratorException;
+import org.displaytag.exception.ObjectLookupException;
 import org.displaytag.properties.MediaTypeEnum;
 import org.displaytag.properties.SortOrderEnum;
 import org.displaytag.properties.TableProperties;
+import org.displaytag.render.SecurityService;
 import org.displaytag.tags.DataGridCustomiztionUtil;
 import org.displaytag.tags.TableTag;
 import org.displaytag.util.HtmlAttributeMap;
@@ -167,6 +196,31 @@ public class TableModel
      */
     private List mainHeaderCellList;
 
+    /**
+     * Column values of the rows of this table.
+     */
+    private final ColumnValueCache valueCache = new ColumnValueCache(this);
+
+    /**
+     * Template for the open tag of rows, created with the first row.
+     */
+    private RowTagTemplate rowTagTemplate;
+
+    /**
+     * Security service for the row objects, created with the first row checked.
+     */
+    private SecurityService securityService;
+
+    /**
+     * Order of the objects computed by <code>getSortedOrder()</code>, reused by the next sort of the full list.
+     */
+    private int[] objectsOrder;
+
+    /**
+     * Number of rows put in order in <code>objectsOrder</code>.
+     */
+    private int objectsOrderCount;
+
     /**
      * Constructor for TableModel.
      * @param tableProperties table properties
@@ -463,6 +517,38 @@ public class TableModel
         this.rowListFull.add(row);
     }
 
+    /**
+     * Sets the full list to a list of Rows created on first access from the given objects, instead of adding a Row for
+     * each object. Used for tables with an empty body, whose rows have no cells.
+     * @param objects objects of the full list, a random access list
+     */
+    public void setRowObjects(List objects)
+    {
+        if (log.isDebugEnabled())
+        {
+            log.debug("[" + this.id + "] " + objects.size() + " rows, created on first access");
+        }
+        this.rowListFull = new VirtualRowList(objects, this);
+    }
+
+    /**
+     * Returns the objects of the full list, in the order of the rows. Rows created on first access are not created.
+     * @return List of objects
+     */
+    public List getRowObjects()
+    {
+        if (this.rowListFull instanceof VirtualRowList)
+        {
+            return ((VirtualRowList) this.rowListFull).getRowObjects();
+        }
+        List rowObjects = new ArrayList(this.rowListFull.size());
+        for (int j = 0; j < this.rowListFull.size(); j++)
+        {
+            rowObjects.add(((Row) this.rowListFull.get(j)).getObject());
+        }
+        return rowObjects;
+    }
+
     /**
      * sets the name of the currently sorted column
      * @param sortedColumnName
@@ -646,6 +732,117 @@ public class TableModel
         return this.headerCellList;
     }
 
+    /**
+     * Returns the cache of column values of the rows of this table.
+     * @return ColumnValueCache
+     */
+    ColumnValueCache getValueCache()
+    {
+        return this.valueCache;
+    }
+
+    /**
+     * Checks if a row object is secured for the current user. Called by <code>Row.getSecured()</code>, so only the
+     * rows which are written are checked.
+     * @param rowObject row object, may be null
+     * @return <code>true</code> if the row must be hidden
+     */
+    boolean isRowSecured(Object rowObject)
+    {
+        if (rowObject == null)
+        {
+            return false;
+        }
+        if (this.securityService == null)
+        {
+            this.securityService = new SecurityService(rowObject.getClass());
+        }
+        return this.securityService.classIsSecurable() && this.securityService.isRowSecured(rowObject);
+    }
+
+    /**
+     * Returns the template for the open tag of the rows of this table.
+     * @return RowTagTemplate
+     */
+    RowTagTemplate getRowTagTemplate()
+    {
+        if (this.rowTagTemplate == null)
+        {
+            this.rowTagTemplate = new RowTagTemplate(this.properties);
+        }
+        return this.rowTagTemplate;
+    }
+
+    /**
+     * Returns the value of a column in a row of the full list, as <code>Column.getValue()</code>. The value is only
+     * evaluated if it has not been cached yet, for example when the row has been rendered.
+     * @param rowIndex index of the row in the full list
+     * @param columnNumber column number
+     * @param decorated boolean
+     * @return column value
+     * @throws ObjectLookupException for errors in bean property lookup
+     * @throws DecoratorException if a column decorator is used and an exception is thrown during value decoration
+     */
+    public Object getColumnValue(int rowIndex, int columnNumber, boolean decorated) throws ObjectLookupException,
+        DecoratorException
+    {
+        Row row = (Row) this.rowListFull.get(rowIndex);
+        Object value = this.valueCache.get(row, columnNumber, decorated
+            ? ColumnValueCache.DECORATED
+            : ColumnValueCache.RAW);
+        if (value != ColumnValueCache.NOT_CACHED)
+        {
+            return value;
+        }
+        return getColumn(row, columnNumber).getValue(decorated);
+    }
+
+    /**
+     * Returns the chopped and linked value of a column in a row of the full list, as displayed in html. The value is
+     * only evaluated if it has not been cached yet, for example when the row has been rendered.
+     * @param rowIndex index of the row in the full list
+     * @param columnNumber column number
+     * @return chopped and linked value
+     * @throws ObjectLookupException for errors in bean property lookup
+     * @throws DecoratorException if a column decorator is used and an exception is thrown during value decoration
+     */
+    public String getColumnDisplayValue(int rowIndex, int columnNumber) throws ObjectLookupException,
+        DecoratorException
+    {
+        Row row = (Row) this.rowListFull.get(rowIndex);
+        Object value = this.valueCache.get(row, columnNumber, ColumnValueCache.DISPLAY);
+        if (value != ColumnValueCache.NOT_CACHED)
+        {
+            return (String) value;
+        }
+        Column column = getColumn(row, columnNumber);
+        column.initialize();
+        return column.getChoppedAndLinkedValue();
+    }
+
+    /**
+     * Creates the Column for a column number in the given row. Cells are looked up by column number, not by the
+     * position of the header, as the header cell list is reversed for rtl exports.
+     * @param row Row
+     * @param columnNumber column number
+     * @return Column
+     */
+    private Column getColumn(Row row, int columnNumber)
+    {
+        List cells = row.getCellList();
+        for (int j = 0; j < this.headerCellList.size(); j++)
+        {
+            HeaderCell header = (HeaderCell) this.headerCellList.get(j);
+            if (header.getColumnNumber() == columnNumber)
+            {
+                return new Column(header, columnNumber < cells.size()
+                    ? (Cell) cells.get(columnNumber)
+                    : Cell.EMPTY_CELL, row);
+            }
+        }
+        throw new IllegalArgumentException("Unable to find column " + columnNumber + " in the list of columns");
+    }
+
     /**
      * returns a RowIterator on the requested (full|page) list.
      * @return RowIterator
@@ -665,11 +862,23 @@ public class TableModel
         return iterator;
     }
 
+    /**
+     * Links a row to this model without adding it to the list, for streaming exports: the row reads its values and
+     * security through the model, and can be garbage collected as soon as it has been written.
+     * @param row Row
+     */
+    public void linkRow(Row row)
+    {
+        row.setParentTable(this);
+    }
+
     /**
      * sorts the given list of Rows. The method is called internally by sortFullList() and sortPageList().
      * @param list List
+     * @param parallel compare rows in parallel (comparator must be thread safe)
+     * @param count number of rows to put in order, the other ones are left in their order. 0 to sort the whole list
      */
-    private void sortRowList(List list)
+    private void sortRowList(List list, boolean parallel, int count)
     {
         if (isSorted())
         {
@@ -686,17 +895,144 @@ public class TableModel
                         ? sortedHeaderCell.getSortProperty()
                         : sortedHeaderCell.getBeanPropertyName();
 
-                    Collections.sort(list, new RowSorter(
+                    // sort keys are read once per row, not once per comparison
+                    RowSorter rowSorter = new RowSorter(
                         this.sortedColumn,
                         sorted,
                         getTableDecorator(),
                         this.sortOrderAscending,
-                        sortedHeaderCell.getComparator()));
+                        sortedHeaderCell.getComparator());
+                    int cacheSize = this.properties.getSortCacheSize();
+                    if (list == this.rowListFull && isObjectsOrderValid(count))
+                    {
+                        // already computed on the objects, before the rows were created
+                        reorderFullList(this.objectsOrder);
+                    }
+                    else if (list == this.rowListFull && cacheSize > 0 && list.size() > 1
+                        && this.pageContext != null && this.pageContext.getRequest() instanceof HttpServletRequest)
+                    {
+                        sortFullListCached(rowSorter, sorted, parallel, cacheSize);
+                    }
+                    else if (count > 0 && count < list.size())
+                    {
+                        KeyedRowSort.sortTop(list, rowSorter, count);
+                    }
+                    else
+                    {
+                        KeyedRowSort.sort(list, rowSorter, parallel);
+                    }
                 }
             }
 
         }
 
+        if (list == this.rowListFull)
+        {
+            this.objectsOrder = null;
+        }
+    }
+
+    /**
+     * Can the order computed by <code>getSortedOrder()</code> be used to sort the full list?
+     * @param count number of rows to put in order, 0 for all
+     * @return <code>true</code> if the order is for the same rows and puts enough of them in order
+     */
+    private boolean isObjectsOrderValid(int count)
+    {
+        if (this.objectsOrder == null || this.objectsOrder.length != this.rowListFull.size())
+        {
+            return false;
+        }
+        return this.objectsOrderCount == this.objectsOrder.length || (count > 0 && count <= this.objectsOrderCount);
+    }
+
+    /**
+     * Puts the rows of the full list in the given order.
+     * @param order original positions of the rows, in sorted order
+     */
+    private void reorderFullList(int[] order)
+    {
+        // rows created on first access are only created for the displayed page
+        if (this.rowListFull instanceof VirtualRowList)
+        {
+            ((VirtualRowList) this.rowListFull).reorder(order);
+        }
+        else
+        {
+            KeyedRowSort.reorder(this.rowListFull, order);
+        }
+    }
+
+    /**
+     * Returns the sorted order of the given objects, reading the sort key from the objects only, so before the column
+     * bodies are evaluated. Only the first rows are put in order, as in <code>sortFullList(int)</code>. The order is
+     * kept and reused by the next sort of the full list, if its rows are created from the same objects.
+     * @param objects objects of the full list, in their unsorted order
+     * @param count number of rows to put in order
+     * @return original positions of the first rows in sorted order, followed by the other rows; null if the list is
+     * not sorted or if the sort key is not a property of the objects
+     */
+    public int[] getSortedOrder(List objects, int count)
+    {
+        HeaderCell sortedHeaderCell = isSorted() ? getSortedColumnHeader() : null;
+        if (sortedHeaderCell == null || getTableDecorator() != null)
+        {
+            return null;
+        }
+        String sorted = (sortedHeaderCell.getSortProperty() != null)
+            ? sortedHeaderCell.getSortProperty()
+            : sortedHeaderCell.getBeanPropertyName();
+        if (sorted == null)
+        {
+            // the sort key is the evaluated body of the column
+            return null;
+        }
+
+        List rows = new ArrayList(objects.size());
+        for (int j = 0; j < objects.size(); j++)
+        {
+            rows.add(new Row(objects.get(j), j + 1));
+        }
+        RowSorter rowSorter = new RowSorter(
+            this.sortedColumn,
+            sorted,
+            null,
+            this.sortOrderAscending,
+            sortedHeaderCell.getComparator());
+
+        // a partial sort is only faster for the first half of the list
+        this.objectsOrderCount = count * 2 <= rows.size() ? count : rows.size();
+        this.objectsOrder = new KeyedRowSort(rows, rowSorter).getTopOrder(this.objectsOrderCount);
+        return this.objectsOrder;
+    }
+
+    /**
+     * Sorts the full list in the order cached in the session for the same table, sort and list objects. If not cached,
+     * the order is computed and cached.
+     * @param rowSorter sorter
+     * @param property sorted property, may be null
+     * @param parallel compare rows in parallel (comparator must be thread safe)
+     * @param cacheSize maximum number of orders cached in the session
+     */
+    private void sortFullListCached(RowSorter rowSorter, String property, boolean parallel, int cacheSize)
+    {
+        HttpSession session = ((HttpServletRequest) this.pageContext.getRequest()).getSession(true);
+        SortedOrderCache cache = SortedOrderCache.getInstance(session, cacheSize);
+        List objects = getRowObjects();
+        String key = SortedOrderCache.getKey(this.id, property, this.sortedColumn, this.sortOrderAscending, objects);
+
+        int[] order = cache.get(key, objects);
+        if (order == null)
+        {
+            order = KeyedRowSort.sortedOrder(this.rowListFull, rowSorter, parallel);
+            cache.put(key, objects, order);
+        }
+        else if (log.isDebugEnabled())
+        {
+            log.debug("[" + this.id + "] using cached sort order " + key);
+        }
+
+        reorderFullList(order);
     }
 
     /**
@@ -708,7 +1044,7 @@ public class TableModel
         {
             log.debug("[" + this.id + "] sorting page list");
         }
-        sortRowList(this.rowListPage);
+        sortRowList(this.rowListPage, false, 0);
 
     }
 
@@ -721,7 +1057,24 @@ public class TableModel
         {
             log.debug("[" + this.id + "] sorting full data");
         }
-        sortRowList(this.rowListFull);
+
+        // large lists can be sorted in parallel, if enabled with sort.parallel.threshold
+        int parallelThreshold = this.properties.getSortParallelThreshold();
+        sortRowList(this.rowListFull, parallelThreshold > 0 && this.rowListFull.size() >= parallelThreshold, 0);
+    }
+
+    /**
+     * sort the full list of data, putting only the first rows in order: the other ones are left in their original
+     * order. Used when only the first rows are displayed.
+     * @param count number of rows to put in order
+     */
+    public void sortFullList(int count)
+    {
+        if (log.isDebugEnabled())
+        {
+            log.debug("[" + this.id + "] sorting the first " + count + " rows of full data");
+        }
+        sortRowList(this.rowListFull, false, count);
     }
 
     /**
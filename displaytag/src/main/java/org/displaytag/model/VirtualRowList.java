@@ -0,0 +1,151 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Create Row objects only for the rows actually read.
+ */
+package org.displaytag.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * List of Rows backed by a random access list of objects. The Row holding an object is created the first time its
+ * index is read, and kept for the following reads, so displaying a page of a large list only creates the Rows of that
+ * page. Rows can be replaced, as sorting does, but not added or removed.
+ * <p>
+ * Only used for tables with an empty body: the Rows have no cells.
+ * </p>
+ */
+final class VirtualRowList extends AbstractList implements RandomAccess
+{
+
+    /**
+     * Source objects.
+     */
+    private final List objects;
+
+    /**
+     * Rows by index, null until read.
+     */
+    private final Row[] rows;
+
+    /**
+     * Table the rows belong to.
+     */
+    private final TableModel tableModel;
+
+    /**
+     * Positions of the rows in the source list, null while the rows are in the order of the source list.
+     */
+    private int[] positions;
+
+    /**
+     * @param objects source objects, a random access list
+     * @param tableModel table the rows belong to
+     */
+    VirtualRowList(List objects, TableModel tableModel)
+    {
+        this.objects = objects;
+        this.rows = new Row[objects.size()];
+        this.tableModel = tableModel;
+    }
+
+    /**
+     * Returns the objects of the rows, in the order of the rows, without creating the Rows not read yet. An index
+     * which has not been read still holds the object at its position in the source list.
+     * @return List of objects
+     */
+    List getRowObjects()
+    {
+        List rowObjects = new ArrayList(this.rows.length);
+        for (int j = 0; j < this.rows.length; j++)
+        {
+            rowObjects.add(this.rows[j] != null ? this.rows[j].getObject() : this.objects.get(position(j)));
+        }
+        return rowObjects;
+    }
+
+    /**
+     * @see java.util.AbstractList#get(int)
+     */
+    public Object get(int index)
+    {
+        Row row = this.rows[index];
+        if (row == null)
+        {
+            // row numbers start from 1, as when iterating on the source list
+            int position = position(index);
+            row = new Row(this.objects.get(position), position + 1);
+            row.setParentTable(this.tableModel);
+            this.rows[index] = row;
+        }
+        return row;
+    }
+
+    /**
+     * Reorders the rows according to a permutation of their positions, without creating the Rows not read yet.
+     * @param order current positions, in the new order
+     */
+    void reorder(int[] order)
+    {
+        Row[] reordered = new Row[this.rows.length];
+        int[] reorderedPositions = new int[this.rows.length];
+        for (int j = 0; j < order.length; j++)
+        {
+            reordered[j] = this.rows[order[j]];
+            reorderedPositions[j] = position(order[j]);
+        }
+        System.arraycopy(reordered, 0, this.rows, 0, this.rows.length);
+        this.positions = reorderedPositions;
+    }
+
+    /**
+     * Returns the position in the source list of a row.
+     * @param index row index
+     * @return position in the source list
+     */
+    private int position(int index)
+    {
+        return this.positions == null ? index : this.positions[index];
+    }
+
+    /**
+     * @see java.util.AbstractList#set(int, java.lang.Object)
+     */
+    public Object set(int index, Object element)
+    {
+        Object previous = get(index);
+        this.rows[index] = (Row) element;
+        return previous;
+    }
+
+    /**
+     * @see java.util.AbstractCollection#size()
+     */
+    public int size()
+    {
+        return this.rows.length;
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Keyset pagination, without an offset or a count of the full list.
+ */
+package org.displaytag.pagination;
+
+/**
+ * Interface describing an externally sorted list, paginated by key (seek pagination) instead of by offset. The
+ * previous and next pages are fetched from cursors, opaque tokens usually holding the sort key of the first and of the
+ * last object of the partial list, which are passed back in the navigation links.
+ * <p>
+ * The size of the full list does not need to be known: <code>getFullListSize()</code> may return
+ * <code>UNKNOWN_SIZE</code>. The page number is only used for display, and to number the previous and next pages.
+ * </p>
+ */
+public interface KeysetPaginatedList extends PaginatedList
+{
+
+    /**
+     * Returned by <code>getFullListSize()</code> if the size of the full list has not been counted.
+     */
+    int UNKNOWN_SIZE = -1;
+
+    /**
+     * Returns the cursor to fetch the page before this one, usually built from the first object of the partial list.
+     * It is added to the "previous" link as the <code>pagination.before.param</code> parameter.
+     * @return the cursor, null if this is the first page
+     */
+    String getBeforeCursor();
+
+    /**
+     * Returns the cursor to fetch the page after this one, usually built from the last object of the partial list. It
+     * is added to the "next" link as the <code>pagination.after.param</code> parameter.
+     * @return the cursor, null if this is the last page
+     */
+    String getAfterCursor();
+
+    /**
+     * Returns whether there are objects after this page, usually computed by fetching one object more than the page
+     * size. If null, there are assumed to be more objects if the after cursor is not null and the partial list is
+     * full.
+     * @return whether there is a next page, may be null
+     */
+    Boolean hasMore();
+}
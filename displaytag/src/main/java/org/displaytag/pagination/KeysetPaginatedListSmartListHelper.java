@@ -0,0 +1,257 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Keyset pagination, without an offset or a count of the full list.
+ */
+package org.displaytag.pagination;
+
+import java.text.MessageFormat;
+import java.util.List;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+import org.displaytag.properties.TableProperties;
+import org.displaytag.util.Href;
+
+
+/**
+ * An implementation of SmartListHelper used for lists paginated by key. The navigation bar only links to the first,
+ * previous and next pages, the previous and next links carry the cursors of the list. The search results summary does
+ * not need the size of the full list.
+ */
+public class KeysetPaginatedListSmartListHelper extends SmartListHelper
+{
+
+    /**
+     * Partial list.
+     */
+    private KeysetPaginatedList paginatedList;
+
+    /**
+     * Table properties.
+     */
+    private TableProperties properties;
+
+    /**
+     * @param paginatedList partial list
+     * @param tableProperties table properties
+     */
+    public KeysetPaginatedListSmartListHelper(KeysetPaginatedList paginatedList, TableProperties tableProperties)
+    {
+        super();
+        this.paginatedList = paginatedList;
+        this.properties = tableProperties;
+    }
+
+    /**
+     * @see org.displaytag.pagination.SmartListHelper#getFirstIndexForCurrentPage()
+     */
+    public int getFirstIndexForCurrentPage()
+    {
+        return getFirstIndexForPage(this.paginatedList.getPageNumber());
+    }
+
+    /**
+     * @see org.displaytag.pagination.SmartListHelper#getFirstIndexForPage(int)
+     */
+    protected int getFirstIndexForPage(int pageNumber)
+    {
+        return (Math.max(pageNumber, 1) - 1) * this.paginatedList.getObjectsPerPage();
+    }
+
+    /**
+     * @see org.displaytag.pagination.SmartListHelper#getLastIndexForCurrentPage()
+     */
+    protected int getLastIndexForCurrentPage()
+    {
+        return getFirstIndexForCurrentPage() + getListForCurrentPage().size() - 1;
+    }
+
+    /**
+     * @see org.displaytag.pagination.SmartListHelper#getListForCurrentPage()
+     */
+    public List getListForCurrentPage()
+    {
+        return this.paginatedList.getList();
+    }
+
+    /**
+     * @see org.displaytag.pagination.SmartListHelper#getListForPage(int)
+     */
+    protected List getListForPage(int pageNumber)
+    {
+        if (pageNumber == this.paginatedList.getPageNumber())
+        {
+            return getListForCurrentPage();
+        }
+        return null;
+    }
+
+    /**
+     * Is this the first page?
+     * @return <code>true</code> if there is no before cursor
+     */
+    private boolean isFirstPage()
+    {
+        return this.paginatedList.getBeforeCursor() == null;
+    }
+
+    /**
+     * Is this the last page?
+     * @return <code>true</code> if there is no after cursor, or no more objects
+     */
+    private boolean isLastPage()
+    {
+        if (this.paginatedList.getAfterCursor() == null)
+        {
+            return true;
+        }
+        Boolean more = this.paginatedList.hasMore();
+        if (more != null)
+        {
+            return !more.booleanValue();
+        }
+        return getListForCurrentPage().size() < this.paginatedList.getObjectsPerPage();
+    }
+
+    /**
+     * Returns the navigation bar. Placeholders in the banner are:
+     * <ul>
+     * <li>{0}: current page, formatted with <code>paging.banner.page.selected</code></li>
+     * <li>{1}: link to the first page</li>
+     * <li>{2}: link to the previous page</li>
+     * <li>{3}: link to the next page</li>
+     * <li>{4}: current page number</li>
+     * </ul>
+     * @see org.displaytag.pagination.SmartListHelper#getPageNavigationBar(org.displaytag.util.Href, java.lang.String)
+     */
+    public String getPageNavigationBar(Href baseHref, String pageParameter)
+    {
+        String beforeParameter = this.properties.getPaginationBeforeParam();
+        String afterParameter = this.properties.getPaginationAfterParam();
+
+        // the current cursors are carried by the base href
+        Href href = (Href) baseHref.clone();
+        href.removeParameter(beforeParameter);
+        href.removeParameter(afterParameter);
+
+        int pageNumber = this.paginatedList.getPageNumber();
+        boolean first = isFirstPage();
+        boolean last = isLastPage();
+
+        Integer currentPage = new Integer(pageNumber);
+        String selectedPage = new MessageFormat(this.properties.getPagingPageSelected(), this.properties.getLocale())
+            .format(new Object[]{currentPage, baseHref.toString()});
+
+        Object[] pageObjects = {
+            selectedPage,
+            first ? null : ((Href) href.clone()).addParameter(pageParameter, 1),
+            first ? null : ((Href) href.clone()).addParameter(pageParameter, Math.max(pageNumber - 1, 1)).addParameter(
+                beforeParameter,
+                this.paginatedList.getBeforeCursor()),
+            last ? null : ((Href) href.clone()).addParameter(pageParameter, pageNumber + 1).addParameter(
+                afterParameter,
+                this.paginatedList.getAfterCursor()),
+            currentPage};
+
+        // format for previous/next banner
+        String bannerFormat;
+
+        if (first && last)
+        {
+            bannerFormat = this.properties.getPagingBannerOnePage();
+        }
+        else if (first)
+        {
+            bannerFormat = this.properties.getPagingBannerKeysetFirst();
+        }
+        else if (last)
+        {
+            bannerFormat = this.properties.getPagingBannerKeysetLast();
+        }
+        else
+        {
+            bannerFormat = this.properties.getPagingBannerKeysetFull();
+        }
+
+        return MessageFormat.format(bannerFormat, pageObjects);
+    }
+
+    /**
+     * @see org.displaytag.pagination.SmartListHelper#getSearchResultsSummary()
+     */
+    public String getSearchResultsSummary()
+    {
+        if (this.paginatedList.getFullListSize() != KeysetPaginatedList.UNKNOWN_SIZE)
+        {
+            return new PaginatedListSmartListHelper(this.paginatedList, this.properties).getSearchResultsSummary();
+        }
+
+        Object[] objs;
+        String message;
+
+        int size = getListForCurrentPage().size();
+
+        // if a single page holds the full list, its size is known
+        boolean onePage = isFirstPage() && isLastPage();
+
+        if (onePage && size == 0)
+        {
+            objs = new Object[]{this.properties.getPagingItemsName()};
+            message = this.properties.getPagingFoundNoItems();
+        }
+        else if (onePage && size == 1)
+        {
+            objs = new Object[]{this.properties.getPagingItemName()};
+            message = this.properties.getPagingFoundOneItem();
+        }
+        else if (onePage)
+        {
+            objs = new Object[]{
+                new Integer(size),
+                this.properties.getPagingItemsName(),
+                this.properties.getPagingItemsName()};
+            message = this.properties.getPagingFoundAllItems();
+        }
+        else
+        {
+            objs = new Object[]{
+                this.properties.getPagingItemsName(),
+                new Integer(getFirstIndexForCurrentPage() + 1),
+                new Integer(getLastIndexForCurrentPage() + 1),
+                new Integer(this.paginatedList.getPageNumber())};
+            message = this.properties.getPagingFoundItemsKeyset();
+        }
+
+        return MessageFormat.format(message, objs);
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    public String toString()
+    {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE) //
+            .append("paginatedList", this.paginatedList) //$NON-NLS-1$
+            .append("properties", this.properties) //$NON-NLS-1$
+            .toString();
+    }
+}
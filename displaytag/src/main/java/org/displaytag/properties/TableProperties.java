@@ -16,6 +16,14 @@
  *
  *  25 July 2014 - Added a property for secured row label
  *  18 October 2019 - Added support for alternate data encodings
+ *  18 October 2026 - Added properties for parallel sorting of large lists
+ *        and for sorting strings on collation keys
+ *  18 October 2026 - Added properties for streaming exports
+ *  18 October 2026 - Added properties for streaming excel exports
+ *  18 October 2026 - Added a property for the export filter buffer size
+ *  18 October 2026 - Added properties for the translation cache
+ *  18 October 2026 - Added properties for keyset pagination
+ *  18 October 2026 - Added a property for the sorted order cache
  *  
  */
  
@@ -97,11 +105,65 @@ public final class TableProperties implements Cloneable
      */
     public static final String PROPERTY_STRING_EXPORTAMOUNT = "export.amount"; //$NON-NLS-1$
 
+    /**
+     * property <code>export.streaming</code>: if true simple text exports (csv, xml, excel) of the full list are
+     * written row by row while iterating on the list, without building the full table model first.
+     */
+    public static final String PROPERTY_BOOLEAN_EXPORT_STREAMING = "export.streaming"; //$NON-NLS-1$
+
+    /**
+     * property <code>export.streaming.flushrows</code>: number of rows after which a streamed export is flushed. 0
+     * disables periodic flushes.
+     */
+    public static final String PROPERTY_INT_EXPORT_STREAMING_FLUSHROWS = "export.streaming.flushrows"; //$NON-NLS-1$
+
+    /**
+     * property <code>export.excel.rowaccesswindow</code>: number of rows kept in memory by streaming (SXSSF) excel
+     * exports, older rows are flushed to a temporary file.
+     */
+    public static final String PROPERTY_INT_EXPORT_EXCEL_ROWACCESSWINDOW = "export.excel.rowaccesswindow"; //$NON-NLS-1$
+
+    /**
+     * property <code>export.excel.compresstempfiles</code>: if true the temporary files of streaming (SXSSF) excel
+     * exports are gzip-compressed.
+     */
+    public static final String PROPERTY_BOOLEAN_EXPORT_EXCEL_COMPRESSTEMPFILES = "export.excel.compresstempfiles"; //$NON-NLS-1$
+
+    /**
+     * property <code>export.buffer.memory</code>: size in KB of the in-memory part of the export filter buffer. Larger
+     * exports are buffered to a temporary file.
+     */
+    public static final String PROPERTY_INT_EXPORT_BUFFER_MEMORY = "export.buffer.memory"; //$NON-NLS-1$
+
     /**
      * property <code>sort.amount</code>.
      */
     public static final String PROPERTY_STRING_SORTAMOUNT = "sort.amount"; //$NON-NLS-1$
 
+    /**
+     * property <code>sort.parallel.threshold</code>: minimum number of rows for sorting the full list in parallel. 0
+     * disables parallel sorting.
+     */
+    public static final String PROPERTY_INT_SORT_PARALLEL_THRESHOLD = "sort.parallel.threshold"; //$NON-NLS-1$
+
+    /**
+     * property <code>sort.collationkeys</code>: if true the default comparator sorts strings on collation keys,
+     * computed once per distinct value, instead of comparing them with the collator each time.
+     */
+    public static final String PROPERTY_BOOLEAN_SORT_COLLATIONKEYS = "sort.collationkeys"; //$NON-NLS-1$
+
+    /**
+     * property <code>sort.cache.size</code>: maximum number of sorted orders of full lists kept in the session, so
+     * that paging through a sorted list does not sort it again. 0 disables the cache.
+     */
+    public static final String PROPERTY_INT_SORT_CACHE_SIZE = "sort.cache.size"; //$NON-NLS-1$
+
+    /**
+     * property <code>translation.cache.size</code>: maximum number of names translated by the display service kept
+     * for each request and locale. 0 disables the cache.
+     */
+    public static final String PROPERTY_INT_TRANSLATION_CACHE_SIZE = "translation.cache.size"; //$NON-NLS-1$
+
     /**
      * property <code>basic.show.header</code>.
      */
@@ -187,6 +249,26 @@ public final class TableProperties implements Cloneable
      */
     public static final String PROPERTY_STRING_PAGING_BANNER_FULL = "paging.banner.full"; //$NON-NLS-1$
 
+    /**
+     * property <code>paging.banner.keyset.items_found</code>.
+     */
+    public static final String PROPERTY_STRING_PAGING_FOUND_ITEMS_KEYSET = "paging.banner.keyset.items_found"; //$NON-NLS-1$
+
+    /**
+     * property <code>paging.banner.keyset.first</code>.
+     */
+    public static final String PROPERTY_STRING_PAGING_BANNER_KEYSET_FIRST = "paging.banner.keyset.first"; //$NON-NLS-1$
+
+    /**
+     * property <code>paging.banner.keyset.last</code>.
+     */
+    public static final String PROPERTY_STRING_PAGING_BANNER_KEYSET_LAST = "paging.banner.keyset.last"; //$NON-NLS-1$
+
+    /**
+     * property <code>paging.banner.keyset.full</code>.
+     */
+    public static final String PROPERTY_STRING_PAGING_BANNER_KEYSET_FULL = "paging.banner.keyset.full"; //$NON-NLS-1$
+
     /**
      * property <code>paging.banner.page.link</code>.
      */
@@ -357,6 +439,18 @@ public final class TableProperties implements Cloneable
      * value of the parameter of the sort direction parameter for "descending"
      */
     public static final String PROPERTY_STRING_PAGINATION_DESC_VALUE = "pagination.sort.desc.value"; //$NON-NLS-1$
+
+    /**
+     * Property <code>pagination.before.param</code>. If keyset pagination is used, it holds the name of the parameter
+     * used to hold the cursor of the first object of the current page in "previous" links
+     */
+    public static final String PROPERTY_STRING_PAGINATION_BEFORE_PARAM = "pagination.before.param"; //$NON-NLS-1$
+
+    /**
+     * Property <code>pagination.after.param</code>. If keyset pagination is used, it holds the name of the parameter
+     * used to hold the cursor of the last object of the current page in "next" links
+     */
+    public static final String PROPERTY_STRING_PAGINATION_AFTER_PARAM = "pagination.after.param"; //$NON-NLS-1$
     
     public static final String PROPERTY_STRING_SECURED_ROW_LABEL = "secured.row.label";
 
@@ -828,6 +922,42 @@ public final class TableProperties implements Cloneable
         return getProperty(PROPERTY_STRING_PAGING_BANNER_FULL);
     }
 
+    /**
+     * Getter for the <code>PROPERTY_STRING_PAGING_FOUND_ITEMS_KEYSET</code> property.
+     * @return String
+     */
+    public String getPagingFoundItemsKeyset()
+    {
+        return getProperty(PROPERTY_STRING_PAGING_FOUND_ITEMS_KEYSET);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_STRING_PAGING_BANNER_KEYSET_FIRST</code> property.
+     * @return String
+     */
+    public String getPagingBannerKeysetFirst()
+    {
+        return getProperty(PROPERTY_STRING_PAGING_BANNER_KEYSET_FIRST);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_STRING_PAGING_BANNER_KEYSET_LAST</code> property.
+     * @return String
+     */
+    public String getPagingBannerKeysetLast()
+    {
+        return getProperty(PROPERTY_STRING_PAGING_BANNER_KEYSET_LAST);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_STRING_PAGING_BANNER_KEYSET_FULL</code> property.
+     * @return String
+     */
+    public String getPagingBannerKeysetFull()
+    {
+        return getProperty(PROPERTY_STRING_PAGING_BANNER_KEYSET_FULL);
+    }
+
     /**
      * Getter for the <code>PROPERTY_STRING_PAGING_PAGE_LINK</code> property.
      * @return String
@@ -991,6 +1121,51 @@ public final class TableProperties implements Cloneable
         return "list".equals(getProperty(PROPERTY_STRING_EXPORTAMOUNT)); //$NON-NLS-1$
     }
 
+    /**
+     * Getter for the <code>PROPERTY_BOOLEAN_EXPORT_STREAMING</code> property.
+     * @return boolean <code>true</code> if exports should be streamed when possible
+     */
+    public boolean getExportStreaming()
+    {
+        return getBooleanProperty(PROPERTY_BOOLEAN_EXPORT_STREAMING);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_INT_EXPORT_STREAMING_FLUSHROWS</code> property.
+     * @return int number of rows between flushes of a streamed export, 0 if periodic flushes are disabled
+     */
+    public int getExportStreamingFlushRows()
+    {
+        return getIntProperty(PROPERTY_INT_EXPORT_STREAMING_FLUSHROWS, 0);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_INT_EXPORT_EXCEL_ROWACCESSWINDOW</code> property.
+     * @return int number of rows kept in memory by streaming excel exports
+     */
+    public int getExportExcelRowAccessWindow()
+    {
+        return getIntProperty(PROPERTY_INT_EXPORT_EXCEL_ROWACCESSWINDOW, 100);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_BOOLEAN_EXPORT_EXCEL_COMPRESSTEMPFILES</code> property.
+     * @return boolean <code>true</code> if the temporary files of streaming excel exports are compressed
+     */
+    public boolean getExportExcelCompressTempFiles()
+    {
+        return getBooleanProperty(PROPERTY_BOOLEAN_EXPORT_EXCEL_COMPRESSTEMPFILES);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_INT_EXPORT_BUFFER_MEMORY</code> property.
+     * @return int size in KB of the in-memory part of the export filter buffer
+     */
+    public int getExportBufferMemory()
+    {
+        return getIntProperty(PROPERTY_INT_EXPORT_BUFFER_MEMORY, 1024);
+    }
+
     /**
      * Getter for the <code>PROPERTY_STRING_SORTAMOUNT</code> property.
      * @return boolean <code>true</code> if <code>sort.amount</code> is <code>list</code>
@@ -1000,6 +1175,42 @@ public final class TableProperties implements Cloneable
         return "list".equals(getProperty(PROPERTY_STRING_SORTAMOUNT)); //$NON-NLS-1$
     }
 
+    /**
+     * Getter for the <code>PROPERTY_INT_SORT_PARALLEL_THRESHOLD</code> property.
+     * @return int minimum number of rows for a parallel sort, 0 if parallel sorting is disabled
+     */
+    public int getSortParallelThreshold()
+    {
+        return getIntProperty(PROPERTY_INT_SORT_PARALLEL_THRESHOLD, 0);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_INT_SORT_CACHE_SIZE</code> property.
+     * @return int maximum number of sorted orders kept in the session, 0 if the cache is disabled
+     */
+    public int getSortCacheSize()
+    {
+        return getIntProperty(PROPERTY_INT_SORT_CACHE_SIZE, 0);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_INT_TRANSLATION_CACHE_SIZE</code> property.
+     * @return int maximum number of translated names kept for each request and locale, 0 if the cache is disabled
+     */
+    public int getTranslationCacheSize()
+    {
+        return getIntProperty(PROPERTY_INT_TRANSLATION_CACHE_SIZE, 0);
+    }
+
+    /**
+     * Getter for the <code>PROPERTY_BOOLEAN_SORT_COLLATIONKEYS</code> property.
+     * @return boolean <code>true</code> if the default comparator should sort strings on collation keys
+     */
+    public boolean getSortUsingCollationKeys()
+    {
+        return getBooleanProperty(PROPERTY_BOOLEAN_SORT_COLLATIONKEYS);
+    }
+
     /**
      * Should paging banner be added before the table?
      * @return boolean
@@ -1216,6 +1427,26 @@ public final class TableProperties implements Cloneable
         return result;
     }
 
+    public String getPaginationBeforeParam()
+    {
+        String result = getProperty(PROPERTY_STRING_PAGINATION_BEFORE_PARAM);
+        if (result == null)
+        {
+            result = "before";
+        }
+        return result;
+    }
+
+    public String getPaginationAfterParam()
+    {
+        String result = getProperty(PROPERTY_STRING_PAGINATION_AFTER_PARAM);
+        if (result == null)
+        {
+            result = "after";
+        }
+        return result;
+    }
+
     public String getSecuredRowLabel()
     {
     	String result = getProperty(PROPERTY_STRING_SECURED_ROW_LABEL);
@@ -1425,6 +1656,6 @@ public final class TableProperties implements Cloneable
                         e.getMessage()}));
             }
         }
-        return new DefaultComparator(Collator.getInstance(getLocale()));
+        return new DefaultComparator(Collator.getInstance(getLocale()), getSortUsingCollationKeys());
     }
 }
\ No newline at end of file
@@ -20,6 +20,15 @@
  *
  *  28 April 2013 - Added ability to customize set of columns
  *        and their order.  
+ *
+ *  18 October 2026 - Row and cell open tags are written directly to the
+ *        JspWriter.
+ *  18 October 2026 - Table decorator rows are written directly to the
+ *        JspWriter.
+ *  18 October 2026 - Sort links of keyset paginated lists go back to the
+ *        first page.
+ *  18 October 2026 - Cell values of columns which are not grouped are
+ *        written directly to the JspWriter.
  */
 package org.displaytag.render;
 
@@ -44,6 +53,7 @@ import org.displaytag.model.CustomColumnData;
 import org.displaytag.model.HeaderCell;
 import org.displaytag.model.Row;
 import org.displaytag.model.TableModel;
+import org.displaytag.pagination.KeysetPaginatedList;
 import org.displaytag.pagination.PaginatedList;
 import org.displaytag.pagination.SmartListHelper;
 import org.displaytag.properties.MediaTypeEnum;
@@ -330,7 +340,14 @@ public class HtmlTableWriter extends TableWriterAdapter
      */
     protected void writeDecoratedRowStart(TableModel model)
     {
-        this.write(model.getTableDecorator().startRow());
+        try
+        {
+            model.getTableDecorator().startRow(this.out);
+        }
+        catch (IOException e)
+        {
+            throw new WrappedRuntimeException(getClass(), e);
+        }
     }
 
     /**
@@ -339,7 +356,14 @@ public class HtmlTableWriter extends TableWriterAdapter
      */
     protected void writeRowOpener(Row row)
     {
-        this.write(row.getOpenTag());
+        try
+        {
+            row.writeOpenTag(this.out);
+        }
+        catch (IOException e)
+        {
+            throw new WrappedRuntimeException(getClass(), e);
+        }
     }
 
     /**
@@ -348,7 +372,14 @@ public class HtmlTableWriter extends TableWriterAdapter
      */
     protected void writeColumnOpener(Column column) throws ObjectLookupException, DecoratorException
     {
-        this.write(column.getOpenTag());
+        try
+        {
+            column.writeOpenTag(this.out);
+        }
+        catch (IOException e)
+        {
+            throw new WrappedRuntimeException(getClass(), e);
+        }
     }
 
     /**
@@ -385,7 +416,14 @@ public class HtmlTableWriter extends TableWriterAdapter
      */
     protected void writeDecoratedRowFinish(TableModel model)
     {
-        this.write(model.getTableDecorator().finishRow());
+        try
+        {
+            model.getTableDecorator().finishRow(this.out);
+        }
+        catch (IOException e)
+        {
+            throw new WrappedRuntimeException(getClass(), e);
+        }
     }
 
     /**
@@ -398,12 +436,25 @@ public class HtmlTableWriter extends TableWriterAdapter
     }
 
     /**
-     * Writes a HTML table column value to a JSP page.
+     * Writes a HTML table column value to a JSP page. A null value is written by the column itself.
      * @see org.displaytag.render.TableWriterTemplate#writeColumnValue(java.lang.String,org.displaytag.model.Column)
      */
     protected void writeColumnValue(Object value, Column column)
     {
-        this.write(value);
+        if (value != null)
+        {
+            this.write(value);
+            return;
+        }
+
+        try
+        {
+            column.writeChoppedAndLinkedValue(this.out);
+        }
+        catch (IOException e)
+        {
+            throw new WrappedRuntimeException(getClass(), e);
+        }
     }
 
     /**
@@ -725,11 +776,18 @@ public class HtmlTableWriter extends TableWriterAdapter
         }
         else
         {
-            if (properties.getPaginationSkipPageNumberInSort())
+            if (properties.getPaginationSkipPageNumberInSort() || paginatedList instanceof KeysetPaginatedList)
             {
                 href.removeParameter(properties.getPaginationPageNumberParam());
             }
 
+            // cursors are only valid for the current sort
+            if (paginatedList instanceof KeysetPaginatedList)
+            {
+                href.removeParameter(properties.getPaginationBeforeParam());
+                href.removeParameter(properties.getPaginationAfterParam());
+            }
+
             String sortProperty = headerCell.getSortProperty();
             if (sortProperty == null)
             {
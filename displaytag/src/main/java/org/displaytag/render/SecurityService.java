@@ -24,12 +24,18 @@
  * 29 July 2014
  * Refactored to use a "securedForUser" property rather than interpreting a specific
  * record number as meaning "secured".
+ *
+ * 18 October 2026
+ * The getSecuredForUser accessor is resolved once per class to a method handle, in a
+ * registry shared by all requests.
  */
  
 package org.displaytag.render;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -37,51 +43,84 @@ import org.apache.commons.logging.LogFactory;
 public class SecurityService {
 
 	private static Log log = LogFactory.getLog(SecurityService.class);
-	
-	private Method recnumMethod;
-	private HashMap<Class<?>, Method> recnumMethods = new HashMap<Class<?>, Method>();
-	
+
+	/**
+	 * Accessor signature: <code>Object getSecuredForUser(Object row)</code>.
+	 */
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	/**
+	 * Placeholder for classes without a getSecuredForUser method.
+	 */
+	private static final MethodHandle NO_ACCESSOR = MethodHandles.constant(Object.class, null);
+
+	/**
+	 * getSecuredForUser accessors, resolved once per class and shared by all the services. Attached to the class so
+	 * that entries go away with their classloader.
+	 */
+	private static final ClassValue<MethodHandle> ACCESSORS = new ClassValue<MethodHandle>() {
+
+		protected MethodHandle computeValue(Class<?> type) {
+			return resolveAccessor(type);
+		}
+	};
+
+	private final boolean securable;
+
 	public SecurityService(Class<?> cl) {
-		recnumMethod = getRecnumMethod(cl);
+		securable = ACCESSORS.get(cl) != NO_ACCESSOR;
 		if (log.isDebugEnabled()) {
 			log.debug("creating security service for class:" + cl.toString());
-			log.debug("recnumMethod = " + recnumMethod);
+			log.debug("securable = " + securable);
 		}
 	}
-	
+
 	public boolean classIsSecurable() {
-		return recnumMethod != null;
+		return securable;
 	}
-	
+
 	public boolean isRowSecured(Object rowObject) {
-		if (rowObject != null && recnumMethod != null) {
+		if (rowObject != null && securable) {
+			MethodHandle accessor = ACCESSORS.get(rowObject.getClass());
+			if (accessor == NO_ACCESSOR) {
+				// a row without the method is treated as secured, when the service has been created for a securable class
+				return true;
+			}
 			try {
-				Boolean securedForuser = (Boolean) getRecnumMethod(rowObject.getClass()).invoke(rowObject);
+				Boolean securedForuser = (Boolean) (Object) accessor.invokeExact(rowObject);
 	            if (securedForuser != null && securedForuser.booleanValue() == true) {
 	            	return true;
 	            }
-            } catch (Exception e) {
-				log.warn("Exception calling getSecuredForUser method on " + rowObject.getClass());
+			} catch (Error e) {
+				throw e;
+            } catch (Throwable e) {
+				log.warn("Exception calling getSecuredForUser method on " + rowObject.getClass(), e);
             	return true;
             }
 		}
-		
+
 		return false;
 	}
-	
-	private Method getRecnumMethod(Class<?> c) {
-		if (recnumMethods.containsKey(c)) {
-			return recnumMethods.get(c);
-		}
+
+	/**
+	 * Looks up the getSecuredForUser method of a class.
+	 * @param c row class
+	 * @return accessor handle, <code>NO_ACCESSOR</code> if the class has no such method
+	 */
+	private static MethodHandle resolveAccessor(Class<?> c) {
         Method[] methods = c.getMethods();
         for (int i = 0; i < methods.length; i++) {
-        	String methodName = methods[i].getName();
-        	if ("getSecuredForUser".equals(methodName)) {
-        		recnumMethods.put(c, methods[i]);
-        		return methods[i];
+        	if ("getSecuredForUser".equals(methods[i].getName()) && methods[i].getParameterTypes().length == 0) {
+        		try {
+        			// public methods of non public classes are not accessible through a public lookup
+        			methods[i].setAccessible(true);
+        			return MethodHandles.lookup().unreflect(methods[i]).asType(ACCESSOR_TYPE);
+        		} catch (Exception e) {
+        			log.warn("Unable to access getSecuredForUser method on " + c, e);
+        		}
         	}
         }
-        return null;
+        return NO_ACCESSOR;
     }
 
 }
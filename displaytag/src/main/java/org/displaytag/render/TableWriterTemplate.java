@@ -22,23 +22,29 @@
  *
  *   5 Jan 2017 - Solve DISPL-611: Column text should not be abbreviated
  *        in pdf/excel export when maxLength is set.
+ *
+ *  18 October 2026 - render the table body on a ring buffer of three reusable
+ *        cell arrays indexed by column position instead of per-row maps.
+ *
+ *  18 October 2026 - html values of columns which are not grouped are not
+ *        built as a String, the column writes them.
+ *
+ *  18 October 2026 - each slot of the ring buffer keeps one Column per
+ *        position, reset for every row.
  *  
  */
  
 package org.displaytag.render;
 
 import java.text.MessageFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import javax.servlet.jsp.JspException;
 import org.apache.commons.lang.ObjectUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.displaytag.decorator.TableDecorator;
+import org.displaytag.model.Cell;
 import org.displaytag.model.Column;
-import org.displaytag.model.ColumnIterator;
 import org.displaytag.model.HeaderCell;
 import org.displaytag.model.Row;
 import org.displaytag.model.RowIterator;
@@ -283,86 +289,53 @@ public abstract class TableWriterTemplate
 
         // iterator on rows
         TableDecorator tableDecorator = model.getTableDecorator();
-        Row previousRow = null;
+        List headerCellList = model.getHeaderCellList();
+        HeaderCell[] headers = (HeaderCell[]) headerCellList.toArray(new HeaderCell[headerCellList.size()]);
+        boolean html = MediaTypeEnum.HTML.equals(model.getMedia());
+
+        // sliding window on previous, current and next row, cells indexed by column position. The three slots, and
+        // their columns, are allocated once and reused while moving through the list.
+        CellStruct[][] window = new CellStruct[3][headers.length];
+        for (int k = 0; k < window.length; k++)
+        {
+            for (int j = 0; j < headers.length; j++)
+            {
+                window[k][j] = new CellStruct(new Column(headers[j], Cell.EMPTY_CELL, null), null);
+            }
+        }
+
+        if (log.isDebugEnabled())
+        {
+            log.debug(" creating columns on " + headerCellList);
+        }
+
+        int currentSlot = 0;
         Row currentRow = null;
         Row nextRow = null;
-        Map previousRowValues = new HashMap(10);
-        Map currentRowValues = new HashMap(10);
-        Map nextRowValues = new HashMap(10);
+        if (rowIterator.hasNext())
+        {
+            nextRow = rowIterator.next();
+            readRowValues(nextRow, window[1], html);
+        }
 
-        while (nextRow != null || rowIterator.hasNext())
+        while (nextRow != null)
         {
-            // The first pass
-            if (currentRow == null)
-            {
-                currentRow = rowIterator.next();
-            }
-            else
-            {
-                previousRow = currentRow;
-                currentRow = nextRow;
-            }
+            boolean first = currentRow == null;
+            currentRow = nextRow;
+            currentSlot = (currentSlot + 1) % 3;
 
-            if (previousRow != null)
-            {
-                previousRowValues.putAll(currentRowValues);
-            }
-            if (!nextRowValues.isEmpty())
-            {
-                currentRowValues.putAll(nextRowValues);
-            }
-            // handle the first pass
-            else
-            {
-                ColumnIterator columnIterator = currentRow.getColumnIterator(model.getHeaderCellList());
-                
-                // iterator on columns
-                if (log.isDebugEnabled())
-                {
-                    log.debug(" creating ColumnIterator on " + model.getHeaderCellList());
-                }
-                while (columnIterator.hasNext())
-                {
-                    Column column = columnIterator.nextColumn();
-
-                    // Get the value to be displayed for the column
-                    column.initialize();
-                    // DISPL-611
-                    String cellvalue = MediaTypeEnum.HTML.equals(model.getMedia())
-                            ? column.getChoppedAndLinkedValue()
-                            : ObjectUtils.toString(column.getValue(true));
-                    CellStruct struct = new CellStruct(column, cellvalue);
-                    // end DISPL-611
-                    currentRowValues.put(new Integer(column.getHeaderCell().getColumnNumber()), struct);
-                }
-            }
+            CellStruct[] currentRowValues = window[currentSlot];
+            CellStruct[] previousRowValues = first ? null : window[(currentSlot + 2) % 3];
+            CellStruct[] nextRowValues = null;
 
-            nextRowValues.clear();
             // Populate the next row values
             nextRow = rowIterator.hasNext() ? rowIterator.next() : null;
             if (nextRow != null)
             {
-                ColumnIterator columnIterator = nextRow.getColumnIterator(model.getHeaderCellList());
-
-                // iterator on columns
-                if (log.isDebugEnabled())
-                {
-                    log.debug(" creating ColumnIterator on " + model.getHeaderCellList());
-                }
-                while (columnIterator.hasNext())
-                {
-                    Column column = columnIterator.nextColumn();
-                    column.initialize();
-                    // Get the value to be displayed for the column
-                    // DISPL-611
-                    String cellvalue = MediaTypeEnum.HTML.equals(model.getMedia())
-                            ? column.getChoppedAndLinkedValue()
-                            : ObjectUtils.toString(column.getValue(true));
-                    CellStruct struct = new CellStruct(column, cellvalue);
-                    // end DISPL-611
-                    nextRowValues.put(new Integer(column.getHeaderCell().getColumnNumber()), struct);
-                }
+                nextRowValues = window[(currentSlot + 1) % 3];
+                readRowValues(nextRow, nextRowValues, html);
             }
+
             // now we are going to create the current row; reset the decorator to the current row
             if (tableDecorator != null)
             {
@@ -370,25 +343,20 @@ public abstract class TableWriterTemplate
                     + rowIterator.getPageOffset());
             }
 
-            Iterator headerCellsIter = model.getHeaderCellList().iterator();
-            ArrayList structsForRow = new ArrayList(model.getHeaderCellList().size());
             lowestEndedGroup = NO_RESET_GROUP;
             lowestStartedGroup = NO_RESET_GROUP;
-            while (headerCellsIter.hasNext())
+            for (int j = 0; j < headers.length; j++)
             {
-                HeaderCell header = (HeaderCell) headerCellsIter.next();
+                HeaderCell header = headers[j];
 
                 // Get the value to be displayed for the column
-                CellStruct struct = (CellStruct) currentRowValues.get(new Integer(header.getColumnNumber()));
+                CellStruct struct = currentRowValues[j];
                 struct.decoratedValue = struct.bodyValue;
                 // Check and see if there is a grouping transition. If there is, then notify the decorator
                 if (header.getGroup() != -1)
                 {
-                    CellStruct prior = (CellStruct) previousRowValues.get(new Integer(header.getColumnNumber()));
-                    CellStruct next = (CellStruct) nextRowValues.get(new Integer(header.getColumnNumber()));
-                    // Why npe?
-                    String priorBodyValue = prior != null ? prior.bodyValue : null;
-                    String nextBodyValue = next != null ? next.bodyValue : null;
+                    String priorBodyValue = previousRowValues != null ? previousRowValues[j].bodyValue : null;
+                    String nextBodyValue = nextRowValues != null ? nextRowValues[j].bodyValue : null;
                     short groupingValue = groupColumns(struct.bodyValue,
                             priorBodyValue, nextBodyValue, header.getGroup());
 
@@ -420,7 +388,6 @@ public abstract class TableWriterTemplate
                         struct.decoratedValue = TagConstants.EMPTY_STRING;
                     }
                 }
-                structsForRow.add(struct);
             }
 
             if (tableDecorator != null)
@@ -430,9 +397,9 @@ public abstract class TableWriterTemplate
             // open row
             writeRowOpener(currentRow);
 
-            for (Iterator iterator = structsForRow.iterator(); iterator.hasNext();)
+            for (int j = 0; j < currentRowValues.length; j++)
             {
-                CellStruct struct = (CellStruct) iterator.next();
+                CellStruct struct = currentRowValues[j];
                 writeColumnOpener(struct.column);
                 writeColumnValue(struct.decoratedValue, struct.column);
                 writeColumnCloser(struct.column);
@@ -466,6 +433,42 @@ public abstract class TableWriterTemplate
         }
     }
 
+    /**
+     * Evaluates the cells of a row into a slot of the writeTableBody window. The columns of the slot are reset to the
+     * row, no Column is created.
+     * @param row row to evaluate
+     * @param values slot to fill, one CellStruct for each column position
+     * @param html <code>true</code> if rendering HTML (chopped and linked values, only kept as a String for grouped
+     * columns: the others are written by the column)
+     * @throws Exception if an error is encountered while evaluating the cells.
+     */
+    private void readRowValues(Row row, CellStruct[] values, boolean html) throws Exception
+    {
+        // cells are looked up by column number, as the header cell list is reversed for rtl exports
+        List cells = row.getCellList();
+        for (int j = 0; j < values.length; j++)
+        {
+            Column column = values[j].column;
+            int columnNumber = column.getHeaderCell().getColumnNumber();
+            column.reset(columnNumber < cells.size() ? (Cell) cells.get(columnNumber) : Cell.EMPTY_CELL, row);
+
+            // Get the value to be displayed for the column
+            column.initialize();
+            // DISPL-611
+            String cellvalue;
+            if (html)
+            {
+                cellvalue = column.getHeaderCell().getGroup() != -1 ? column.getChoppedAndLinkedValue() : null;
+            }
+            else
+            {
+                cellvalue = ObjectUtils.toString(column.getValue(true));
+            }
+            values[j].reset(column, cellvalue);
+            // end DISPL-611
+        }
+    }
+
     /*
      * writeTableBody callback methods
      */
@@ -493,7 +496,7 @@ public abstract class TableWriterTemplate
 
     /**
      * Called by writeTableBody to write a column's value.
-     * @param value The column value.
+     * @param value The column value, null in html for a column which is not grouped: the column writes its own value.
      * @param column The table column for which the content is written.
      * @throws Exception if it encounters an error while writing.
      */
@@ -584,5 +587,12 @@ public abstract class TableWriterTemplate
             this.column = theColumn;
             this.bodyValue = bodyValueParam;
         }
+
+        void reset(Column theColumn, String bodyValueParam)
+        {
+            this.column = theColumn;
+            this.bodyValue = bodyValueParam;
+            this.decoratedValue = null;
+        }
     }
 }
@@ -36,6 +36,8 @@
  *
  *   2 April 2021 - Added support for columns (such as initial checkbox column) that
  *        should not be treated as "customizable" regarding column order or sort.
+ *
+ *  18 October 2026 - Added the "exactTotal" attribute.
  */
 package org.displaytag.tags;
 
@@ -261,6 +263,11 @@ public class ColumnTag extends BodyTagSupport implements MediaUtil.SupportsMedia
      */
     private boolean totaled;
 
+    /**
+     * Should the total be computed with BigDecimal?
+     */
+    private boolean exactTotal;
+
     /**
      * Static value for this cell, equivalent to column body.
      */
@@ -291,6 +298,15 @@ public class ColumnTag extends BodyTagSupport implements MediaUtil.SupportsMedia
         this.totaled = totals;
     }
 
+    /**
+     * Setter for exactTotal.
+     * @param exact the value
+     */
+    public void setExactTotal(boolean exact)
+    {
+        this.exactTotal = exact;
+    }
+
     /**
      * setter for the "property" tag attribute.
      * @param value attribute value
@@ -829,6 +845,7 @@ public class ColumnTag extends BodyTagSupport implements MediaUtil.SupportsMedia
     	headerCell.setSortProperty(newSortProperty);
 
         headerCell.setTotaled(this.totaled);
+        headerCell.setExactTotal(this.exactTotal);
 
         // DISPL-242: handle grouped title if necessary.
         String evalGroupTitle = null;
@@ -967,6 +984,7 @@ public class ColumnTag extends BodyTagSupport implements MediaUtil.SupportsMedia
         this.format = null;
         this.value = null;
         this.totaled = false;
+        this.exactTotal = false;
     }
 
     /**
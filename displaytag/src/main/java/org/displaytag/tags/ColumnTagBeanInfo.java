@@ -21,6 +21,8 @@
  *  31 July 2020 - Added support for columns (such as initial checkbox column)
  *        that should not be treated as "configurable" as to 
  *        order/position or sorting.
+ *
+ *  18 October 2026 - Added the "exactTotal" attribute.
  */
 package org.displaytag.tags;
 
@@ -151,6 +153,10 @@ public class ColumnTagBeanInfo extends SimpleBeanInfo
                 ColumnTag.class,
                 null,
                 "setTotal")); //$NON-NLS-1$
+            proplist.add(new PropertyDescriptor("exactTotal", //$NON-NLS-1$
+                ColumnTag.class,
+                null,
+                "setExactTotal")); //$NON-NLS-1$
             proplist.add(new PropertyDescriptor("comparator", //$NON-NLS-1$
                 ColumnTag.class,
                 null,
@@ -26,6 +26,12 @@
  *        table customization
  *
  *  28 Oct 2020 - Added abiliy to set sort order in column  
+ *
+ *  18 October 2026 - Custom field and linked table values of the rows being
+ *        written can be read in bulk from the custom grid query service.
+ *
+ *  18 October 2026 - Parsed table configurations are cached by table,
+ *        customization and version or content hash.
  */
 
 package org.displaytag.tags;
@@ -33,6 +39,10 @@ package org.displaytag.tags;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -68,8 +78,41 @@ public class DataGridCustomiztionUtil {
 	static Method linkedTableGetterMethod = null;
 	static String linkedTableGetterMethodName = "findLinkedFieldValue";
 	
+	static Method customFieldsBulkGetterMethod = null;
+	static String customFieldsBulkGetterMethodName = "findCustomFieldValues";
+	
+	static Method linkedTableBulkGetterMethod = null;
+	static String linkedTableBulkGetterMethodName = "findLinkedFieldValues";
+	
 	static Object customGridQueryService;
+	
+	/**
+	 * Returned by getPrefetchedValue when a value has not been prefetched.
+	 */
+	private static final Object NOT_PREFETCHED = new Object();
+	
+	/**
+	 * Values prefetched for the table being written by the current thread.
+	 */
+	private static final ThreadLocal<PrefetchedValues> prefetchedValues = new ThreadLocal<PrefetchedValues>();
 
+	/**
+	 * Maximum number of parsed table configurations kept in the cache.
+	 */
+	private static final int MAX_CACHED_CUSTOMIZATIONS = 1000;
+	
+	/**
+	 * Parsed table configurations by table uid and customization recnum, the least recently used is discarded first.
+	 */
+	private static final Map<String, CachedCustomization> customizationCache = new LinkedHashMap<String, CachedCustomization>(16, 0.75f, true) {
+		
+		private static final long serialVersionUID = 1L;
+		
+		protected boolean removeEldestEntry(Map.Entry<String, CachedCustomization> eldest) {
+			return size() > MAX_CACHED_CUSTOMIZATIONS;
+		}
+	};
+	
 	public static CustomTableData readCustomizations(PageContext pageContext, TableTag tableTag) {
 		String tableTagId = tableTag.getUid();
 		
@@ -84,13 +127,10 @@ public class DataGridCustomiztionUtil {
 				for (Map.Entry<String, JsonElement> entry : customizations.entrySet()) {
 					
 					// key is tableIdAttribute-customGridRecnum, set in CustomGridQueryServiceImpl->findCustomGridConfigurations
-					String[] ids = entry.getKey().split("-");
-					if (ids.length == 2 && ids[0] != null && ids[1] != null 
-						&& StringUtils.equals(tableTagId, ids[0]) && NumberUtils.toLong(ids[1]) != -1) {
-						
-						if (entry.getValue() != null) {
-							return new CustomTableData(NumberUtils.toLong(ids[1]), entry.getValue().getAsJsonObject());
-						}
+					String key = entry.getKey();
+					long recnum = getCustomizationRecnum(key, tableTagId);
+					if (recnum != -1 && entry.getValue() != null) {
+						return getCustomTableData(key, recnum, entry.getValue().getAsJsonObject());
 					}
 				}
 			}
@@ -98,6 +138,89 @@ public class DataGridCustomiztionUtil {
 		return null;
 	}
 	
+	/**
+	 * Reads the customization recnum from a key of the custom grid configurations, if the key is for the given table.
+	 * @param key tableIdAttribute-customGridRecnum
+	 * @param tableUid table uid
+	 * @return customization recnum, -1 if the key is not for the table
+	 */
+	static long getCustomizationRecnum(String key, String tableUid) {
+		int separator = key.indexOf('-');
+		if (tableUid != null && separator == tableUid.length() && key.startsWith(tableUid)
+			&& separator < key.length() - 1 && key.indexOf('-', separator + 1) == -1) {
+			return NumberUtils.toLong(key.substring(separator + 1));
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns a copy of the parsed configuration of a table. Configurations are parsed once for each version, read from
+	 * the optional <code>version</code> member of the JSON configuration. Configurations without a version are parsed
+	 * once for each content, using a hash of the JSON configuration as version.
+	 * @param key table uid and customization recnum
+	 * @param recnum customization recnum
+	 * @param tableCustomization JSON configuration
+	 * @return CustomTableData, a copy that can be updated while rendering the table
+	 */
+	static CustomTableData getCustomTableData(String key, long recnum, JsonObject tableCustomization) {
+		JsonElement versionElement = tableCustomization.get("version");
+		String version = versionElement != null && versionElement.isJsonPrimitive() ? versionElement.getAsString() : null;
+		if (version == null) {
+			// a saved layout changes the content of the configuration
+			version = "#" + tableCustomization.toString().hashCode();
+		}
+		
+		CachedCustomization cached;
+		synchronized (customizationCache) {
+			cached = customizationCache.get(key);
+		}
+		if (cached == null || !StringUtils.equals(cached.version, version)) {
+			cached = new CachedCustomization(version, new CustomTableData(recnum, tableCustomization));
+			synchronized (customizationCache) {
+				customizationCache.put(key, cached);
+			}
+		}
+		return new CustomTableData(cached.tableData);
+	}
+	
+	/**
+	 * Discards the cached configurations of a table, for example when a grid layout is saved without a new version.
+	 * @param tableUid table uid
+	 */
+	public static void invalidateCustomizations(String tableUid) {
+		synchronized (customizationCache) {
+			for (Iterator<String> it = customizationCache.keySet().iterator(); it.hasNext(); ) {
+				if (getCustomizationRecnum(it.next(), tableUid) != -1) {
+					it.remove();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Discards all the cached table configurations.
+	 */
+	public static void invalidateAllCustomizations() {
+		synchronized (customizationCache) {
+			customizationCache.clear();
+		}
+	}
+	
+	/**
+	 * A parsed table configuration and the version it was parsed from. Never handed out, only copies are.
+	 */
+	private static class CachedCustomization {
+		
+		private final String version;
+		
+		private final CustomTableData tableData;
+		
+		CachedCustomization(String version, CustomTableData tableData) {
+			this.version = version;
+			this.tableData = tableData;
+		}
+	}
+	
 	public static Object getDisplayValue(Object object) {
 		if (entityFieldGetterMethod != null) {
 			try {
@@ -110,6 +233,10 @@ public class DataGridCustomiztionUtil {
 	}
 	
 	public static Object findCustomFieldValue(Object object, String customField) {
+		Object prefetched = getPrefetchedValue(object, customField);
+		if (prefetched != NOT_PREFETCHED) {
+			return prefetched;
+		}
 		if (customFieldGetterMethod != null) {
 			try {
 				return customFieldGetterMethod.invoke(customGridQueryService, object, customField);
@@ -121,20 +248,13 @@ public class DataGridCustomiztionUtil {
 	}
 	
 	public static Object findLinkedTableFieldValue(Object object, String linkedField) {
+		Object prefetched = getPrefetchedValue(object, linkedField);
+		if (prefetched != NOT_PREFETCHED) {
+			return formatLinkedTableFieldValue(prefetched);
+		}
 		if (linkedTableGetterMethod != null) {
 			try {
-				Object result = linkedTableGetterMethod.invoke(customGridQueryService, object, linkedField);
-				if (result != null) {
-					if (result instanceof List) {
-						StringBuilder builder = new StringBuilder();
-						List resultList = (List) result;
-						for (Object entry : resultList) {
-							builder.append("<div class='custom_grid'>").append(entry).append("</div>");
-						}
-						return builder.toString();
-					} else 
-						return result;
-				}
+				return formatLinkedTableFieldValue(linkedTableGetterMethod.invoke(customGridQueryService, object, linkedField));
 			} catch (Exception e) {
 				log.error(e.getMessage());
 			}
@@ -142,6 +262,132 @@ public class DataGridCustomiztionUtil {
 		return null;
 	}
 	
+	private static Object formatLinkedTableFieldValue(Object result) {
+		if (result instanceof List) {
+			StringBuilder builder = new StringBuilder();
+			List resultList = (List) result;
+			for (Object entry : resultList) {
+				builder.append("<div class='custom_grid'>").append(entry).append("</div>");
+			}
+			return builder.toString();
+		}
+		return result;
+	}
+	
+	/**
+	 * Tells if the values of a column property can be read in bulk: a custom field (<code>CF_*</code>) of the row
+	 * object or a linked table field (<code>[collection].field</code>).
+	 * @param property column property
+	 * @return true if the property is a custom or linked table field
+	 */
+	public static boolean isBulkResolvable(String property) {
+		return isLinkedTableField(property) || isCustomField(property);
+	}
+	
+	private static boolean isLinkedTableField(String property) {
+		return property.indexOf("[") != -1 && property.indexOf("].") != -1;
+	}
+	
+	private static boolean isCustomField(String property) {
+		return StringUtils.upperCase(property).startsWith("CF_") && StringUtils.indexOfAny(property, ".[(") == -1;
+	}
+	
+	/**
+	 * Reads in bulk the custom field and linked table values of the given rows, through the
+	 * <code>findCustomFieldValues(List, List)</code> and <code>findLinkedFieldValues(List, List)</code> methods of the
+	 * custom grid query service. Both return a matrix of values, one line per object and one column per field. The
+	 * values are then used by findCustomFieldValue and findLinkedTableFieldValue for the current thread, until
+	 * clearPrefetchedValues is called. Values which have not been prefetched are still read one by one.
+	 * @param objects row objects
+	 * @param properties column properties, see isBulkResolvable
+	 * @return true if values have been prefetched
+	 */
+	public static boolean prefetchFieldValues(List objects, List<String> properties) {
+		if (customGridQueryService == null || objects.isEmpty()) {
+			return false;
+		}
+		List<String> customFields = new ArrayList<String>();
+		List<String> linkedFields = new ArrayList<String>();
+		for (String property : properties) {
+			if (isLinkedTableField(property)) {
+				linkedFields.add(property);
+			} else if (isCustomField(property)) {
+				customFields.add(property);
+			}
+		}
+		
+		PrefetchedValues values = new PrefetchedValues(objects);
+		boolean found = values.addColumns(customFieldsBulkGetterMethod, customFields);
+		found = values.addColumns(linkedTableBulkGetterMethod, linkedFields) || found;
+		if (found) {
+			prefetchedValues.set(values);
+		}
+		return found;
+	}
+	
+	/**
+	 * Discards the values read by prefetchFieldValues.
+	 */
+	public static void clearPrefetchedValues() {
+		prefetchedValues.remove();
+	}
+	
+	private static Object getPrefetchedValue(Object object, String field) {
+		PrefetchedValues values = prefetchedValues.get();
+		return values != null ? values.get(object, field) : NOT_PREFETCHED;
+	}
+	
+	/**
+	 * Values read in bulk, by row object (identity) and field.
+	 */
+	private static class PrefetchedValues {
+		
+		private final List objects;
+		
+		private final Map<Object, Integer> rowIndexes;
+		
+		private final Map<String, Object[]> columns = new HashMap<String, Object[]>();
+		
+		PrefetchedValues(List objects) {
+			this.objects = objects;
+			this.rowIndexes = new IdentityHashMap<Object, Integer>(objects.size());
+			for (int i = 0; i < objects.size(); i++) {
+				rowIndexes.put(objects.get(i), Integer.valueOf(i));
+			}
+		}
+		
+		boolean addColumns(Method bulkGetterMethod, List<String> fields) {
+			if (bulkGetterMethod == null || fields.isEmpty()) {
+				return false;
+			}
+			Object[][] matrix;
+			try {
+				matrix = (Object[][]) bulkGetterMethod.invoke(customGridQueryService, objects, fields);
+			} catch (Exception e) {
+				log.error("error calling " + bulkGetterMethod.getName() + " on customGridQueryService with fields " + fields, e);
+				return false;
+			}
+			if (matrix == null || matrix.length != objects.size()) {
+				log.warn(bulkGetterMethod.getName() + " did not return one line for each row, values are read one by one");
+				return false;
+			}
+			for (int j = 0; j < fields.size(); j++) {
+				Object[] column = new Object[matrix.length];
+				for (int i = 0; i < matrix.length; i++) {
+					column[i] = matrix[i] != null && j < matrix[i].length ? matrix[i][j] : null;
+				}
+				columns.put(fields.get(j), column);
+			}
+			return true;
+		}
+		
+		Object get(Object object, String field) {
+			Object[] column = columns.get(field);
+			Integer row = column != null ? rowIndexes.get(object) : null;
+			return row != null ? column[row.intValue()] : NOT_PREFETCHED;
+		}
+	}
+	
 	static void findGetterMethods(Class clazz) {
 		for (Method method : clazz.getMethods()) {
 			String methodName = method.getName();
@@ -156,6 +402,16 @@ public class DataGridCustomiztionUtil {
 				Class<?>[]  paramTypes = method.getParameterTypes();
 				if (paramTypes.length == 2 && paramTypes[0].equals(Object.class) && paramTypes[1].equals(String.class))
 				linkedTableGetterMethod = method;
+			} else if (methodName.equals(customFieldsBulkGetterMethodName) || methodName.equals(linkedTableBulkGetterMethodName)) {
+				// check params:
+				Class<?>[]  paramTypes = method.getParameterTypes();
+				if (paramTypes.length == 2 && paramTypes[0].equals(List.class) && paramTypes[1].equals(List.class)
+					&& Object[][].class.isAssignableFrom(method.getReturnType())) {
+					if (methodName.equals(customFieldsBulkGetterMethodName))
+						customFieldsBulkGetterMethod = method;
+					else
+						linkedTableBulkGetterMethod = method;
+				}
 			} else if (methodName.equals(entityFieldGetterMethodName)) {
 				// check params:
 				Class<?>[]  paramTypes = method.getParameterTypes();
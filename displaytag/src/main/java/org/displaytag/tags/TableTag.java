@@ -36,20 +36,56 @@
  *  18 October 2019 - Support for different data encodings
  *
  *  28 October 2020 - Support for specifying sort direction
+ *
+ *  18 October 2026 - Streaming exports: rows of simple text exports can be
+ *     written as soon as the body has been evaluated for them, without
+ *     building the full table.
+ *
+ *  18 October 2026 - Buffered exports are handed over to the export filter in
+ *     a memory/temporary file buffer instead of a String or byte array.
+ *
+ *  18 October 2026 - Exact totals are exposed as BigDecimal in varTotals.
+ *
+ *  18 October 2026 - Row security is checked for the whole list in one pass.
+ *
+ *  18 October 2026 - Custom field and linked table values of the rows being
+ *     written are read in bulk.
+ *
+ *  18 October 2026 - The display service is initialized with the table
+ *     properties, for the translation cache.
+ *
+ *  18 October 2026 - Keyset paginated lists get their own list helper.
+ *
+ *  18 October 2026 - Rows of tables with an empty body are created on
+ *     first access, for random access lists.
+ *
+ *  18 October 2026 - Only the rows up to the displayed html page are sorted
+ *     when sorting the full list.
+ *
+ *  18 October 2026 - Row security is no longer checked for the whole list,
+ *     but for each row when first written.
+ *
+ *  18 October 2026 - When the full list is sorted, column bodies are only
+ *     evaluated for the rows of the displayed html page.
+ *
+ *  18 October 2026 - The display service is released at the end of the
+ *     outermost table, also when the body throws an exception.
  */
  
 package org.displaytag.tags;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -58,6 +94,7 @@ import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspTagException;
 import javax.servlet.jsp.JspWriter;
 import javax.servlet.jsp.tagext.BodyContent;
+import javax.servlet.jsp.tagext.TryCatchFinally;
 
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.collections.IteratorUtils;
@@ -74,6 +111,7 @@ import org.displaytag.exception.ExportException;
 import org.displaytag.exception.FactoryInstantiationException;
 import org.displaytag.exception.InvalidTagAttributeValueException;
 import org.displaytag.exception.WrappedRuntimeException;
+import org.displaytag.export.BaseExportView;
 import org.displaytag.export.BinaryExportView;
 import org.displaytag.export.ExportView;
 import org.displaytag.export.ExportViewFactory;
@@ -83,8 +121,9 @@ import org.displaytag.model.Column;
 import org.displaytag.model.CustomTableData;
 import org.displaytag.model.HeaderCell;
 import org.displaytag.model.Row;
-import org.displaytag.model.RowIterator;
 import org.displaytag.model.TableModel;
+import org.displaytag.pagination.KeysetPaginatedList;
+import org.displaytag.pagination.KeysetPaginatedListSmartListHelper;
 import org.displaytag.pagination.PaginatedList;
 import org.displaytag.pagination.PaginatedListSmartListHelper;
 import org.displaytag.pagination.PaginationHelper;
@@ -93,9 +132,9 @@ import org.displaytag.properties.MediaTypeEnum;
 import org.displaytag.properties.SortOrderEnum;
 import org.displaytag.properties.TableProperties;
 import org.displaytag.render.HtmlTableWriter;
-import org.displaytag.render.SecurityService;
 import org.displaytag.util.CollectionUtil;
 import org.displaytag.util.DependencyChecker;
+import org.displaytag.util.ExportBuffer;
 import org.displaytag.util.Href;
 import org.displaytag.util.HxgnDisplayUtil;
 import org.displaytag.util.ParamEncoder;
@@ -114,7 +153,7 @@ import org.displaytag.util.TagConstants;
  * @version $Revision: 1144 $ ($Author: fgiust $)
  */
 @SuppressWarnings("all")
-public class TableTag extends HtmlTableTag
+public class TableTag extends HtmlTableTag implements TryCatchFinally
 {
 	// Hexagon-added property, make the grid non-customizable:
 	private boolean nonConfigurable;
@@ -325,6 +364,26 @@ public class TableTag extends HtmlTableTag
      */
     private boolean doAfterBodyExecuted;
 
+    /**
+     * Export is streamed: each row is written as soon as the body has been evaluated for it.
+     */
+    private boolean streamingExport;
+
+    /**
+     * Export view of a streamed export.
+     */
+    private BaseExportView streamingView;
+
+    /**
+     * Writer of a streamed export.
+     */
+    private Writer streamingWriter;
+
+    /**
+     * Buffer of a streamed export written for the export filter, closed once the export is complete.
+     */
+    private ExportBuffer streamingBuffer;
+
     /**
      * The param encoder used to generate unique parameter names. Initialized at the first use of encodeParameter().
      */
@@ -358,6 +417,18 @@ public class TableTag extends HtmlTableTag
      */
     private Object filteredRows;
 
+    /**
+     * Full list sorted for an html page: the rows displayed can be found after the first iteration, from the sort key
+     * of the objects.
+     */
+    private boolean sortedPageIteration;
+
+    /**
+     * Numbers of the rows displayed once the full list is sorted, found after the first iteration. When set, it
+     * replaces filteredRows for the following rows.
+     */
+    private BitSet sortedPageRows;
+
     /**
      * The paginated list containing the external pagination and sort parameters The presence of this paginated list is
      * what determines if external pagination and sorting is used or not.
@@ -815,7 +886,7 @@ public class TableTag extends HtmlTableTag
 
         readApplicationCustomizations();
 
-        HxgnDisplayUtil.initialize(this.pageContext);
+        HxgnDisplayUtil.initialize(this.pageContext, this.properties);
 
         initParameters();
 
@@ -861,7 +932,7 @@ public class TableTag extends HtmlTableTag
     /**
      * @see javax.servlet.jsp.tagext.BodyTag#doAfterBody()
      */
-    public int doAfterBody()
+    public int doAfterBody() throws JspException
     {
         // doAfterBody() has been called, body is not empty
         this.doAfterBodyExecuted = true;
@@ -871,6 +942,22 @@ public class TableTag extends HtmlTableTag
             log.debug("[" + getUid() + "] doAfterBody called - iterating on row " + this.rowNumber);
         }
 
+        // the first row gives the columns: a streamed export is started, then each row is written and dropped
+        if (isFirstIteration() && canStreamExport())
+        {
+            startStreamingExport();
+        }
+        if (this.streamingExport)
+        {
+            writeStreamedRow();
+        }
+
+        // the first row gives the columns, so the rows displayed once sorted can be found
+        if (isFirstIteration() && this.sortedPageIteration)
+        {
+            selectSortedPageRows();
+        }
+
         // increment this.rowNumber
         this.rowNumber++;
 
@@ -1157,6 +1244,16 @@ public class TableTag extends HtmlTableTag
         || this.length > 0 // or we are limiting the records using length
         ) && !partialList); // only optimize if we have the full list
 
+        // when sorting the full list for an html page, the rows displayed are only known after the first iteration
+        this.sortedPageIteration = wishOptimizedIteration
+            && (this.list instanceof Collection)
+            && sortColumn != -1
+            && finalSortFull
+            && this.pagesize > 0
+            && this.paginatedList == null
+            && this.currentMediaType == MediaTypeEnum.HTML;
+        this.sortedPageRows = null;
+
         // can we actually skip any row?
         if (wishOptimizedIteration && (this.list instanceof Collection) // we need to know the size
             && ((sortColumn == -1 // and we are not sorting
@@ -1208,9 +1305,65 @@ public class TableTag extends HtmlTableTag
      */
     protected boolean isIncludedRow()
     {
+        if (this.sortedPageRows != null)
+        {
+            return this.sortedPageRows.get(this.rowNumber);
+        }
         return ((Range) filteredRows).containsLong(this.rowNumber);
     }
 
+    /**
+     * Called after the first iteration of a full list sorted for an html page: the columns are known, so if the sort
+     * key is a property of the objects the list is sorted on it, and only the rows which will be displayed are
+     * included in the following iterations. The rows are sorted again the same way in <code>setupViewableData()</code>.
+     */
+    private void selectSortedPageRows()
+    {
+        // customizations and hidden columns change the sorted column, a decorator can change the sort key
+        if (this.tableModel.getApplicationCustomTableData() != null
+            || this.getAttributeMap().containsKey("numHideColumn")
+            || getConfiguredDecoratorName() != null)
+        {
+            return;
+        }
+
+        List objects = (this.list instanceof List) ? (List) this.list : new ArrayList((Collection) this.list);
+
+        // rows displayed in the sorted list, as in setupViewableData()
+        int listSize = Math.max(objects.size() - this.offset, 0);
+        if (this.length > 0)
+        {
+            listSize = Math.min(listSize, this.length);
+        }
+        int pageCount = (listSize + this.pagesize - 1) / this.pagesize;
+        if (pageCount == 0)
+        {
+            return;
+        }
+        int page = Math.min(Math.max(this.pageNumber, 1), pageCount);
+        int start = this.offset + (page - 1) * this.pagesize;
+        int end = Math.min(start + this.pagesize, this.offset + listSize);
+
+        int[] order = this.tableModel.getSortedOrder(objects, end);
+        if (order == null)
+        {
+            return;
+        }
+
+        // rowNumber starts from 1
+        BitSet rows = new BitSet(objects.size() + 1);
+        for (int j = start; j < end; j++)
+        {
+            rows.set(order[j] + 1);
+        }
+        this.sortedPageRows = rows;
+
+        if (log.isDebugEnabled())
+        {
+            log.debug("[" + getUid() + "] evaluating the body of " + rows.cardinality() + " sorted rows only");
+        }
+    }
+
     /**
      * Create a complete string for compatibility with previous version before expression evaluation. This approach is
      * optimized for new expressions, not for previous property/scope parameters.
@@ -1350,6 +1503,14 @@ public class TableTag extends HtmlTableTag
             log.debug("[" + getUid() + "] doEndTag called");
         }
 
+        // rows have already been written while the body was evaluated
+        if (this.streamingExport)
+        {
+            finishStreamingExport();
+            cleanUp();
+            return SKIP_PAGE;
+        }
+
         if (!this.doAfterBodyExecuted)
         {
             if (log.isDebugEnabled())
@@ -1357,23 +1518,31 @@ public class TableTag extends HtmlTableTag
                 log.debug("[" + getUid() + "] tag body is empty.");
             }
 
-            // first row (created in doStartTag)
-            if (this.currentRow != null)
+            // rows have no cells, only the ones read for sorting, paging or exporting are created
+            if (canCreateRowsOnAccess())
             {
-                // if yes add to table model and remove
-                this.tableModel.addRow(this.currentRow);
+                this.tableModel.setRowObjects((List) this.list);
             }
-
-            // other rows
-            while (this.tableIterator.hasNext())
+            else
             {
-                Object iteratedObject = this.tableIterator.next();
-                this.rowNumber++;
+                // first row (created in doStartTag)
+                if (this.currentRow != null)
+                {
+                    // if yes add to table model and remove
+                    this.tableModel.addRow(this.currentRow);
+                }
 
-                // Row object for Cell values
-                this.currentRow = new Row(iteratedObject, this.rowNumber);
+                // other rows
+                while (this.tableIterator.hasNext())
+                {
+                    Object iteratedObject = this.tableIterator.next();
+                    this.rowNumber++;
 
-                this.tableModel.addRow(this.currentRow);
+                    // Row object for Cell values
+                    this.currentRow = new Row(iteratedObject, this.rowNumber);
+
+                    this.tableModel.addRow(this.currentRow);
+                }
             }
         }
 
@@ -1426,37 +1595,36 @@ public class TableTag extends HtmlTableTag
         // Get the data back in the representation that the user is after, do they want HTML/XML/CSV/EXCEL/etc...
         int returnValue = EVAL_PAGE;
         
-        RowIterator rowIterator = this.getTableModel().getRowIterator(true);
-        SecurityService securityService = null;
-        while (rowIterator.hasNext())
-        {
-        	Row row = rowIterator.next();
-        	if (securityService == null) {
-        		securityService = new SecurityService(row.getObject().getClass());
-        	}
-        	
-        	if (securityService.classIsSecurable()
-        			&& securityService.isRowSecured(row.getObject())) {
-        		row.setSecured(true);
-        	}
-        }
+        // rows are secured when first written, see Row.getSecured()
 
-        // check for nested tables
-        // Object previousMediaType = this.pageContext.getAttribute(PAGE_ATTRIBUTE_MEDIA);
-        Object previousMediaType = this.pageContext.getAttribute(PAGE_ATTRIBUTE_MEDIA);
-        if (MediaTypeEnum.HTML.equals(this.currentMediaType)
-            && (previousMediaType == null || MediaTypeEnum.HTML.equals(previousMediaType)))
+        // custom and linked table fields of the rows about to be written are read in bulk
+        boolean prefetched = prefetchCustomFieldValues(MediaTypeEnum.HTML.equals(this.currentMediaType));
+        try
         {
-            writeHTMLData();
+            // check for nested tables
+            // Object previousMediaType = this.pageContext.getAttribute(PAGE_ATTRIBUTE_MEDIA);
+            Object previousMediaType = this.pageContext.getAttribute(PAGE_ATTRIBUTE_MEDIA);
+            if (MediaTypeEnum.HTML.equals(this.currentMediaType)
+                && (previousMediaType == null || MediaTypeEnum.HTML.equals(previousMediaType)))
+            {
+                writeHTMLData();
+            }
+            else if (!MediaTypeEnum.HTML.equals(this.currentMediaType))
+            {
+                if (log.isDebugEnabled())
+                {
+                    log.debug("[" + getUid() + "] doEndTag - exporting");
+                }
+
+                returnValue = doExport();
+            }
         }
-        else if (!MediaTypeEnum.HTML.equals(this.currentMediaType))
+        finally
         {
-            if (log.isDebugEnabled())
+            if (prefetched)
             {
-                log.debug("[" + getUid() + "] doEndTag - exporting");
+                DataGridCustomiztionUtil.clearPrefetchedValues();
             }
-
-            returnValue = doExport();
         }
 
         // do not remove media attribute! if the table is nested in other tables this is still needed
@@ -1471,7 +1639,60 @@ public class TableTag extends HtmlTableTag
         return returnValue;
     }
 
-    
+    /**
+     * @see javax.servlet.jsp.tagext.TryCatchFinally#doCatch(java.lang.Throwable)
+     */
+    public void doCatch(Throwable throwable) throws Throwable
+    {
+        throw throwable;
+    }
+
+    /**
+     * Unbinds the display service from the thread, also if the body or doEndTag() have thrown an exception: pooled
+     * threads must not keep the service and the translation cache of the request.
+     * @see javax.servlet.jsp.tagext.TryCatchFinally#doFinally()
+     */
+    public void doFinally()
+    {
+        // nested tables keep the display service for the enclosing table
+        if (findAncestorWithClass(this, TableTag.class) == null)
+        {
+            HxgnDisplayUtil.release();
+        }
+    }
+
+    /**
+     * Hands the rows about to be written and the custom field and linked table columns to the custom grid query
+     * service, so that their values are read in bulk instead of once for each cell.
+     * @param html <code>true</code> when writing the html table: only the rows of the current page are written
+     * @return <code>true</code> if values have been prefetched
+     */
+    private boolean prefetchCustomFieldValues(boolean html)
+    {
+        List properties = new ArrayList();
+        List headerCells = this.tableModel.getHeaderCellList();
+        for (int j = 0; j < headerCells.size(); j++)
+        {
+            String property = ((HeaderCell) headerCells.get(j)).getBeanPropertyName();
+            if (property != null && DataGridCustomiztionUtil.isBulkResolvable(property))
+            {
+                properties.add(property);
+            }
+        }
+        if (properties.isEmpty())
+        {
+            return false;
+        }
+
+        List rows = html ? this.tableModel.getRowListPage() : this.tableModel.getRowListFull();
+        List objects = new ArrayList(rows.size());
+        for (int j = 0; j < rows.size(); j++)
+        {
+            objects.add(((Row) rows.get(j)).getObject());
+        }
+        return DataGridCustomiztionUtil.prefetchFieldValues(objects, properties);
+    }
+
     /**
      * Returns the name of the table decorator that should be applied to this table, which is either the decorator
      * configured in the property "decorator", or if none is configured in said property, a decorator configured with
@@ -1499,6 +1720,12 @@ public class TableTag extends HtmlTableTag
         this.captionTag = null;
         this.currentRow = null;
         this.doAfterBodyExecuted = false;
+        this.sortedPageIteration = false;
+        this.sortedPageRows = null;
+        this.streamingExport = false;
+        this.streamingView = null;
+        this.streamingWriter = null;
+        this.streamingBuffer = null;
         this.footer = null;
         this.listHelper = null;
         this.pageNumber = 0;
@@ -1575,6 +1802,105 @@ public class TableTag extends HtmlTableTag
         }
     }
 
+    /**
+     * Can the rows of a table with an empty body be created on first access? Only if the list is a random access list
+     * iterated from the first element, and no application customization will add cells to the rows.
+     * @return <code>true</code> if the rows can be created on first access
+     */
+    private boolean canCreateRowsOnAccess()
+    {
+        return this.list instanceof List
+            && this.list instanceof RandomAccess
+            && !this.partialList
+            && this.tableModel.getApplicationCustomTableData() == null;
+    }
+
+    /**
+     * Can the export be written while iterating on the list? Only simple text views are streamed, when the full list
+     * is exported without sorting it first, without table decorator (which may read the other rows) and without
+     * application customizations (which may change the columns once all the rows are read).
+     * @return <code>true</code> if the rows can be written as soon as the body has been evaluated for them
+     */
+    private boolean canStreamExport()
+    {
+        if (MediaTypeEnum.HTML.equals(this.currentMediaType)
+            || !this.properties.getExportStreaming()
+            || !this.properties.getExportFullList()
+            || this.partialList
+            || this.tableModel.isEmpty()
+            || getConfiguredDecoratorName() != null
+            || this.tableModel.getApplicationCustomTableData() != null
+            || !ExportViewFactory.getInstance().isStreamingView(this.currentMediaType))
+        {
+            return false;
+        }
+
+        // the full list would be sorted in setupViewableData()
+        return !((this.paginatedList == null || this.tableModel.isLocalSort())
+            && this.tableModel.isSortFullTable()
+            && (this.tableModel.isSorted() || this.tableModel.getDefaultTableSortProperty() != null));
+    }
+
+    /**
+     * Starts a streamed export: the response is set up and the document start and the header are written.
+     * @throws JspException for problem in clearing the response
+     */
+    private void startStreamingExport() throws JspException
+    {
+        if (log.isDebugEnabled())
+        {
+            log.debug("[" + getUid() + "] streaming export");
+        }
+        this.streamingExport = true;
+        doExport();
+    }
+
+    /**
+     * Writes the current row of a streamed export, once the body has been evaluated for it. The row is not added to
+     * the table model.
+     * @throws JspException for errors in evaluating column values
+     */
+    private void writeStreamedRow() throws JspException
+    {
+        this.tableModel.linkRow(this.currentRow);
+        // row numbers start from 0 in exports, see RowIterator
+        this.currentRow.setRowNumber(this.rowNumber - 1);
+        try
+        {
+            this.streamingView.writeRow(this.streamingWriter, this.currentRow, this.lastIteration);
+
+            int flushRows = this.properties.getExportStreamingFlushRows();
+            if (flushRows > 0 && this.rowNumber % flushRows == 0)
+            {
+                this.streamingWriter.flush();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new WrappedRuntimeException(getClass(), e);
+        }
+        this.currentRow = null;
+    }
+
+    /**
+     * Writes the end of a streamed export and closes the export filter buffer, if used.
+     */
+    private void finishStreamingExport()
+    {
+        try
+        {
+            this.streamingView.writeEnd(this.streamingWriter);
+            if (this.streamingBuffer != null)
+            {
+                this.streamingWriter.close();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new WrappedRuntimeException(getClass(), e);
+        }
+    }
+
     /**
      * Called when data are not displayed in a html page but should be exported.
      * @return int SKIP_PAGE
@@ -1649,25 +1975,53 @@ public class TableTag extends HtmlTableTag
                 bean.put(TableTagParameters.BEAN_FILENAME, filename);
                 bean.put(TableTagParameters.BEAN_FILE_ENCODING, fileEncoding);
 
-                if (exportView instanceof TextExportView)
+                if (!(exportView instanceof TextExportView) && !(exportView instanceof BinaryExportView))
                 {
-                    StringWriter writer = new StringWriter();
-                    ((TextExportView) exportView).doExport(writer);
-                    bean.put(TableTagParameters.BEAN_BODY, writer.toString());
+                    throw new JspTagException("Export view "
+                        + exportView.getClass().getName()
+                        + " must implement TextExportView or BinaryExportView");
                 }
-                else if (exportView instanceof BinaryExportView)
-                {
-                    ByteArrayOutputStream stream = new ByteArrayOutputStream();
-                    ((BinaryExportView) exportView).doExport(stream);
-                    bean.put(TableTagParameters.BEAN_BODY, stream.toByteArray());
 
+                // the filter writes the buffer to the response and deletes it
+                ExportBuffer buffer = new ExportBuffer(this.properties.getExportBufferMemory() * 1024L);
+                try
+                {
+                    if (exportView instanceof TextExportView)
+                    {
+                        String encoding = getBufferedTextEncoding(fileEncoding, response);
+                        Writer writer = new BufferedWriter(new OutputStreamWriter(buffer, encoding));
+                        bean.put(TableTagParameters.BEAN_FILE_ENCODING, encoding);
+                        if (doTextExport((TextExportView) exportView, writer))
+                        {
+                            // rows are written while the body is evaluated, see finishStreamingExport()
+                            this.streamingBuffer = buffer;
+                            bean.put(TableTagParameters.BEAN_BODY, buffer);
+                            return;
+                        }
+                        writer.close();
+                    }
+                    else
+                    {
+                        ((BinaryExportView) exportView).doExport(buffer);
+                        buffer.close();
+                    }
                 }
-                else
+                catch (IOException e)
                 {
-                    throw new JspTagException("Export view "
-                        + exportView.getClass().getName()
-                        + " must implement TextExportView or BinaryExportView");
+                    buffer.dispose();
+                    throw e;
+                }
+                catch (JspException e)
+                {
+                    buffer.dispose();
+                    throw e;
+                }
+                catch (RuntimeException e)
+                {
+                    buffer.dispose();
+                    throw e;
                 }
+                bean.put(TableTagParameters.BEAN_BODY, buffer);
 
                 return;
             }
@@ -1684,7 +2038,7 @@ public class TableTag extends HtmlTableTag
             try
             {
                 response.reset();
-                pageContext.getOut().clearBuffer();
+                getPageOut().clearBuffer();
             }
             catch (Exception e)
             {
@@ -1714,10 +2068,10 @@ public class TableTag extends HtmlTableTag
             }
             else
             {
-                writer = pageContext.getOut();
+                writer = getPageOut();
             }
 
-            ((TextExportView) exportView).doExport(writer);
+            doTextExport((TextExportView) exportView, writer);
         }
         else if (exportView instanceof BinaryExportView)
         {
@@ -1737,6 +2091,60 @@ public class TableTag extends HtmlTableTag
 
     }
 
+    /**
+     * Returns the encoding of a text export buffered for the export filter: the configured file encoding or, if not
+     * set, the response encoding (the charset in the content type, if specified).
+     * @param fileEncoding configured export file encoding, may be null
+     * @param response current response
+     * @return character encoding
+     */
+    private String getBufferedTextEncoding(String fileEncoding, HttpServletResponse response)
+    {
+        if (StringUtils.isNotEmpty(fileEncoding))
+        {
+            return fileEncoding;
+        }
+        String contentType = response.getContentType();
+        if (contentType != null && contentType.indexOf("charset=") > -1) //$NON-NLS-1$
+        {
+            // charset is already specified (see #921811)
+            return StringUtils.substringAfter(contentType, "charset="); //$NON-NLS-1$
+        }
+        return StringUtils.defaultIfEmpty(response.getCharacterEncoding(), "ISO-8859-1"); //$NON-NLS-1$
+    }
+
+    /**
+     * Writes a text export. For a streamed export only the document start and the header are written, and the writer
+     * is kept to write the rows while the body is evaluated.
+     * @param exportView export view
+     * @param writer output writer
+     * @return <code>true</code> if the export is streamed
+     * @throws JspException for errors in evaluating column values
+     * @throws IOException exception thrown when writing content
+     */
+    private boolean doTextExport(TextExportView exportView, Writer writer) throws IOException, JspException
+    {
+        if (this.streamingExport)
+        {
+            this.streamingView = (BaseExportView) exportView;
+            this.streamingWriter = writer;
+            this.streamingView.writeStart(writer);
+            return true;
+        }
+        exportView.doExport(writer);
+        return false;
+    }
+
+    /**
+     * Returns the writer of the page. While the body is evaluated (streamed exports) the page context writer is the
+     * body content.
+     * @return JspWriter
+     */
+    private JspWriter getPageOut()
+    {
+        return this.streamingExport ? getPreviousOut() : this.pageContext.getOut();
+    }
+
     /**
      * This sets the list of all of the data that will be displayed on the page via the table tag. This might include
      * just a subset of the total data in the list due to to paging being active, or the user asking us to just show a
@@ -1753,8 +2161,16 @@ public class TableTag extends HtmlTableTag
         {
             if (this.tableModel.isSortFullTable())
             {
-                // Sort the total list...
-                this.tableModel.sortFullList();
+                // Sort the total list, or only up to the displayed page
+                int sortedRows = getSortedRowCount();
+                if (sortedRows > 0)
+                {
+                    this.tableModel.sortFullList(sortedRows);
+                }
+                else
+                {
+                    this.tableModel.sortFullList();
+                }
             }
         }
 
@@ -1775,6 +2191,12 @@ public class TableTag extends HtmlTableTag
             pageOffset = this.listHelper.getFirstIndexForCurrentPage();
             fullList = this.listHelper.getListForCurrentPage();
         }
+        else if (this.paginatedList instanceof KeysetPaginatedList)
+        {
+            this.listHelper = new KeysetPaginatedListSmartListHelper(
+                (KeysetPaginatedList) this.paginatedList,
+                this.properties);
+        }
         else if (this.paginatedList != null)
         {
             this.listHelper = new PaginatedListSmartListHelper(this.paginatedList, this.properties);
@@ -1783,6 +2205,32 @@ public class TableTag extends HtmlTableTag
         this.tableModel.setPageOffset(pageOffset);
     }
 
+    /**
+     * Returns the number of rows of the full list up to the end of the displayed page, if only that part of a sorted
+     * full list needs to be in order: when a single html page is displayed and no table decorator reads the full list.
+     * Late pages are fully sorted, a partial sort would not be faster.
+     * @return number of rows to put in order, 0 to sort the full list
+     */
+    private int getSortedRowCount()
+    {
+        if (!MediaTypeEnum.HTML.equals(this.currentMediaType)
+            || this.pagesize <= 0
+            || this.paginatedList != null
+            || this.partialList
+            || this.tableModel.getTableDecorator() != null)
+        {
+            return 0;
+        }
+
+        long pageEnd = (long) Math.max(this.pageNumber, 1) * this.pagesize;
+        if (this.length > 0)
+        {
+            pageEnd = Math.min(pageEnd, this.length);
+        }
+        long count = this.offset + pageEnd;
+        return count * 2 <= this.tableModel.getRowListFull().size() ? (int) count : 0;
+    }
+
     private String customizationLink_with_id = "<a data-recnum=\"%s\" data-table=\"%s\" class=\"gridcog\"><img src=\"%s/themes/default/images/icons/cog.png\"/>Customize Grid</a>";
     private String customizationLink_no_id = "<a class=\"gridcog\" data-table=\"%s\" ><img src=\"%s/themes/default/images/icons/cog.png\"/>Customize Grid</a>";
     
@@ -1859,7 +2307,7 @@ public class TableTag extends HtmlTableTag
                 HeaderCell headerCell = (HeaderCell) iterator.next();
                 if (headerCell.isTotaled())
                 {
-                    totalsMap.put("column" + (headerCell.getColumnNumber() + 1), new Double(headerCell.getTotal()));
+                    totalsMap.put("column" + (headerCell.getColumnNumber() + 1), headerCell.getTotalValue());
                 }
             }
         }
@@ -9,6 +9,13 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Added the "exactTotal" attribute.
+ */
 package org.displaytag.tags.el;
 
 import java.beans.IntrospectionException;
@@ -119,6 +126,10 @@ public class ELColumnTagBeanInfo extends SimpleBeanInfo
                 ELColumnTag.class,
                 null,
                 "setTotal")); // map //$NON-NLS-1$
+            proplist.add(new PropertyDescriptor("exactTotal", //$NON-NLS-1$
+                ELColumnTag.class,
+                null,
+                "setExactTotal")); //$NON-NLS-1$
             proplist.add(new PropertyDescriptor("title", //$NON-NLS-1$
                 ELColumnTag.class,
                 null,
@@ -9,8 +9,19 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - The open tag can be written to an Appendable.
+ */
 package org.displaytag.util;
 
+import java.io.IOException;
+
+import org.apache.commons.lang.UnhandledException;
+
 /**
  * Anchor object used to output an html link (an &lt;a> tag).
  * @author Fabrizio Giustina
@@ -118,16 +129,34 @@ public class Anchor
 
         // append all attributes
         StringBuffer buffer = new StringBuffer();
-
-        buffer.append(TagConstants.TAG_OPEN).append(TagConstants.TAGNAME_ANCHOR).append(getHrefString());
-
-        buffer.append(this.attributeMap);
-
-        buffer.append(TagConstants.TAG_CLOSE);
-
+        try
+        {
+            writeOpenTag(buffer);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
         return buffer.toString();
     }
 
+    /**
+     * Writes the &lt;a> tag, with rendered href and any html attribute, to the given output.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    public void writeOpenTag(Appendable out) throws IOException
+    {
+        out.append(TagConstants.TAG_OPEN).append(TagConstants.TAGNAME_ANCHOR);
+        if (this.href != null)
+        {
+            out.append(" href=\"").append(this.href.toString()).append('"'); //$NON-NLS-1$
+        }
+        this.attributeMap.writeTo(out);
+        out.append(TagConstants.TAG_CLOSE);
+    }
+
     /**
      * returns the &lt;/a> tag.
      * @return String
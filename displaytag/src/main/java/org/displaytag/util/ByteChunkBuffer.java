@@ -0,0 +1,214 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Buffer bytes written to a filtered page in pooled fixed size chunks.
+ */
+package org.displaytag.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Byte buffer made of fixed size chunks, the binary counterpart of <code>CharChunkBuffer</code>. Unlike
+ * <code>ByteArrayOutputStream</code> the content is never copied when the buffer grows. Chunks are taken from a pool
+ * shared by all the buffers and go back to it when <code>reset()</code> is called.
+ * <p>
+ * A buffer is not thread safe, the pool is.
+ * </p>
+ */
+public final class ByteChunkBuffer extends OutputStream
+{
+
+    /**
+     * Size of a chunk, in bytes.
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Maximum number of chunks kept in the pool.
+     */
+    private static final int MAX_POOLED_CHUNKS = 64;
+
+    /**
+     * Chunks available for reuse.
+     */
+    private static final ConcurrentLinkedQueue<byte[]> POOL = new ConcurrentLinkedQueue<byte[]>();
+
+    /**
+     * Number of chunks in the pool, <code>ConcurrentLinkedQueue.size()</code> is not constant time.
+     */
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    /**
+     * Chunks in use, all full except the last one.
+     */
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+
+    /**
+     * Last chunk, null if no chunk has been taken yet.
+     */
+    private byte[] current;
+
+    /**
+     * Number of bytes in the last chunk.
+     */
+    private int position;
+
+    /**
+     * Total number of bytes.
+     */
+    private int size;
+
+    /**
+     * @see java.io.OutputStream#write(int)
+     */
+    public void write(int b)
+    {
+        if (this.current == null || this.position == CHUNK_SIZE)
+        {
+            nextChunk();
+        }
+        this.current[this.position++] = (byte) b;
+        this.size++;
+    }
+
+    /**
+     * @see java.io.OutputStream#write(byte[], int, int)
+     */
+    public void write(byte[] b, int off, int len)
+    {
+        if (off < 0 || len < 0 || off + len > b.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0)
+        {
+            if (this.current == null || this.position == CHUNK_SIZE)
+            {
+                nextChunk();
+            }
+            int count = Math.min(remaining, CHUNK_SIZE - this.position);
+            System.arraycopy(b, offset, this.current, this.position, count);
+            this.position += count;
+            offset += count;
+            remaining -= count;
+        }
+        this.size += len;
+    }
+
+    /**
+     * Adds a new chunk at the end of the buffer.
+     */
+    private void nextChunk()
+    {
+        byte[] chunk = POOL.poll();
+        if (chunk != null)
+        {
+            POOL_SIZE.decrementAndGet();
+        }
+        else
+        {
+            chunk = new byte[CHUNK_SIZE];
+        }
+        this.chunks.add(chunk);
+        this.current = chunk;
+        this.position = 0;
+    }
+
+    /**
+     * Returns the number of bytes written.
+     * @return number of bytes in the buffer
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Writes the whole content to the given stream, one chunk at a time.
+     * @param out target stream
+     * @throws IOException if thrown by the target stream
+     */
+    public void writeTo(OutputStream out) throws IOException
+    {
+        int last = this.chunks.size() - 1;
+        for (int j = 0; j < last; j++)
+        {
+            out.write(this.chunks.get(j), 0, CHUNK_SIZE);
+        }
+        if (last >= 0)
+        {
+            out.write(this.current, 0, this.position);
+        }
+    }
+
+    /**
+     * Discards the content, chunks are returned to the pool. Content written after this call goes in new chunks.
+     */
+    public void reset()
+    {
+        for (int j = 0; j < this.chunks.size(); j++)
+        {
+            if (POOL_SIZE.incrementAndGet() <= MAX_POOLED_CHUNKS)
+            {
+                POOL.offer(this.chunks.get(j));
+            }
+            else
+            {
+                POOL_SIZE.decrementAndGet();
+            }
+        }
+        this.chunks.clear();
+        this.current = null;
+        this.position = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Decodes the content using the platform's default charset, as <code>ByteArrayOutputStream</code> does. A
+     * character can span two chunks, so the content is copied to a single array first.
+     * @see java.lang.Object#toString()
+     */
+    public String toString()
+    {
+        byte[] content = new byte[this.size];
+        int copied = 0;
+        int last = this.chunks.size() - 1;
+        for (int j = 0; j < last; j++)
+        {
+            System.arraycopy(this.chunks.get(j), 0, content, copied, CHUNK_SIZE);
+            copied += CHUNK_SIZE;
+        }
+        if (last >= 0)
+        {
+            System.arraycopy(this.current, 0, content, copied, this.position);
+        }
+        return new String(content);
+    }
+
+}
@@ -0,0 +1,308 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Buffer page content in pooled fixed size chunks instead of a growing array.
+ */
+package org.displaytag.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Character buffer made of fixed size chunks. Unlike <code>CharArrayWriter</code> the content is never copied when
+ * the buffer grows, and it can be read as a <code>CharSequence</code> or written to another writer chunk by chunk
+ * without building a String. Chunks are taken from a pool shared by all the buffers and go back to it when
+ * <code>reset()</code> is called, so a buffer used for each request doesn't allocate once the pool is warm.
+ * <p>
+ * A buffer is not thread safe, the pool is.
+ * </p>
+ */
+public final class CharChunkBuffer extends Writer implements CharSequence
+{
+
+    /**
+     * Size of a chunk, in chars.
+     */
+    static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Maximum number of chunks kept in the pool.
+     */
+    private static final int MAX_POOLED_CHUNKS = 256;
+
+    /**
+     * Chunks available for reuse.
+     */
+    private static final ConcurrentLinkedQueue<char[]> POOL = new ConcurrentLinkedQueue<char[]>();
+
+    /**
+     * Number of chunks in the pool, <code>ConcurrentLinkedQueue.size()</code> is not constant time.
+     */
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    /**
+     * Chunks in use, all full except the last one.
+     */
+    private final List<char[]> chunks = new ArrayList<char[]>();
+
+    /**
+     * Last chunk, null if no chunk has been taken yet.
+     */
+    private char[] current;
+
+    /**
+     * Number of chars in the last chunk.
+     */
+    private int position;
+
+    /**
+     * Total number of chars.
+     */
+    private int length;
+
+    /**
+     * @see java.io.Writer#write(int)
+     */
+    public void write(int c)
+    {
+        if (this.current == null || this.position == CHUNK_SIZE)
+        {
+            nextChunk();
+        }
+        this.current[this.position++] = (char) c;
+        this.length++;
+    }
+
+    /**
+     * @see java.io.Writer#write(char[], int, int)
+     */
+    public void write(char[] cbuf, int off, int len)
+    {
+        if (off < 0 || len < 0 || off + len > cbuf.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0)
+        {
+            if (this.current == null || this.position == CHUNK_SIZE)
+            {
+                nextChunk();
+            }
+            int count = Math.min(remaining, CHUNK_SIZE - this.position);
+            System.arraycopy(cbuf, offset, this.current, this.position, count);
+            this.position += count;
+            offset += count;
+            remaining -= count;
+        }
+        this.length += len;
+    }
+
+    /**
+     * @see java.io.Writer#write(java.lang.String, int, int)
+     */
+    public void write(String str, int off, int len)
+    {
+        if (off < 0 || len < 0 || off + len > str.length())
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0)
+        {
+            if (this.current == null || this.position == CHUNK_SIZE)
+            {
+                nextChunk();
+            }
+            int count = Math.min(remaining, CHUNK_SIZE - this.position);
+            str.getChars(offset, offset + count, this.current, this.position);
+            this.position += count;
+            offset += count;
+            remaining -= count;
+        }
+        this.length += len;
+    }
+
+    /**
+     * @see java.io.Writer#write(java.lang.String)
+     */
+    public void write(String str)
+    {
+        write(str, 0, str.length());
+    }
+
+    /**
+     * @see java.io.Writer#append(java.lang.CharSequence)
+     */
+    public Writer append(CharSequence csq)
+    {
+        String str = String.valueOf(csq);
+        write(str, 0, str.length());
+        return this;
+    }
+
+    /**
+     * Adds a new chunk at the end of the buffer.
+     */
+    private void nextChunk()
+    {
+        char[] chunk = POOL.poll();
+        if (chunk != null)
+        {
+            POOL_SIZE.decrementAndGet();
+        }
+        else
+        {
+            chunk = new char[CHUNK_SIZE];
+        }
+        this.chunks.add(chunk);
+        this.current = chunk;
+        this.position = 0;
+    }
+
+    /**
+     * @see java.lang.CharSequence#length()
+     */
+    public int length()
+    {
+        return this.length;
+    }
+
+    /**
+     * @see java.lang.CharSequence#charAt(int)
+     */
+    public char charAt(int index)
+    {
+        if (index < 0 || index >= this.length)
+        {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return this.chunks.get(index / CHUNK_SIZE)[index % CHUNK_SIZE];
+    }
+
+    /**
+     * @see java.lang.CharSequence#subSequence(int, int)
+     */
+    public CharSequence subSequence(int start, int end)
+    {
+        if (start < 0 || end > this.length || start > end)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        char[] result = new char[end - start];
+        int copied = 0;
+        int index = start;
+        while (index < end)
+        {
+            int offset = index % CHUNK_SIZE;
+            int count = Math.min(end - index, CHUNK_SIZE - offset);
+            System.arraycopy(this.chunks.get(index / CHUNK_SIZE), offset, result, copied, count);
+            copied += count;
+            index += count;
+        }
+        return new String(result);
+    }
+
+    /**
+     * Returns the chunks holding the content. All the chunks are full, except the last one which holds
+     * <code>length() % CHUNK_SIZE</code> chars (or is full when that is 0 and the buffer is not empty). The arrays are
+     * not copied and must not be kept after the buffer is reset.
+     * @return List of char arrays
+     */
+    public List<char[]> getChunks()
+    {
+        return this.chunks;
+    }
+
+    /**
+     * Writes the whole content to the given writer, one chunk at a time.
+     * @param out target writer
+     * @throws IOException if thrown by the target writer
+     */
+    public void writeTo(Writer out) throws IOException
+    {
+        int last = this.chunks.size() - 1;
+        for (int j = 0; j < last; j++)
+        {
+            out.write(this.chunks.get(j), 0, CHUNK_SIZE);
+        }
+        if (last >= 0)
+        {
+            out.write(this.current, 0, this.position);
+        }
+    }
+
+    /**
+     * Discards the content, chunks are returned to the pool. Content written after this call goes in new chunks.
+     */
+    public void reset()
+    {
+        for (int j = 0; j < this.chunks.size(); j++)
+        {
+            if (POOL_SIZE.incrementAndGet() <= MAX_POOLED_CHUNKS)
+            {
+                POOL.offer(this.chunks.get(j));
+            }
+            else
+            {
+                POOL_SIZE.decrementAndGet();
+            }
+        }
+        this.chunks.clear();
+        this.current = null;
+        this.position = 0;
+        this.length = 0;
+    }
+
+    /**
+     * Nothing to flush.
+     * @see java.io.Writer#flush()
+     */
+    public void flush()
+    {
+        // nothing to do
+    }
+
+    /**
+     * The buffer can still be read after being closed.
+     * @see java.io.Writer#close()
+     */
+    public void close()
+    {
+        // nothing to do
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    public String toString()
+    {
+        return (String) subSequence(0, this.length);
+    }
+
+}
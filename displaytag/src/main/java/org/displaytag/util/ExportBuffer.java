@@ -0,0 +1,293 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Hand buffered exports over to the export filter without copying them.
+ */
+package org.displaytag.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+
+/**
+ * Output stream used to buffer an export until the export filter writes it to the response. Content is kept in
+ * memory up to a given size, then moved to a temporary file. The content is written out with <code>writeTo()</code>,
+ * directly from the internal array or from the file. Content in a file is only transferred without copies to a file
+ * stream: a servlet response stream has no channel, so the file is copied to it in large blocks.
+ * <code>dispose()</code> must be called once the content has been written, to delete the temporary file.
+ */
+public final class ExportBuffer extends OutputStream
+{
+
+    /**
+     * logger.
+     */
+    private static Log log = LogFactory.getLog(ExportBuffer.class);
+
+    /**
+     * Initial size of the in-memory buffer.
+     */
+    private static final int INITIAL_SIZE = 8192;
+
+    /**
+     * Maximum size of the in-memory buffer (some virtual machines reserve header words in arrays).
+     */
+    private static final int MAX_MEMORY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Size of the blocks copied from the temporary file.
+     */
+    private static final int BLOCK_SIZE = 65536;
+
+    /**
+     * Maximum number of bytes kept in memory.
+     */
+    private final int memoryThreshold;
+
+    /**
+     * In-memory content, null once spilled to file.
+     */
+    private byte[] buffer;
+
+    /**
+     * Number of bytes in buffer.
+     */
+    private int count;
+
+    /**
+     * Temporary file, null while content is in memory.
+     */
+    private File file;
+
+    /**
+     * Stream on the temporary file.
+     */
+    private OutputStream fileStream;
+
+    /**
+     * Total number of bytes written.
+     */
+    private long size;
+
+    /**
+     * Creates a new buffer.
+     * @param memoryThreshold maximum number of bytes kept in memory before moving the content to a temporary file,
+     * limited to the maximum size of an array
+     */
+    public ExportBuffer(long memoryThreshold)
+    {
+        this.memoryThreshold = (int) Math.min(Math.max(memoryThreshold, 0), MAX_MEMORY);
+        this.buffer = new byte[Math.min(INITIAL_SIZE, this.memoryThreshold)];
+    }
+
+    /**
+     * @see java.io.OutputStream#write(int)
+     */
+    public void write(int b) throws IOException
+    {
+        if (this.fileStream == null && this.count == this.buffer.length)
+        {
+            reserve(1);
+        }
+        if (this.fileStream != null)
+        {
+            this.fileStream.write(b);
+        }
+        else
+        {
+            this.buffer[this.count++] = (byte) b;
+        }
+        this.size++;
+    }
+
+    /**
+     * @see java.io.OutputStream#write(byte[], int, int)
+     */
+    public void write(byte[] b, int off, int len) throws IOException
+    {
+        if (this.fileStream == null && this.count + len > this.buffer.length)
+        {
+            reserve(len);
+        }
+        if (this.fileStream != null)
+        {
+            this.fileStream.write(b, off, len);
+        }
+        else
+        {
+            System.arraycopy(b, off, this.buffer, this.count, len);
+            this.count += len;
+        }
+        this.size += len;
+    }
+
+    /**
+     * Makes room for <code>len</code> more bytes, growing the in-memory buffer or moving the content to a file.
+     * @param len number of bytes to be written
+     * @throws IOException if the temporary file can't be created
+     */
+    private void reserve(int len) throws IOException
+    {
+        long needed = (long) this.count + len;
+        if (needed > this.memoryThreshold)
+        {
+            spill();
+            return;
+        }
+        int newLength = (int) Math.min(Math.max((long) this.buffer.length * 2, needed), this.memoryThreshold);
+        byte[] newBuffer = new byte[newLength];
+        System.arraycopy(this.buffer, 0, newBuffer, 0, this.count);
+        this.buffer = newBuffer;
+    }
+
+    /**
+     * Moves the content to a temporary file.
+     * @throws IOException if the temporary file can't be created
+     */
+    private void spill() throws IOException
+    {
+        this.file = File.createTempFile("displaytag", ".export"); //$NON-NLS-1$ //$NON-NLS-2$
+        if (log.isDebugEnabled())
+        {
+            log.debug("Export larger than " + this.memoryThreshold + " bytes, buffering to " + this.file);
+        }
+        this.fileStream = new BufferedOutputStream(new FileOutputStream(this.file), INITIAL_SIZE);
+        this.fileStream.write(this.buffer, 0, this.count);
+        this.buffer = null;
+        this.count = 0;
+    }
+
+    /**
+     * @see java.io.OutputStream#flush()
+     */
+    public void flush() throws IOException
+    {
+        if (this.fileStream != null)
+        {
+            this.fileStream.flush();
+        }
+    }
+
+    /**
+     * @see java.io.OutputStream#close()
+     */
+    public void close() throws IOException
+    {
+        if (this.fileStream != null)
+        {
+            this.fileStream.close();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written.
+     * @return content length
+     */
+    public long size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Writes the content to the given stream. Content in a temporary file is transferred from the file channel if the
+     * stream is a file stream, else it is copied in blocks of <code>BLOCK_SIZE</code> bytes.
+     * @param out target stream
+     * @throws IOException if an error occurs while reading the buffer or writing to the stream
+     */
+    public void writeTo(OutputStream out) throws IOException
+    {
+        close();
+        if (this.file == null)
+        {
+            out.write(this.buffer, 0, this.count);
+            return;
+        }
+
+        FileInputStream in = new FileInputStream(this.file);
+        try
+        {
+            if (out instanceof FileOutputStream)
+            {
+                FileChannel channel = in.getChannel();
+                FileChannel target = ((FileOutputStream) out).getChannel();
+                long position = 0;
+                long length = channel.size();
+                while (position < length)
+                {
+                    position += channel.transferTo(position, length - position, target);
+                }
+            }
+            else
+            {
+                byte[] block = new byte[(int) Math.min(BLOCK_SIZE, Math.max(this.size, 1))];
+                int read;
+                while ((read = in.read(block)) != -1)
+                {
+                    out.write(block, 0, read);
+                }
+            }
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    /**
+     * Returns the temporary file, null while the content is in memory.
+     * @return temporary file
+     */
+    File getFile()
+    {
+        return this.file;
+    }
+
+    /**
+     * Releases the buffer and deletes the temporary file, if any.
+     */
+    public void dispose()
+    {
+        try
+        {
+            close();
+        }
+        catch (IOException e)
+        {
+            log.debug("Unable to close export buffer", e);
+        }
+        if (this.file != null && !this.file.delete())
+        {
+            log.warn("Unable to delete temporary export file " + this.file);
+        }
+        this.file = null;
+        this.buffer = new byte[0];
+        this.count = 0;
+    }
+
+}
@@ -9,13 +9,23 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Attributes can be written to an Appendable.
+ */
 package org.displaytag.util;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.lang.UnhandledException;
+
 
 /**
  * Extends Map providing only a different toString() method which can be used in printing attributes inside an html tag.
@@ -59,7 +69,27 @@ public class HtmlAttributeMap extends HashMap
 
         // buffer extimated in number of attributes * 30
         StringBuffer buffer = new StringBuffer(size() * 30);
+        try
+        {
+            writeTo(buffer);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
+        }
+
+        // return
+        return buffer.toString();
+    }
 
+    /**
+     * Writes the attributes to the given output, in the same format as <code>toString()</code>.
+     * @param out output
+     * @throws IOException if thrown by the output
+     */
+    public void writeTo(Appendable out) throws IOException
+    {
         // get the entrySet
         Set entrySet = entrySet();
 
@@ -71,16 +101,13 @@ public class HtmlAttributeMap extends HashMap
             Map.Entry entry = (Map.Entry) iterator.next();
 
             // append a new atribute
-            buffer
+            out
                 .append(SPACE)
-                .append(entry.getKey())
+                .append(String.valueOf(entry.getKey()))
                 .append(EQUALS)
                 .append(DELIMITER)
-                .append(entry.getValue())
+                .append(String.valueOf(entry.getValue()))
                 .append(DELIMITER);
         }
-
-        // return
-        return buffer.toString();
     }
 }
@@ -9,11 +9,21 @@
  * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
  * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
  */
+/**
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has
+ * made the following changes to this source file:
+ *
+ *  18 October 2026 - Open tags can be written to an Appendable.
+ */
 package org.displaytag.util;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.commons.lang.UnhandledException;
+
 
 /**
  * Utility methods for dealing with html tags.
@@ -41,19 +51,38 @@ public final class HtmlTagUtil
     {
 
         StringBuffer buffer = new StringBuffer();
-
-        buffer.append(TagConstants.TAG_OPEN).append(tagName);
-
-        if (attributes != null)
+        try
         {
-            buffer.append(attributes.toString());
+            writeOpenTag(buffer, tagName, attributes);
+        }
+        catch (IOException e)
+        {
+            // never thrown by a StringBuffer
+            throw new UnhandledException(e);
         }
-        buffer.append(TagConstants.TAG_CLOSE);
 
         return buffer.toString();
 
     }
 
+    /**
+     * Writes a tag built from a name and a collection of attributes to the given output.
+     * @param out output
+     * @param tagName String tag name
+     * @param attributes HtmlAttributeMap containing all the tag attributes
+     * @throws IOException if thrown by the output
+     */
+    public static void writeOpenTag(Appendable out, String tagName, HtmlAttributeMap attributes) throws IOException
+    {
+        out.append(TagConstants.TAG_OPEN).append(tagName);
+
+        if (attributes != null)
+        {
+            attributes.writeTo(out);
+        }
+        out.append(TagConstants.TAG_CLOSE);
+    }
+
     /**
      * Strips html tags from a String.
      * @param str input string containing html tags (<code>null</code> is <strong>not </strong> handled)
@@ -19,18 +19,34 @@
  * made the following changes to this source file:
  *
  *  19 March 2019 - Ability to operate in multi-lingual environments
+ *
+ *  18 October 2026 - Property values are read through cached getters
+ *
+ *  18 October 2026 - Service methods are bound once per class to method
+ *        handles and translations are cached per locale and service
+ *
+ *  18 October 2026 - The translation cache is kept for the request only, the
+ *        service is released at the end of the table
  */
  
 package org.displaytag.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.jsp.PageContext;
 
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.displaytag.properties.TableProperties;
 import org.displaytag.tags.TableTag;
 
 /**
@@ -40,34 +56,50 @@ public class HxgnDisplayUtil
 {
 	private static Log log = LogFactory.getLog(HxgnDisplayUtil.class);
 
-	static Method translateMethod = null;
 	static String TRANSLATE_METHOD_NAME = "translateNameIfNecessary";
 
-	static Method translateSortingPropertyMethod = null;
 	static String TRANSLATE_SORTING_PROPERTY_METHOD_NAME = "translateSortingPropertyIfNecessary";
 
-	static Object hxgnDisplayService;
+	/**
+	 * Signature of both service methods: <code>Object m(Object service, Object bean, String name)</code>.
+	 */
+	private static final MethodType SERVICE_METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object.class, String.class);
+
+	/**
+	 * Service methods, bound once for each service class.
+	 */
+	private static final ClassValue<ServiceMethods> SERVICE_METHODS = new ClassValue<ServiceMethods>() {
+
+		protected ServiceMethods computeValue(Class<?> type) {
+			return new ServiceMethods(type);
+		}
+	};
+
+	/**
+	 * Request attribute holding the translation caches of the request, by locale.
+	 */
+	private static final String TRANSLATION_CACHES_ATTRIBUTE = TranslationCache.class.getName();
+
+	/**
+	 * Service used by the tables of the current request, removed by <code>release()</code>.
+	 */
+	private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<Binding>();
 
 	public static void initialize(PageContext pageContext) {
-		hxgnDisplayService = pageContext.getRequest().getAttribute("hxgnDisplayService");
-		if (hxgnDisplayService != null && (translateMethod == null || translateSortingPropertyMethod == null)) {
-			for (Method method : hxgnDisplayService.getClass().getMethods()) {
-				String methodName = method.getName();
+		initialize(pageContext, TableProperties.getInstance((HttpServletRequest) pageContext.getRequest()));
+	}
 
-				if (TRANSLATE_METHOD_NAME.equals(methodName)) {
-					// check params:
-					Class<?>[]  paramTypes = method.getParameterTypes();
-					if (paramTypes.length == 2 && paramTypes[0].equals(Object.class) && paramTypes[1].equals(String.class)) {
-						translateMethod = method;
-					}
-				} else if (TRANSLATE_SORTING_PROPERTY_METHOD_NAME.equals(methodName)) {
-					// check params:
-					Class<?>[]  paramTypes = method.getParameterTypes();
-					if (paramTypes.length == 2 && paramTypes[0].equals(Object.class) && paramTypes[1].equals(String.class)) {
-						translateSortingPropertyMethod = method;
-					}
-				}
-			}
+	/**
+	 * Binds the display service of the current request, if any, to the current thread.
+	 * @param pageContext page context
+	 * @param properties table properties, for the locale and the translation cache settings
+	 */
+	public static void initialize(PageContext pageContext, TableProperties properties) {
+		Object hxgnDisplayService = pageContext.getRequest().getAttribute("hxgnDisplayService");
+		if (hxgnDisplayService == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(new Binding(hxgnDisplayService, SERVICE_METHODS.get(hxgnDisplayService.getClass()), getTranslationCache(pageContext.getRequest(), hxgnDisplayService, properties)));
 		}
 
 		if (log.isDebugEnabled()) {
@@ -79,6 +111,40 @@ public class HxgnDisplayUtil
 		}
 	}
 
+	/**
+	 * Unbinds the display service from the current thread, so that pooled threads don't keep it after the request.
+	 */
+	public static void release() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Returns the translation cache of the request for a service instance and the locale of the table properties.
+	 * @param request current request
+	 * @param hxgnDisplayService service instance
+	 * @param properties table properties
+	 * @return TranslationCache, null if caching is disabled
+	 */
+	private static TranslationCache getTranslationCache(ServletRequest request, Object hxgnDisplayService, TableProperties properties) {
+		int size = properties.getTranslationCacheSize();
+		if (size <= 0) {
+			return null;
+		}
+		Locale locale = properties.getLocale();
+		@SuppressWarnings("unchecked")
+		Map<Locale, TranslationCache> caches = (Map<Locale, TranslationCache>) request.getAttribute(TRANSLATION_CACHES_ATTRIBUTE);
+		if (caches == null) {
+			caches = new HashMap<Locale, TranslationCache>();
+			request.setAttribute(TRANSLATION_CACHES_ATTRIBUTE, caches);
+		}
+		TranslationCache cache = caches.get(locale);
+		if (cache == null || cache.getService() != hxgnDisplayService) {
+			cache = new TranslationCache(hxgnDisplayService, size);
+			caches.put(locale, cache);
+		}
+		return cache;
+	}
+
 	/**
 	 * Evaluates property value and translates to proper language, if necessary.
 	 * @param evalBean Bean whose property is to be extracted
@@ -89,15 +155,18 @@ public class HxgnDisplayUtil
 		try {
 			// try to "translate" name for localized entity first..
 			String value = null;
-			if (translateMethod != null) {
-				value = (String) translateMethod.invoke(hxgnDisplayService, evalBean, evalName);
+			Binding binding = CURRENT.get();
+			if (binding != null && binding.methods.translate != null) {
+				value = binding.translate(evalBean, evalName);
 			}
 
 			// if "translated" name is not found (e.g. not defined, evaluated object is not localized), return property value normally..
 			return (value != null) ?
-					value : PropertyUtils.getSimpleProperty(evalBean, evalName);
-		} catch (Exception e) {
-			log.error(e.getMessage());
+					value : PropertyAccessorCache.getSimpleProperty(evalBean, evalName);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			log.error(e.getMessage(), e);
 		}
 		
 		return null;
@@ -124,15 +193,90 @@ public class HxgnDisplayUtil
     		return sortProperty;
 
     	// no "external" service found so no "translation"..
-		if (translateSortingPropertyMethod == null)
+		Binding binding = CURRENT.get();
+		if (binding == null || binding.methods.translateSortingProperty == null)
     		return sortProperty;
 			
 		try {
-			return (String) translateSortingPropertyMethod.invoke(hxgnDisplayService, tableTag.getCurrentRow().getObject(), property);
-		} catch (Exception e) {
-			log.error(e.getMessage());
+			return (String) (Object) binding.methods.translateSortingProperty.invokeExact(binding.service, tableTag.getCurrentRow().getObject(), property);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			log.error(e.getMessage(), e);
 		}
 
 		return sortProperty;
     }
+
+	/**
+	 * translateNameIfNecessary and translateSortingPropertyIfNecessary methods of a service class, null if missing.
+	 */
+	private static final class ServiceMethods {
+
+		final MethodHandle translate;
+
+		final MethodHandle translateSortingProperty;
+
+		ServiceMethods(Class<?> serviceClass) {
+			MethodHandle translateHandle = null;
+			MethodHandle translateSortingPropertyHandle = null;
+			for (Method method : serviceClass.getMethods()) {
+				String methodName = method.getName();
+				// check params:
+				Class<?>[]  paramTypes = method.getParameterTypes();
+				if (paramTypes.length == 2 && paramTypes[0].equals(Object.class) && paramTypes[1].equals(String.class)) {
+					if (TRANSLATE_METHOD_NAME.equals(methodName)) {
+						translateHandle = bind(method);
+					} else if (TRANSLATE_SORTING_PROPERTY_METHOD_NAME.equals(methodName)) {
+						translateSortingPropertyHandle = bind(method);
+					}
+				}
+			}
+			this.translate = translateHandle;
+			this.translateSortingProperty = translateSortingPropertyHandle;
+		}
+
+		private static MethodHandle bind(Method method) {
+			try {
+				// public methods of non public classes are not accessible through a public lookup
+				method.setAccessible(true);
+				return MethodHandles.lookup().unreflect(method).asType(SERVICE_METHOD_TYPE);
+			} catch (Exception e) {
+				log.warn("Unable to access " + method.getName() + " on " + method.getDeclaringClass(), e);
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Display service of the current request, with its methods and translation cache.
+	 */
+	private static final class Binding {
+
+		final Object service;
+
+		final ServiceMethods methods;
+
+		final TranslationCache cache;
+
+		Binding(Object service, ServiceMethods methods, TranslationCache cache) {
+			this.service = service;
+			this.methods = methods;
+			this.cache = cache;
+		}
+
+		String translate(Object bean, String name) throws Throwable {
+			if (cache != null) {
+				Object cached = cache.get(bean, name);
+				if (cached != TranslationCache.NOT_CACHED) {
+					return (String) cached;
+				}
+			}
+			String value = (String) (Object) methods.translate.invokeExact(service, bean, name);
+			if (cache != null) {
+				cache.put(bean, name, value);
+			}
+			return value;
+		}
+	}
 }
\ No newline at end of file
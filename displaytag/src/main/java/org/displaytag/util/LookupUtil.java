@@ -30,12 +30,14 @@
  *
  * 19 March 2019
  * Add ability to operate in multi-lingual environments.
+ *
+ * 18 October 2026
+ * Property expressions are parsed once and bean getters are cached.
  */ 
 package org.displaytag.util;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
-import java.util.Map;
 
 import javax.servlet.jsp.PageContext;
 
@@ -46,7 +48,6 @@ import org.apache.commons.lang.Validate;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.displaytag.exception.ObjectLookupException;
-import org.displaytag.tags.DataGridCustomiztionUtil;
 
 
 /**
@@ -202,108 +203,8 @@ public final class LookupUtil
         Validate.notNull(bean, "No bean specified");
         Validate.notNull(name, "No name specified");
 
-        // property of a child collection is in the form of [collectionPropertyInParentClass].propertyNameInChildClass
-        if (name.indexOf("[") != -1 && name.indexOf("].") != -1) {
-    		return DataGridCustomiztionUtil.findLinkedTableFieldValue(bean, name);
-    	}
-
-        Object evalBean = bean;
-        String evalName = name;
-
-        if (evalBean == null)
-        {
-            throw new IllegalArgumentException("No bean specified");
-        }
-        if (evalName == null)
-        {
-            throw new IllegalArgumentException("No name specified");
-        }
-
-        int indexOfINDEXEDDELIM = -1;
-        int indexOfMAPPEDDELIM = -1;
-        int indexOfMAPPEDDELIM2 = -1;
-        int indexOfNESTEDDELIM = -1;
-        while (true)
-        {
-
-            indexOfNESTEDDELIM = evalName.indexOf(PropertyUtils.NESTED_DELIM);
-            indexOfMAPPEDDELIM = evalName.indexOf(PropertyUtils.MAPPED_DELIM);
-            indexOfMAPPEDDELIM2 = evalName.indexOf(PropertyUtils.MAPPED_DELIM2);
-            if (indexOfMAPPEDDELIM2 >= 0
-                && indexOfMAPPEDDELIM >= 0
-                && (indexOfNESTEDDELIM < 0 || indexOfNESTEDDELIM > indexOfMAPPEDDELIM))
-            {
-                indexOfNESTEDDELIM = evalName.indexOf(PropertyUtils.NESTED_DELIM, indexOfMAPPEDDELIM2);
-            }
-            else
-            {
-                indexOfNESTEDDELIM = evalName.indexOf(PropertyUtils.NESTED_DELIM);
-            }
-            if (indexOfNESTEDDELIM < 0)
-            {
-                break;
-            }
-            String next = evalName.substring(0, indexOfNESTEDDELIM);
-            indexOfINDEXEDDELIM = next.indexOf(PropertyUtils.INDEXED_DELIM);
-            indexOfMAPPEDDELIM = next.indexOf(PropertyUtils.MAPPED_DELIM);
-            if (evalBean instanceof Map)
-            {
-                evalBean = ((Map) evalBean).get(next);
-            }
-            else if (indexOfMAPPEDDELIM >= 0)
-            {
-
-                evalBean = PropertyUtils.getMappedProperty(evalBean, next);
-
-            }
-            else if (indexOfINDEXEDDELIM >= 0)
-            {
-                evalBean = getIndexedProperty(evalBean, next);
-            }
-            else
-            {
-                evalBean = PropertyUtils.getSimpleProperty(evalBean, next);
-            }
-
-            if (evalBean == null)
-            {
-                log.debug("Null property value for '" + evalName.substring(0, indexOfNESTEDDELIM) + "'");
-                return null;
-            }
-            evalName = evalName.substring(indexOfNESTEDDELIM + 1);
-
-        }
-
-        indexOfINDEXEDDELIM = evalName.indexOf(PropertyUtils.INDEXED_DELIM);
-        indexOfMAPPEDDELIM = evalName.indexOf(PropertyUtils.MAPPED_DELIM);
-
-        if (evalBean == null)
-        {
-            log.debug("Null property value for '" + evalName.substring(0, indexOfNESTEDDELIM) + "'");
-            return null;
-        }
-        else if (evalBean instanceof Map)
-        {
-            evalBean = ((Map) evalBean).get(evalName);
-        }
-        else if (indexOfMAPPEDDELIM >= 0)
-        {
-            evalBean = PropertyUtils.getMappedProperty(evalBean, evalName);
-        }
-        else if (indexOfINDEXEDDELIM >= 0)
-        {
-            evalBean = getIndexedProperty(evalBean, evalName);
-        }
-        else
-        {
-        	if (StringUtils.upperCase(evalName).startsWith("CF_")) // custom fields
-        		evalBean = DataGridCustomiztionUtil.findCustomFieldValue(evalBean, evalName);
-        	else	
-        		evalBean = HxgnDisplayUtil.findFieldValue(evalBean, evalName);
-        }
-
-        return evalBean;
-
+        // the expression is parsed once and cached, see PropertyPath for the evaluation rules
+        return PropertyPath.compile(name).getValue(bean);
     }
 
     /**
@@ -346,6 +247,23 @@ public final class LookupUtil
         }
         evalName = evalName.substring(0, delim);
 
+        return getIndexedProperty(bean, evalName, index);
+    }
+
+    /**
+     * Return the value of the specified indexed property of the specified bean, with the property name and index
+     * already parsed. Supports <code>List</code> objects and arrays when the property name is empty.
+     * @param bean Bean whose property is to be extracted
+     * @param evalName name of the indexed property, empty to index the bean itself
+     * @param index zero-relative index
+     * @return Object
+     * @exception IllegalAccessException if the caller does not have access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method throws an exception
+     * @exception NoSuchMethodException if an accessor method for this propety cannot be found
+     */
+    static Object getIndexedProperty(Object bean, String evalName, int index) throws IllegalAccessException,
+        InvocationTargetException, NoSuchMethodException
+    {
         if (log.isDebugEnabled())
         {
             log.debug("getIndexedProperty property name={" + evalName + "} with index " + index);
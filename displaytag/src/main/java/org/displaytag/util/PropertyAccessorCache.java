@@ -0,0 +1,177 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Resolve bean getters once per class instead of on every cell lookup.
+ */
+package org.displaytag.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+
+/**
+ * Cache of simple property getters. The read method for a (bean class, property name) pair is looked up once through
+ * commons-beanutils and kept as a <code>MethodHandle</code>; later reads invoke the handle directly. Properties which
+ * can't be resolved to a plain public getter (dyna beans, missing properties...) are delegated to
+ * <code>PropertyUtils.getSimpleProperty()</code>, so that error handling stays exactly the same.
+ */
+public final class PropertyAccessorCache
+{
+
+    /**
+     * logger.
+     */
+    private static Log log = LogFactory.getLog(PropertyAccessorCache.class);
+
+    /**
+     * Generic getter signature: <code>Object get(Object bean)</code>.
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Placeholder for properties which must be read through beanutils.
+     */
+    private static final MethodHandle NO_GETTER = MethodHandles.constant(Object.class, null);
+
+    /**
+     * Getters by property name, attached to the bean class so that entries go away with their classloader.
+     */
+    private static final ClassValue<ConcurrentMap<String, MethodHandle>> GETTERS = //
+    new ClassValue<ConcurrentMap<String, MethodHandle>>()
+    {
+
+        protected ConcurrentMap<String, MethodHandle> computeValue(Class< ? > type)
+        {
+            return new ConcurrentHashMap<String, MethodHandle>();
+        }
+    };
+
+    /**
+     * don't instantiate.
+     */
+    private PropertyAccessorCache()
+    {
+        // unused
+    }
+
+    /**
+     * Return the value of the specified simple property of the specified bean, with no type conversions. Same contract
+     * as <code>PropertyUtils.getSimpleProperty()</code>.
+     * @param bean Bean whose property is to be extracted
+     * @param name Name of the property to be extracted
+     * @return property value
+     * @throws IllegalAccessException if the caller does not have access to the property accessor method
+     * @throws InvocationTargetException if the property accessor method throws an exception
+     * @throws NoSuchMethodException if an accessor method for this propety cannot be found
+     */
+    public static Object getSimpleProperty(Object bean, String name) throws IllegalAccessException,
+        InvocationTargetException, NoSuchMethodException
+    {
+        if (bean == null || name == null || bean instanceof DynaBean)
+        {
+            return PropertyUtils.getSimpleProperty(bean, name);
+        }
+
+        MethodHandle getter = getGetter(bean, name);
+        if (getter == NO_GETTER)
+        {
+            return PropertyUtils.getSimpleProperty(bean, name);
+        }
+
+        try
+        {
+            return (Object) getter.invokeExact(bean);
+        }
+        catch (Throwable e)
+        {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Returns the cached getter for the given property, resolving it on first access.
+     * @param bean bean instance
+     * @param name simple property name
+     * @return getter handle, <code>NO_GETTER</code> if the property must be read through beanutils
+     */
+    private static MethodHandle getGetter(Object bean, String name)
+    {
+        ConcurrentMap<String, MethodHandle> classGetters = GETTERS.get(bean.getClass());
+        MethodHandle getter = classGetters.get(name);
+        if (getter == null)
+        {
+            getter = resolveGetter(bean, name);
+            MethodHandle existing = classGetters.putIfAbsent(name, getter);
+            if (existing != null)
+            {
+                getter = existing;
+            }
+        }
+        return getter;
+    }
+
+    /**
+     * Looks up the read method for a property.
+     * @param bean bean instance
+     * @param name simple property name
+     * @return getter handle, <code>NO_GETTER</code> if no plain public getter is available
+     */
+    private static MethodHandle resolveGetter(Object bean, String name)
+    {
+        // nested, indexed and mapped names are rejected by beanutils, keep its exception
+        if (name.indexOf(PropertyUtils.NESTED_DELIM) != -1
+            || name.indexOf(PropertyUtils.INDEXED_DELIM) != -1
+            || name.indexOf(PropertyUtils.MAPPED_DELIM) != -1)
+        {
+            return NO_GETTER;
+        }
+
+        try
+        {
+            PropertyDescriptor descriptor = PropertyUtils.getPropertyDescriptor(bean, name);
+            Method readMethod = (descriptor != null) ? PropertyUtils.getReadMethod(descriptor) : null;
+            if (readMethod != null && readMethod.getParameterTypes().length == 0)
+            {
+                return MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE);
+            }
+        }
+        catch (Exception e)
+        {
+            if (log.isDebugEnabled())
+            {
+                log.debug("Unable to resolve a getter for property [" + name + "] in " + bean.getClass(), e);
+            }
+        }
+        return NO_GETTER;
+    }
+
+}
@@ -0,0 +1,289 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Parse property expressions once instead of on every cell lookup.
+ */
+package org.displaytag.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.displaytag.tags.DataGridCustomiztionUtil;
+
+
+/**
+ * A parsed property expression such as <code>a.b[2].c(key)</code>. The expression is split into its nested parts
+ * once and cached, evaluation then only walks the precomputed parts. Evaluation rules are the ones of
+ * <code>LookupUtil.getProperty()</code>.
+ */
+final class PropertyPath
+{
+
+    /**
+     * logger.
+     */
+    private static Log log = LogFactory.getLog(PropertyPath.class);
+
+    /**
+     * Upper bound for the number of cached expressions, further expressions are parsed on every call.
+     */
+    private static final int MAX_CACHED_PATHS = 4096;
+
+    /**
+     * Parsed expressions.
+     */
+    private static final ConcurrentMap<String, PropertyPath> CACHE = new ConcurrentHashMap<String, PropertyPath>();
+
+    /**
+     * Simple property.
+     */
+    private static final int SIMPLE = 0;
+
+    /**
+     * Mapped property: <code>name(key)</code>.
+     */
+    private static final int MAPPED = 1;
+
+    /**
+     * Indexed property: <code>name[index]</code>.
+     */
+    private static final int INDEXED = 2;
+
+    /**
+     * Custom field (<code>CF_*</code>), only for the last part.
+     */
+    private static final int CUSTOM_FIELD = 3;
+
+    /**
+     * Original expression.
+     */
+    private final String name;
+
+    /**
+     * Property of a child collection, in the form of [collectionPropertyInParentClass].propertyNameInChildClass.
+     */
+    private final boolean linkedField;
+
+    /**
+     * Nested parts of the expression.
+     */
+    private final String[] parts;
+
+    /**
+     * Type of each part.
+     */
+    private final int[] types;
+
+    /**
+     * Property name for indexed parts (text before the brackets).
+     */
+    private final String[] indexedNames;
+
+    /**
+     * Index for indexed parts, -1 if the index can't be parsed.
+     */
+    private final int[] indexes;
+
+    /**
+     * Parses the given expression.
+     * @param expression property expression
+     */
+    private PropertyPath(String expression)
+    {
+        this.name = expression;
+        this.linkedField = expression.indexOf("[") != -1 && expression.indexOf("].") != -1;
+
+        List partList = new ArrayList(4);
+        String evalName = expression;
+        while (true)
+        {
+            int indexOfNESTEDDELIM = evalName.indexOf(PropertyUtils.NESTED_DELIM);
+            int indexOfMAPPEDDELIM = evalName.indexOf(PropertyUtils.MAPPED_DELIM);
+            int indexOfMAPPEDDELIM2 = evalName.indexOf(PropertyUtils.MAPPED_DELIM2);
+            if (indexOfMAPPEDDELIM2 >= 0
+                && indexOfMAPPEDDELIM >= 0
+                && (indexOfNESTEDDELIM < 0 || indexOfNESTEDDELIM > indexOfMAPPEDDELIM))
+            {
+                indexOfNESTEDDELIM = evalName.indexOf(PropertyUtils.NESTED_DELIM, indexOfMAPPEDDELIM2);
+            }
+            if (indexOfNESTEDDELIM < 0)
+            {
+                break;
+            }
+            partList.add(evalName.substring(0, indexOfNESTEDDELIM));
+            evalName = evalName.substring(indexOfNESTEDDELIM + 1);
+        }
+        partList.add(evalName);
+
+        int size = partList.size();
+        this.parts = (String[]) partList.toArray(new String[size]);
+        this.types = new int[size];
+        this.indexedNames = new String[size];
+        this.indexes = new int[size];
+
+        for (int j = 0; j < size; j++)
+        {
+            String part = this.parts[j];
+            this.indexes[j] = -1;
+            if (part.indexOf(PropertyUtils.MAPPED_DELIM) >= 0)
+            {
+                this.types[j] = MAPPED;
+            }
+            else if (part.indexOf(PropertyUtils.INDEXED_DELIM) >= 0)
+            {
+                this.types[j] = INDEXED;
+                parseIndex(j);
+            }
+            else if (j == size - 1 && StringUtils.upperCase(part).startsWith("CF_"))
+            {
+                this.types[j] = CUSTOM_FIELD;
+            }
+            else
+            {
+                this.types[j] = SIMPLE;
+            }
+        }
+    }
+
+    /**
+     * Returns the parsed form of a property expression.
+     * @param expression property expression
+     * @return PropertyPath
+     */
+    static PropertyPath compile(String expression)
+    {
+        PropertyPath path = (PropertyPath) CACHE.get(expression);
+        if (path == null)
+        {
+            path = new PropertyPath(expression);
+            if (CACHE.size() < MAX_CACHED_PATHS)
+            {
+                CACHE.putIfAbsent(expression, path);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Splits an indexed part into property name and index. Invalid parts are left to
+     * <code>LookupUtil.getIndexedProperty()</code>, which reports the error.
+     * @param j part number
+     */
+    private void parseIndex(int j)
+    {
+        String part = this.parts[j];
+        int delim = part.indexOf(PropertyUtils.INDEXED_DELIM);
+        int delim2 = part.indexOf(PropertyUtils.INDEXED_DELIM2);
+        if (delim2 > delim)
+        {
+            try
+            {
+                this.indexes[j] = Integer.parseInt(part.substring(delim + 1, delim2));
+                this.indexedNames[j] = part.substring(0, delim);
+            }
+            catch (NumberFormatException e)
+            {
+                this.indexes[j] = -1;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the expression on the given bean.
+     * @param bean Bean whose property is to be extracted
+     * @return Object
+     * @throws IllegalAccessException if the caller does not have access to the property accessor method
+     * @throws InvocationTargetException if the property accessor method throws an exception
+     * @throws NoSuchMethodException if an accessor method for this propety cannot be found
+     */
+    Object getValue(Object bean) throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+    {
+        if (this.linkedField)
+        {
+            return DataGridCustomiztionUtil.findLinkedTableFieldValue(bean, this.name);
+        }
+
+        Object evalBean = bean;
+        int last = this.parts.length - 1;
+        for (int j = 0; j < last; j++)
+        {
+            evalBean = getPart(evalBean, j);
+            if (evalBean == null)
+            {
+                if (log.isDebugEnabled())
+                {
+                    log.debug("Null property value for '" + this.parts[j] + "'");
+                }
+                return null;
+            }
+        }
+
+        return getPart(evalBean, last);
+    }
+
+    /**
+     * Reads a single part of the expression.
+     * @param bean current bean, not null
+     * @param j part number
+     * @return Object
+     * @throws IllegalAccessException if the caller does not have access to the property accessor method
+     * @throws InvocationTargetException if the property accessor method throws an exception
+     * @throws NoSuchMethodException if an accessor method for this propety cannot be found
+     */
+    private Object getPart(Object bean, int j) throws IllegalAccessException, InvocationTargetException,
+        NoSuchMethodException
+    {
+        String part = this.parts[j];
+        if (bean instanceof Map)
+        {
+            return ((Map) bean).get(part);
+        }
+
+        switch (this.types[j])
+        {
+            case MAPPED :
+                return PropertyUtils.getMappedProperty(bean, part);
+            case INDEXED :
+                if (this.indexes[j] < 0)
+                {
+                    return LookupUtil.getIndexedProperty(bean, part);
+                }
+                return LookupUtil.getIndexedProperty(bean, this.indexedNames[j], this.indexes[j]);
+            case CUSTOM_FIELD :
+                return DataGridCustomiztionUtil.findCustomFieldValue(bean, part);
+            default :
+                if (j == this.parts.length - 1)
+                {
+                    return HxgnDisplayUtil.findFieldValue(bean, part);
+                }
+                return PropertyAccessorCache.getSimpleProperty(bean, part);
+        }
+    }
+
+}
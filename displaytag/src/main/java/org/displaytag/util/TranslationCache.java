@@ -0,0 +1,186 @@
+/**
+ * Licensed under the Artistic License; you may not use this file
+ * except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://displaytag.sourceforge.net/license.html
+ *
+ * THIS PACKAGE IS PROVIDED "AS IS" AND WITHOUT ANY EXPRESS OR
+ * IMPLIED WARRANTIES, INCLUDING, WITHOUT LIMITATION, THE IMPLIED
+ * WARRANTIES OF MERCHANTIBILITY AND FITNESS FOR A PARTICULAR PURPOSE.
+ */
+/**
+ * Copyright 2014-2026 Intergraph Corporation d/b/a Hexagon Safety & Infrastruture ("Hexagon")
+ * Hexagon is part of Hexagon AB.
+ * All rights reserved.
+ *
+ * Per the conditions of the Artistic License,
+ * Hexagon Safety & Infrastructure states that it has created this file as an
+ * extension to the Standard Package for the following purposes:
+ *
+ * 18 October 2026
+ * Translate identical values once per request instead of once per cell.
+ */
+package org.displaytag.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.ObjectUtils;
+
+
+/**
+ * Bounded cache of the names translated by the display service, for a single request, locale and service instance.
+ * Entries are keyed by bean identity and property name, so beans are only held for the request and their
+ * <code>equals()</code> and <code>hashCode()</code> are never called. The least recently used entries are evicted
+ * above the maximum size. Beans with no translation are cached as well.
+ * <p>
+ * The cache is thread safe.
+ * </p>
+ */
+final class TranslationCache
+{
+
+    /**
+     * Returned by <code>get()</code> if no translation has been cached.
+     */
+    static final Object NOT_CACHED = new Object();
+
+    /**
+     * Cached for beans with no translation.
+     */
+    private static final Object NO_TRANSLATION = new Object();
+
+    /**
+     * Service instance the translations come from.
+     */
+    private final Object service;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int maxSize;
+
+    /**
+     * Translations by key, in access order.
+     */
+    private final Map<Key, Object> entries;
+
+    /**
+     * @param service service instance the translations come from
+     * @param size maximum number of entries
+     */
+    TranslationCache(Object service, int size)
+    {
+        this.service = service;
+        this.maxSize = size;
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true)
+        {
+
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest)
+            {
+                return size() > TranslationCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the service instance the translations come from.
+     * @return service instance
+     */
+    Object getService()
+    {
+        return this.service;
+    }
+
+    /**
+     * Returns a cached translation.
+     * @param bean translated bean
+     * @param name property name
+     * @return translation, null if the bean has no translation, NOT_CACHED if not cached
+     */
+    Object get(Object bean, String name)
+    {
+        Object value;
+        synchronized (this.entries)
+        {
+            value = this.entries.get(new Key(bean, name));
+        }
+        if (value == null)
+        {
+            return NOT_CACHED;
+        }
+        return value == NO_TRANSLATION ? null : value;
+    }
+
+    /**
+     * Caches a translation.
+     * @param bean translated bean
+     * @param name property name
+     * @param value translation, null if the bean has no translation
+     */
+    void put(Object bean, String name, String value)
+    {
+        synchronized (this.entries)
+        {
+            this.entries.put(new Key(bean, name), value == null ? NO_TRANSLATION : value);
+        }
+    }
+
+    /**
+     * Bean, compared by identity, and property name.
+     */
+    private static final class Key
+    {
+
+        /**
+         * Translated bean.
+         */
+        private final Object bean;
+
+        /**
+         * Property name.
+         */
+        private final String name;
+
+        /**
+         * Hash code, computed once.
+         */
+        private final int hash;
+
+        /**
+         * @param bean translated bean
+         * @param name property name
+         */
+        Key(Object bean, String name)
+        {
+            this.bean = bean;
+            this.name = name;
+            this.hash = System.identityHashCode(bean) * 31 + ObjectUtils.hashCode(name);
+        }
+
+        /**
+         * @see java.lang.Object#hashCode()
+         */
+        public int hashCode()
+        {
+            return this.hash;
+        }
+
+        /**
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        public boolean equals(Object object)
+        {
+            if (!(object instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) object;
+            return this.bean == other.bean && ObjectUtils.equals(this.name, other.name);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.displaytag.decorator;
+
+/**
+ * Multilevel totals with count, min and max in the second, third and fourth column.
+ */
+public class AggregateFunctionsTableDecorator extends MultilevelTotalTableDecorator
+{
+
+    /**
+     * Sets the aggregate functions.
+     */
+    public AggregateFunctionsTableDecorator()
+    {
+        setAggregateFunction(1, COUNT);
+        setAggregateFunction(2, MIN);
+        setAggregateFunction(3, MAX);
+    }
+}
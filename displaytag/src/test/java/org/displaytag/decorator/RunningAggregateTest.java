@@ -0,0 +1,68 @@
+package org.displaytag.decorator;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for RunningAggregate.
+ */
+public class RunningAggregateTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Aggregate functions on a set of values.
+     */
+    public void testAggregates()
+    {
+        RunningAggregate aggregate = new RunningAggregate();
+        aggregate.add(new Integer(4), new Double(4));
+        aggregate.add(new Integer(1), new Double(5));
+        aggregate.add(new Double(7.5), new Double(12.5));
+
+        assertEquals(new Double(12.5), aggregate.get(MultilevelTotalTableDecorator.SUM));
+        assertEquals(new Integer(3), aggregate.get(MultilevelTotalTableDecorator.COUNT));
+        assertEquals(new Integer(1), aggregate.get(MultilevelTotalTableDecorator.MIN));
+        assertEquals(new Double(7.5), aggregate.get(MultilevelTotalTableDecorator.MAX));
+        assertEquals(new Double(12.5 / 3), aggregate.get(MultilevelTotalTableDecorator.AVERAGE));
+    }
+
+    /**
+     * Count, min and max of text values, which are not summed.
+     */
+    public void testText()
+    {
+        RunningAggregate aggregate = new RunningAggregate();
+        aggregate.add("pear", null);
+        aggregate.add("apple", null);
+        aggregate.add("fig", null);
+
+        assertNull(aggregate.get(MultilevelTotalTableDecorator.SUM));
+        assertEquals(new Integer(3), aggregate.get(MultilevelTotalTableDecorator.COUNT));
+        assertEquals("apple", aggregate.get(MultilevelTotalTableDecorator.MIN));
+        assertEquals("pear", aggregate.get(MultilevelTotalTableDecorator.MAX));
+        assertNull(aggregate.get(MultilevelTotalTableDecorator.AVERAGE));
+    }
+
+    /**
+     * Values are cleared at the end of a group.
+     */
+    public void testReset()
+    {
+        RunningAggregate aggregate = new RunningAggregate();
+        aggregate.add(new Integer(4), new Double(4));
+        aggregate.reset();
+
+        assertNull(aggregate.get(MultilevelTotalTableDecorator.SUM));
+        assertEquals(new Integer(0), aggregate.get(MultilevelTotalTableDecorator.COUNT));
+        assertNull(aggregate.get(MultilevelTotalTableDecorator.MIN));
+        assertNull(aggregate.get(MultilevelTotalTableDecorator.AVERAGE));
+    }
+}
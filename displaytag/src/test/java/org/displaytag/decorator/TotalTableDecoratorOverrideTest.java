@@ -0,0 +1,85 @@
+package org.displaytag.decorator;
+
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import org.displaytag.model.TableModel;
+
+
+/**
+ * Methods returning Strings overridden by subclasses of the total decorators are still used when rows are written
+ * directly to the output.
+ */
+public class TotalTableDecoratorOverrideTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * An overridden createTotalRow() writes the total row.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testCreateTotalRowOverridden() throws Exception
+    {
+        TotalTableDecorator decorator = new TotalTableDecorator()
+        {
+
+            protected String createTotalRow(boolean grandTotal)
+            {
+                return "<tr>custom " + grandTotal + "</tr>";
+            }
+        };
+        decorator.init(null, Collections.singletonList("row"), new TableModel(null, null, null));
+        decorator.initRow("row", 0, 0);
+
+        StringBuffer out = new StringBuffer();
+        decorator.finishRow(out);
+        assertEquals("<tr>custom true</tr>", out.toString());
+    }
+
+    /**
+     * Overridden startRow() and finishRow() are written.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testRowMethodsOverridden() throws Exception
+    {
+        MultilevelTotalTableDecorator decorator = new MultilevelTotalTableDecorator()
+        {
+
+            public String startRow()
+            {
+                return "<tr>start</tr>" + super.startRow();
+            }
+
+            public String finishRow()
+            {
+                return "<tr>finish</tr>";
+            }
+        };
+
+        StringBuffer out = new StringBuffer();
+        decorator.startRow(out);
+        decorator.finishRow(out);
+        assertEquals("<tr>start</tr><tr>finish</tr>", out.toString());
+    }
+
+    /**
+     * Decorators which don't override the String methods write their rows directly.
+     */
+    public void testNotOverridden()
+    {
+        assertFalse(new TotalTableDecorator().isOverridden(TotalTableDecorator.class, "createTotalRow", new Class[]{
+            Boolean.TYPE}));
+        assertFalse(new MultilevelTotalTableDecorator().isOverridden(
+            MultilevelTotalTableDecorator.class,
+            "startRow",
+            new Class[0]));
+    }
+}
@@ -0,0 +1,104 @@
+package org.displaytag.filter;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for BufferedResponseWrapper13Impl.
+ */
+public class BufferedResponseWrapper13ImplTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Returns a response which is never written to: the wrapper keeps everything in its buffers.
+     * @return HttpServletResponse
+     */
+    private HttpServletResponse getResponse()
+    {
+        return (HttpServletResponse) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class[]{HttpServletResponse.class},
+            new InvocationHandler()
+            {
+
+                public Object invoke(Object proxy, Method method, Object[] args)
+                {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    /**
+     * Content written to the writer and to the output stream is returned, and can be read more than once.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testContent() throws Exception
+    {
+        BufferedResponseWrapper13Impl wrapper = new BufferedResponseWrapper13Impl(getResponse());
+
+        StringBuffer text = new StringBuffer();
+        for (int j = 0; j < 2000; j++)
+        {
+            text.append("<tr><td>").append(j).append("</td></tr>\n");
+        }
+
+        PrintWriter writer = wrapper.getWriter();
+        assertSame(writer, wrapper.getWriter());
+        writer.write(text.toString());
+        writer.flush();
+
+        ServletOutputStream stream = wrapper.getOutputStream();
+        byte[] bytes = text.toString().getBytes();
+        stream.write(bytes, 0, bytes.length);
+        stream.write('!');
+
+        String expected = text.toString() + text.toString() + "!";
+        assertEquals(expected, wrapper.getContentAsString());
+
+        StringWriter out = new StringWriter();
+        wrapper.writeContentTo(out);
+        assertEquals(expected, out.toString());
+
+        out = new StringWriter();
+        wrapper.writeContentTo(out);
+        assertEquals(expected, out.toString());
+        assertEquals(expected, wrapper.getContentAsString());
+    }
+
+    /**
+     * A released wrapper is empty.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testRelease() throws Exception
+    {
+        BufferedResponseWrapper13Impl wrapper = new BufferedResponseWrapper13Impl(getResponse());
+        wrapper.getWriter().write("page");
+        wrapper.getWriter().flush();
+        wrapper.getOutputStream().write('.');
+        assertEquals("page.", wrapper.getContentAsString());
+
+        wrapper.release();
+        assertEquals("", wrapper.getContentAsString());
+
+        StringWriter out = new StringWriter();
+        wrapper.writeContentTo(out);
+        assertEquals("", out.toString());
+    }
+}
@@ -0,0 +1,50 @@
+package org.displaytag.jsptests;
+
+import org.displaytag.test.DisplaytagCase;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.WebResponse;
+import com.meterware.httpunit.WebTable;
+
+
+/**
+ * Tests for custom field and linked table columns read in bulk from the custom grid query service.
+ */
+public class CustomFieldPrefetchTest extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "customfieldprefetch.jsp";
+    }
+
+    /**
+     * The values of the rows of the page are read with one call for each kind of field, and are discarded once the
+     * table is written.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+        WebResponse response = runner.getResponse(new GetMethodWebRequest(jspName));
+
+        if (log.isDebugEnabled())
+        {
+            log.debug(response.getText());
+        }
+
+        WebTable[] tables = response.getTables();
+        assertEquals("Wrong number of tables.", 1, tables.length);
+        assertEquals("Wrong number of rows.", 3, tables[0].getRowCount());
+        assertEquals("bulk0.CF_A", tables[0].getCellAsText(1, 0));
+        assertEquals("bulk0.[links].name", tables[0].getCellAsText(1, 1));
+        assertEquals("bulk1.CF_A", tables[0].getCellAsText(2, 0));
+        assertEquals("bulk1.[links].name", tables[0].getCellAsText(2, 1));
+
+        assertEquals("Wrong number of calls.", "2/0", response.getElementWithID("calls").getText());
+        assertEquals("Prefetched values not cleared.", "single.CF_A", response.getElementWithID("after").getText());
+    }
+}
@@ -0,0 +1,93 @@
+package org.displaytag.jsptests;
+
+import org.displaytag.test.DisplaytagCase;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.HTMLElement;
+import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
+import com.meterware.httpunit.WebTable;
+
+
+/**
+ * Tests for columns with exactTotal="true": totals are computed with BigDecimal.
+ */
+public class ExactTotalsTest extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "exacttotals.jsp";
+    }
+
+    /**
+     * 0.1 + 0.2 is 0.3, both in the total row and in varTotals.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+
+        WebRequest request = new GetMethodWebRequest(jspName);
+
+        WebResponse response = runner.getResponse(request);
+
+        if (log.isDebugEnabled())
+        {
+            log.debug(response.getText());
+        }
+
+        HTMLElement divtotal = response.getElementWithID("divtotal");
+        assertEquals("0.3", divtotal.getText());
+
+        WebTable[] tables = response.getTables();
+        assertEquals("Wrong number of tables.", 1, tables.length);
+        WebTable table = tables[0];
+        assertEquals("Wrong number of rows.", 4, table.getRowCount());
+        assertEquals("Total not found in last row.", "0.3", table.getCellAsText(3, 0));
+    }
+
+    /**
+     * NaN and infinite values are skipped in exact totals, with the non-el tld.
+     * @throws Exception any axception thrown during test.
+     */
+    public void testNotFinite11() throws Exception
+    {
+        doTestNotFinite("http://localhost" + CONTEXT + "/standard/exacttotalsnan.jsp");
+    }
+
+    /**
+     * NaN and infinite values are skipped in exact totals, with the el tld.
+     * @throws Exception any axception thrown during test.
+     */
+    public void testNotFiniteEL() throws Exception
+    {
+        doTestNotFinite("http://localhost" + CONTEXT + "/el/exacttotalsnan.jsp");
+    }
+
+    /**
+     * 0.1 + NaN + 0.2 + Infinity is 0.3, the page is rendered.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    private void doTestNotFinite(String jspName) throws Exception
+    {
+        WebResponse response = runner.getResponse(new GetMethodWebRequest(jspName));
+
+        if (log.isDebugEnabled())
+        {
+            log.debug(response.getText());
+        }
+
+        assertEquals("0.3", response.getElementWithID("divtotal").getText());
+
+        WebTable[] tables = response.getTables();
+        assertEquals("Wrong number of tables.", 1, tables.length);
+        assertEquals("Wrong number of rows.", 6, tables[0].getRowCount());
+        assertEquals("Total not found in last row.", "0.3", tables[0].getCellAsText(5, 0));
+    }
+
+}
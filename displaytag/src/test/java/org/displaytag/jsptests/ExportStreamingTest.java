@@ -0,0 +1,67 @@
+package org.displaytag.jsptests;
+
+import org.displaytag.properties.MediaTypeEnum;
+import org.displaytag.tags.TableTagParameters;
+import org.displaytag.test.DisplaytagCase;
+import org.displaytag.util.ParamEncoder;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
+
+
+/**
+ * Tests for streaming export: each row is written as soon as the body has been evaluated for it.
+ */
+public class ExportStreamingTest extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "exportstreaming.jsp";
+    }
+
+    /**
+     * The streamed export is the same as the buffered one, the body is evaluated for every row. Once a row is marked
+     * by the body of the next row, only the buffered export shows the change: streamed rows are already written.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+        String buffered = export(jspName, false, false);
+        assertEquals("Wrong buffered content.", "ant,yes\nant,yes\nant,yes\n", buffered);
+        assertEquals("Streamed content differs from buffered content.", buffered, export(jspName, true, false));
+
+        assertEquals("Wrong buffered content.", "ant,marked\nant,marked\nant,yes\n", export(jspName, false, true));
+        assertEquals("Rows have not been streamed.", "ant,yes\nant,yes\nant,yes\n", export(jspName, true, true));
+    }
+
+    /**
+     * Exports the table to csv.
+     * @param jspName jsp name, with full path
+     * @param streaming value of the export.streaming property
+     * @param mark mark each row from the body of the next one
+     * @return exported content
+     * @throws Exception any axception thrown during test.
+     */
+    private String export(String jspName, boolean streaming, boolean mark) throws Exception
+    {
+        ParamEncoder encoder = new ParamEncoder("table");
+        String mediaParameter = encoder.encodeParameterName(TableTagParameters.PARAMETER_EXPORTTYPE);
+
+        WebRequest request = new GetMethodWebRequest(jspName);
+        request.setParameter(mediaParameter, Integer.toString(MediaTypeEnum.CSV.getCode()));
+        request.setParameter("streaming", Boolean.toString(streaming));
+        request.setParameter("mark", Boolean.toString(mark));
+
+        WebResponse response = runner.getResponse(request);
+
+        assertEquals("Expected a different content type.", "text/csv", response.getContentType());
+        return response.getText();
+    }
+
+}
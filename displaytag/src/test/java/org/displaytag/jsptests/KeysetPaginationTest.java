@@ -0,0 +1,75 @@
+package org.displaytag.jsptests;
+
+import org.displaytag.test.DisplaytagCase;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.HTMLElement;
+import com.meterware.httpunit.WebLink;
+import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
+import com.meterware.httpunit.WebTable;
+
+
+/**
+ * Tests for KeysetPaginatedList: navigation links carry the cursors, the summary doesn't need the full list size.
+ */
+public class KeysetPaginationTest extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "keysetpagination.jsp";
+    }
+
+    /**
+     * Page 3, after item 4.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+        WebRequest request = new GetMethodWebRequest(jspName);
+        request.setParameter("page", "3");
+        request.setParameter("after", "4");
+
+        WebResponse response = runner.getResponse(request);
+
+        if (log.isDebugEnabled())
+        {
+            log.debug(response.getText());
+        }
+
+        WebTable[] tables = response.getTables();
+        assertEquals("Wrong number of tables in result.", 1, tables.length);
+        assertEquals("Wrong number of rows in result.", 3, tables[0].getRowCount());
+        assertEquals("Wrong column content.", "5", tables[0].getCellAsText(1, 0));
+        assertEquals("Wrong column content.", "6", tables[0].getCellAsText(2, 0));
+
+        HTMLElement pagebanner = response.getElementWithID("pagebanner");
+        assertEquals("Wrong page banner", "5|6|3", pagebanner.getText());
+        HTMLElement pagelinks = response.getElementWithID("pagelinks");
+        assertEquals("Wrong page links", "[3]|first|prev|next", pagelinks.getText());
+
+        WebLink first = response.getLinkWithID("first");
+        assertEqualsIgnoreOrder("Wrong parameters.", new String[]{"page"}, first.getParameterNames());
+        assertEquals("1", first.getParameterValues("page")[0]);
+
+        WebLink previous = response.getLinkWithID("prev");
+        assertEqualsIgnoreOrder("Wrong parameters.", new String[]{"page", "before"}, previous.getParameterNames());
+        assertEquals("2", previous.getParameterValues("page")[0]);
+        assertEquals("5", previous.getParameterValues("before")[0]);
+
+        WebLink next = response.getLinkWithID("next");
+        assertEqualsIgnoreOrder("Wrong parameters.", new String[]{"page", "after"}, next.getParameterNames());
+        assertEquals("4", next.getParameterValues("page")[0]);
+        assertEquals("6", next.getParameterValues("after")[0]);
+
+        WebLink[] headerLinks = tables[0].getTableCell(0, 0).getLinks();
+        assertEquals("Sorting link not found.", 1, headerLinks.length);
+        assertEqualsIgnoreOrder("Wrong parameters.", new String[]{"sort", "dir"}, headerLinks[0].getParameterNames());
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.displaytag.jsptests;
+
+import org.apache.commons.lang.StringUtils;
+import org.displaytag.test.DisplaytagCase;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
+
+
+/**
+ * Tests for count, min and max totals of a text column written by MultilevelTotalTableDecorator.
+ */
+public class MultilevelTotalsAggregatesTest extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "multileveltotalsaggregates.jsp";
+    }
+
+    /**
+     * Count, min and max for the group with more than one row, then for the grand total.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+
+        WebRequest request = new GetMethodWebRequest(jspName);
+
+        WebResponse response = runner.getResponse(request);
+
+        String text = response.getText();
+        if (log.isDebugEnabled())
+        {
+            log.debug(text);
+        }
+
+        // totals cells have a css class, the cells of the rows don't
+        assertTrue("Subtotal label not found.", text.indexOf("a Total</td>") > -1);
+        assertEquals("Subtotal count not found.", 1, StringUtils.countMatches(text, "\">2</td>"));
+        assertEquals("Grand total count not found.", 1, StringUtils.countMatches(text, "\">3</td>"));
+        assertEquals("Wrong min totals.", 2, StringUtils.countMatches(text, "\">apple</td>"));
+        assertEquals("Wrong max totals.", 2, StringUtils.countMatches(text, "\">pear</td>"));
+        assertEquals("Unexpected total.", 0, StringUtils.countMatches(text, "\">fig</td>"));
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.displaytag.jsptests;
+
+import org.displaytag.test.DisplaytagCase;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
+
+
+/**
+ * Tests for subtotals and grand totals written by MultilevelTotalTableDecorator.
+ */
+public class MultilevelTotalsTest extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "multileveltotals.jsp";
+    }
+
+    /**
+     * A subtotal for the group with more than one row, then the grand total.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+
+        WebRequest request = new GetMethodWebRequest(jspName);
+
+        WebResponse response = runner.getResponse(request);
+
+        String text = response.getText();
+        if (log.isDebugEnabled())
+        {
+            log.debug(text);
+        }
+
+        assertTrue("Subtotal label not found.", text.indexOf("a Total</td>") > -1);
+        assertTrue("Subtotal not found.", text.indexOf("3.0</td>") > -1);
+        assertFalse("Unexpected subtotal for a single row.", text.indexOf("b Total</td>") > -1);
+        assertTrue("Grand total label not found.", text.indexOf("Grand Total</td>") > -1);
+        assertTrue("Grand total not found.", text.indexOf("7.0</td>") > -1);
+    }
+
+}
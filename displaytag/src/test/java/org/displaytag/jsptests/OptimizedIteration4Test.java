@@ -0,0 +1,120 @@
+package org.displaytag.jsptests;
+
+import org.displaytag.tags.TableTagParameters;
+import org.displaytag.test.DisplaytagCase;
+import org.displaytag.util.ParamEncoder;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
+import com.meterware.httpunit.WebTable;
+
+
+/**
+ * Tests for optimized iterations when sorting the full list on a property: only the first row and the rows of the
+ * displayed page are evaluated.
+ */
+public class OptimizedIteration4Test extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "optimizediteration.jsp";
+    }
+
+    /**
+     * Sorts the full list on the "ant" property, all the values are equal so the rows keep their order.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+
+        WebRequest request = new GetMethodWebRequest(jspName);
+        ParamEncoder encoder = new ParamEncoder("table");
+
+        // page 1, sorted full list: the first row is on the page
+        request.setParameter(encoder.encodeParameterName(TableTagParameters.PARAMETER_SORT), "0");
+        request.setParameter(encoder.encodeParameterName(TableTagParameters.PARAMETER_PAGE), "1");
+        checkNumberOfIterations(runner.getResponse(request), 1, "1");
+
+        // page 3, sorted full list: the first row and the third one
+        request.setParameter(encoder.encodeParameterName(TableTagParameters.PARAMETER_PAGE), "3");
+        checkNumberOfIterations(runner.getResponse(request), 2, "2");
+    }
+
+    /**
+     * Distinct keys in no particular order, descending sort, with the non-el tld.
+     * @throws Exception any axception thrown during test.
+     */
+    public void testDescending11() throws Exception
+    {
+        doTestDescending("http://localhost" + CONTEXT + "/standard/optimizediteration4.jsp");
+    }
+
+    /**
+     * Distinct keys in no particular order, descending sort, with the el tld.
+     * @throws Exception any axception thrown during test.
+     */
+    public void testDescendingEL() throws Exception
+    {
+        doTestDescending("http://localhost" + CONTEXT + "/el/optimizediteration4.jsp");
+    }
+
+    /**
+     * Sorts 4, 1, 6, 3, 7, 2, 5 in descending order: the second page holds 5 and 4, the seventh and the first object.
+     * Only those two rows are evaluated, the first one first.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    private void doTestDescending(String jspName) throws Exception
+    {
+        WebRequest request = new GetMethodWebRequest(jspName);
+        ParamEncoder encoder = new ParamEncoder("table");
+        request.setParameter(encoder.encodeParameterName(TableTagParameters.PARAMETER_SORT), "0");
+        request.setParameter(encoder.encodeParameterName(TableTagParameters.PARAMETER_ORDER), "1");
+        request.setParameter(encoder.encodeParameterName(TableTagParameters.PARAMETER_PAGE), "2");
+
+        WebResponse response = runner.getResponse(request);
+        if (log.isDebugEnabled())
+        {
+            log.debug(response.getText());
+        }
+
+        WebTable[] tables = response.getTables();
+        assertEquals("Expected 1 table in result.", 1, tables.length);
+        assertEquals("Expected 3 rows in table.", 3, tables[0].getRowCount());
+        assertEquals("Wrong row displayed.", "5", tables[0].getCellAsText(1, 0));
+        assertEquals("Wrong row displayed.", "2", tables[0].getCellAsText(1, 1));
+        assertEquals("Wrong row displayed.", "4", tables[0].getCellAsText(2, 0));
+        assertEquals("Wrong row displayed.", "1", tables[0].getCellAsText(2, 1));
+
+        assertEquals("Wrong number of iterations. Evaluated column bodies number is different from expected", "2", response
+            .getElementWithID("iterations").getText());
+    }
+
+    /**
+     * @param response WebResponse
+     * @param iterations expected number of iterations
+     * @param displayed expected value of the iterations column in the displayed row
+     * @throws Exception any axception thrown during test.
+     */
+    private void checkNumberOfIterations(WebResponse response, int iterations, String displayed) throws Exception
+    {
+        if (log.isDebugEnabled())
+        {
+            log.debug(response.getText());
+        }
+
+        WebTable[] tables = response.getTables();
+        assertEquals("Expected 1 table in result.", 1, tables.length);
+        assertEquals("Expected 2 rows in table.", 2, tables[0].getRowCount());
+        assertEquals("Wrong row displayed.", displayed, tables[0].getCellAsText(1, 1));
+
+        assertEquals("Wrong number of iterations. Evaluated column bodies number is different from expected", Integer
+            .toString(iterations), response.getElementWithID("iterations").getText());
+    }
+}
@@ -0,0 +1,55 @@
+package org.displaytag.jsptests;
+
+import org.displaytag.test.DisplaytagCase;
+
+import com.meterware.httpunit.GetMethodWebRequest;
+import com.meterware.httpunit.WebRequest;
+import com.meterware.httpunit.WebResponse;
+import com.meterware.httpunit.WebTable;
+
+
+/**
+ * Tests for the sort.collationkeys property: strings sorted on collation keys are in the same order as when compared
+ * with the collator, which ignores case.
+ */
+public class SortCollationKeysTest extends DisplaytagCase
+{
+
+    /**
+     * @see org.displaytag.test.DisplaytagCase#getJspName()
+     */
+    public String getJspName()
+    {
+        return "sortcollationkeys.jsp";
+    }
+
+    /**
+     * Both tables are sorted ignoring case.
+     * @param jspName jsp name, with full path
+     * @throws Exception any axception thrown during test.
+     */
+    public void doTest(String jspName) throws Exception
+    {
+        WebRequest request = new GetMethodWebRequest(jspName);
+        WebResponse response = runner.getResponse(request);
+
+        if (log.isDebugEnabled())
+        {
+            log.debug(response.getText());
+        }
+
+        WebTable[] tables = response.getTables();
+        assertEquals("Wrong number of tables.", 2, tables.length);
+
+        String[] expected = new String[]{"Apple", "apricot", "banana", "Blueberry", "cherry"};
+        for (int j = 0; j < tables.length; j++)
+        {
+            WebTable table = tables[j];
+            assertEquals("Wrong number of rows in table " + j, expected.length + 1, table.getRowCount());
+            for (int u = 0; u < expected.length; u++)
+            {
+                assertEquals("Wrong value in table " + j, expected[u], table.getCellAsText(u + 1, 0));
+            }
+        }
+    }
+}
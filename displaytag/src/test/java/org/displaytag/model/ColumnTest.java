@@ -0,0 +1,105 @@
+package org.displaytag.model;
+
+import junit.framework.TestCase;
+
+import org.displaytag.decorator.DisplaytagColumnDecorator;
+import org.displaytag.render.SampleObject;
+import org.displaytag.util.DefaultHref;
+import org.displaytag.util.HtmlAttributeMap;
+
+
+/**
+ * Tests for Column.
+ */
+public class ColumnTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Returns a column with a static value.
+     * @param header header cell
+     * @param value static value
+     * @return initialized Column
+     * @throws Exception any exception thrown during initialization
+     */
+    private Column getColumn(HeaderCell header, String value) throws Exception
+    {
+        header.setHtmlAttributes(new HtmlAttributeMap());
+        header.setColumnDecorators(new DisplaytagColumnDecorator[0]);
+        Row row = new Row(new SampleObject(false, "test1"), 0);
+        row.setParentTable(new TableModel(null, null, null));
+        Column column = new Column(header, new Cell(value), row);
+        column.initialize();
+        return column;
+    }
+
+    /**
+     * The open tag and the linked value written to an Appendable are the same as the String ones.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testChoppedAndLinked() throws Exception
+    {
+        HeaderCell header = new HeaderCell();
+        header.setMaxLength(5);
+        header.setHref(new DefaultHref("http://localhost/go"));
+        Column column = getColumn(header, "abcdefghij");
+
+        StringBuffer tag = new StringBuffer();
+        column.writeOpenTag(tag);
+        assertEquals(column.getOpenTag(), tag.toString());
+        assertTrue(tag.toString(), tag.toString().indexOf("title=\"abcdefghij\"") != -1);
+
+        StringBuffer value = new StringBuffer();
+        column.writeChoppedAndLinkedValue(value);
+        assertEquals(column.getChoppedAndLinkedValue(), value.toString());
+        assertTrue(value.toString(), value.toString().startsWith("<a href=\"http://localhost/go\">abcde"));
+        assertTrue(value.toString(), value.toString().endsWith("</a>"));
+    }
+
+    /**
+     * A value without link is written as is.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testPlain() throws Exception
+    {
+        Column column = getColumn(new HeaderCell(), "abc");
+
+        StringBuffer value = new StringBuffer();
+        column.writeChoppedAndLinkedValue(value);
+        assertEquals("abc", value.toString());
+        assertEquals("abc", column.getChoppedAndLinkedValue());
+
+        StringBuffer tag = new StringBuffer();
+        column.writeOpenTag(tag);
+        assertEquals("\n<td>", tag.toString());
+        assertEquals("\n<td>", column.getOpenTag());
+    }
+
+    /**
+     * A column reset to another cell drops the value and the title of the previous one.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testReset() throws Exception
+    {
+        HeaderCell header = new HeaderCell();
+        header.setMaxLength(5);
+        Column column = getColumn(header, "abcdefghij");
+        assertTrue(column.getOpenTag().indexOf("title=") != -1);
+
+        Row row = new Row(new SampleObject(false, "test2"), 1);
+        row.setParentTable(new TableModel(null, null, null));
+        column.reset(new Cell("xyz"), row);
+        column.initialize();
+
+        assertEquals("xyz", column.getChoppedAndLinkedValue());
+        assertEquals("\n<td>", column.getOpenTag());
+    }
+
+}
@@ -0,0 +1,306 @@
+package org.displaytag.model;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.displaytag.render.SampleObject;
+
+
+/**
+ * Tests for KeyedRowSort.
+ */
+public class KeyedRowSortTest extends TestCase
+{
+
+    /**
+     * Number of rows, enough for the parallel sort.
+     */
+    private static final int SIZE = 20000;
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * @see junit.framework.TestCase#tearDown()
+     */
+    protected void tearDown() throws Exception
+    {
+        KeyedRowSort.shutdownPool();
+        super.tearDown();
+    }
+
+    /**
+     * The sequential sort is stable, in both directions.
+     */
+    public void testSequentialStable()
+    {
+        List rows = createRows(SIZE);
+        assertOrder(expectedOrder(rows, sorter(true)), new KeyedRowSort(rows, sorter(true)).getSortedOrder(false));
+        assertOrder(expectedOrder(rows, sorter(false)), new KeyedRowSort(rows, sorter(false)).getSortedOrder(false));
+    }
+
+    /**
+     * The parallel sort gives the same order as the sequential sort, in both directions.
+     */
+    public void testParallelSameOrder()
+    {
+        List rows = createRows(SIZE);
+        assertOrder(
+            new KeyedRowSort(rows, sorter(true)).getSortedOrder(false),
+            new KeyedRowSort(rows, sorter(true)).getSortedOrder(true));
+        assertOrder(
+            new KeyedRowSort(rows, sorter(false)).getSortedOrder(false),
+            new KeyedRowSort(rows, sorter(false)).getSortedOrder(true));
+    }
+
+    /**
+     * The shared pool is created again after a shutdown.
+     */
+    public void testPoolShutdown()
+    {
+        List rows = createRows(SIZE);
+        int[] expected = new KeyedRowSort(rows, sorter(true)).getSortedOrder(false);
+
+        assertOrder(expected, new KeyedRowSort(rows, sorter(true)).getSortedOrder(true));
+        KeyedRowSort.shutdownPool();
+        assertOrder(expected, new KeyedRowSort(rows, sorter(true)).getSortedOrder(true));
+        assertFalse(KeyedRowSort.getPool().isShutdown());
+    }
+
+    /**
+     * The first rows of a partial sort are those of the full sort, the other rows follow in their original order.
+     */
+    public void testTopOrder()
+    {
+        List rows = createRows(SIZE);
+        int[] counts = new int[]{1, 2, 7, 100, SIZE / 2, SIZE - 1, SIZE, SIZE + 1};
+        for (int direction = 0; direction < 2; direction++)
+        {
+            RowSorter rowSorter = sorter(direction == 0);
+            int[] sorted = new KeyedRowSort(rows, rowSorter).getSortedOrder(false);
+            for (int j = 0; j < counts.length; j++)
+            {
+                int count = counts[j];
+                int[] top = new KeyedRowSort(rows, rowSorter).getTopOrder(count);
+                assertTopOrder(sorted, top, Math.min(count, SIZE));
+            }
+        }
+    }
+
+    /**
+     * The partial sort of a small list, with ties only.
+     */
+    public void testTopOrderTies()
+    {
+        List rows = new ArrayList();
+        for (int j = 0; j < 10; j++)
+        {
+            rows.add(new Row(j % 2 == 0 ? null : "a", j + 1));
+        }
+        assertOrder(new int[]{0, 2, 4, 1, 3, 5, 6, 7, 8, 9}, new KeyedRowSort(rows, sorter(true)).getTopOrder(3));
+        assertOrder(new int[]{1, 3, 5, 0, 2, 4, 6, 7, 8, 9}, new KeyedRowSort(rows, sorter(false)).getTopOrder(3));
+    }
+
+    /**
+     * The table model only sorts the first rows if they are less than half the list, else it sorts the full list.
+     */
+    public void testModelSortedOrder()
+    {
+        List objects = new ArrayList();
+        List rows = new ArrayList();
+        Random random = new Random(100);
+        for (int j = 0; j < 100; j++)
+        {
+            int value = random.nextInt(30);
+            String key = value < 25 ? "k" + (value < 10 ? "0" : "") + value : null;
+            objects.add(new SampleObject(false, key));
+            rows.add(new Row(key, j + 1));
+        }
+
+        for (int direction = 0; direction < 2; direction++)
+        {
+            boolean ascending = direction == 0;
+            TableModel model = new TableModel(null, null, null);
+            model.setLocalSort(true);
+            model.setSortedColumnNumber(0);
+            model.setSortOrderAscending(ascending);
+            HeaderCell header = new HeaderCell();
+            header.setBeanPropertyName("col1");
+            header.setComparator(new DefaultComparator());
+            model.addColumnHeader(header);
+
+            int[] sorted = expectedOrder(rows, sorter(ascending));
+            assertTopOrder(sorted, model.getSortedOrder(objects, 30), 30);
+            assertTopOrder(sorted, model.getSortedOrder(objects, 50), 50);
+            assertOrder(sorted, model.getSortedOrder(objects, 51));
+            assertOrder(sorted, model.getSortedOrder(objects, 200));
+        }
+    }
+
+    /**
+     * Strings sorted on collation keys are in the same order as when compared with the collator: case and accents are
+     * ignored. Keys are only converted by the sort, the sorter itself still returns strings.
+     */
+    public void testCollationKeys()
+    {
+        String[] values = new String[]{
+            "\u00e9t\u00e9",
+            "Eta",
+            "abc",
+            "Zoo",
+            "\u00e9te",
+            "ABC",
+            "zoo",
+            "\u00c4hre",
+            "ahre",
+            "b",
+            null,
+            "B",
+            "eta"};
+        List rows = new ArrayList();
+        for (int j = 0; j < values.length; j++)
+        {
+            rows.add(new Row(values[j], j + 1));
+        }
+
+        RowSorter collationKeySorter = sorter(true, new DefaultComparator(Collator.getInstance(Locale.FRENCH), true));
+        RowSorter collatorSorter = sorter(true, new DefaultComparator(Collator.getInstance(Locale.FRENCH), false));
+        int[] expected = new int[]{10, 2, 5, 7, 8, 9, 11, 1, 12, 0, 4, 3, 6};
+        assertOrder(expected, expectedOrder(rows, collatorSorter));
+        assertOrder(expected, new KeyedRowSort(rows, collationKeySorter).getSortedOrder(false));
+        assertOrder(expected, expectedOrder(rows, collationKeySorter));
+
+        collationKeySorter = sorter(false, new DefaultComparator(Collator.getInstance(Locale.FRENCH), true));
+        collatorSorter = sorter(false, new DefaultComparator(Collator.getInstance(Locale.FRENCH), false));
+        assertOrder(
+            expectedOrder(rows, collatorSorter),
+            new KeyedRowSort(rows, collationKeySorter).getSortedOrder(false));
+        assertEquals("abc", collationKeySorter.getSortKey(rows.get(2)));
+    }
+
+    /**
+     * Rows with few distinct keys, some null, in a fixed random order.
+     * @param size number of rows
+     * @return list of Row objects
+     */
+    static List createRows(int size)
+    {
+        Random random = new Random(size);
+        List rows = new ArrayList(size);
+        for (int j = 0; j < size; j++)
+        {
+            int value = random.nextInt(55);
+            rows.add(new Row(value < 50 ? new Integer(value) : null, j + 1));
+        }
+        return rows;
+    }
+
+    /**
+     * A sorter on the row objects.
+     * @param ascending sort order
+     * @return RowSorter
+     */
+    static RowSorter sorter(boolean ascending)
+    {
+        return sorter(ascending, new DefaultComparator());
+    }
+
+    /**
+     * A sorter on the row objects, using the given comparator.
+     * @param ascending sort order
+     * @param comparator comparator
+     * @return RowSorter
+     */
+    static RowSorter sorter(boolean ascending, Comparator comparator)
+    {
+        return new RowSorter(0, null, null, ascending, comparator)
+        {
+
+            public Object getSortKey(Object row)
+            {
+                return ((Row) row).getObject();
+            }
+        };
+    }
+
+    /**
+     * The order given by a stable sort of the rows.
+     * @param rows list of Row objects
+     * @param rowSorter sorter
+     * @return original positions of the rows, in sorted order
+     */
+    static int[] expectedOrder(final List rows, final RowSorter rowSorter)
+    {
+        List positions = new ArrayList(rows.size());
+        for (int j = 0; j < rows.size(); j++)
+        {
+            positions.add(new Integer(j));
+        }
+        Collections.sort(positions, new Comparator()
+        {
+
+            public int compare(Object position1, Object position2)
+            {
+                return rowSorter.compare(
+                    rows.get(((Integer) position1).intValue()),
+                    rows.get(((Integer) position2).intValue()));
+            }
+        });
+
+        int[] order = new int[positions.size()];
+        for (int j = 0; j < order.length; j++)
+        {
+            order[j] = ((Integer) positions.get(j)).intValue();
+        }
+        return order;
+    }
+
+    /**
+     * Checks a partial sort: the first rows are those of the full sort, the other rows follow in their original order.
+     * @param sorted order of the full sort
+     * @param top order of the partial sort
+     * @param count number of rows in order
+     */
+    static void assertTopOrder(int[] sorted, int[] top, int count)
+    {
+        assertEquals(sorted.length, top.length);
+        boolean[] selected = new boolean[sorted.length];
+        for (int j = 0; j < count; j++)
+        {
+            assertEquals("row " + j + " of " + count, sorted[j], top[j]);
+            selected[top[j]] = true;
+        }
+        int previous = -1;
+        for (int j = count; j < top.length; j++)
+        {
+            assertFalse("row " + j + " of " + count, selected[top[j]]);
+            assertTrue("row " + j + " of " + count, top[j] > previous);
+            previous = top[j];
+        }
+    }
+
+    /**
+     * Checks two orders are the same.
+     * @param expected expected order
+     * @param actual actual order
+     */
+    static void assertOrder(int[] expected, int[] actual)
+    {
+        assertEquals(expected.length, actual.length);
+        assertTrue(Arrays.equals(expected, actual));
+    }
+
+}
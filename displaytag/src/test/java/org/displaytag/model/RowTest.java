@@ -0,0 +1,65 @@
+package org.displaytag.model;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.displaytag.render.SampleObject;
+
+
+/**
+ * Tests for the security of Row.
+ */
+public class RowTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Security is checked through the parent table when the row is read.
+     */
+    public void testSecuredOnAccess()
+    {
+        VirtualRowList rows = new VirtualRowList(Arrays.asList(new Object[]{
+            new SampleObject(false, "test1"),
+            new SampleObject(true, "test2")}), new TableModel(null, null, null));
+
+        assertFalse(((Row) rows.get(0)).getSecured());
+        assertTrue(((Row) rows.get(1)).getSecured());
+    }
+
+    /**
+     * The result of the first check is kept.
+     */
+    public void testSecuredKept()
+    {
+        SampleObject object = new SampleObject(true, "test1");
+        Row row = new Row(object, 1);
+        row.setParentTable(new TableModel(null, null, null));
+
+        assertTrue(row.getSecured());
+        object.setSecuredForUser(Boolean.FALSE);
+        assertTrue(row.getSecured());
+    }
+
+    /**
+     * Rows are checked once added to a table, a value set is not checked again.
+     */
+    public void testSecuredSet()
+    {
+        Row row = new Row(new SampleObject(true, "test1"), 1);
+        assertFalse(row.getSecured());
+
+        row.setParentTable(new TableModel(null, null, null));
+        assertTrue(row.getSecured());
+        row.setSecured(false);
+        assertFalse(row.getSecured());
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.displaytag.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for SortedOrderCache.
+ */
+public class SortedOrderCacheTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * The key changes with the sort and with the objects of the list, not with the list instance.
+     */
+    public void testKey()
+    {
+        Object a = new Object();
+        Object b = new Object();
+        List list = Arrays.asList(new Object[]{a, b});
+        String key = SortedOrderCache.getKey("table", "name", 1, true, list);
+
+        assertEquals(key, SortedOrderCache.getKey("table", "name", 1, true, new ArrayList(list)));
+        assertFalse(key.equals(SortedOrderCache.getKey("table", "name", 1, false, list)));
+        assertFalse(key.equals(SortedOrderCache.getKey("other", "name", 1, true, list)));
+        assertFalse(key.equals(SortedOrderCache.getKey("table", "name", 1, true, Arrays.asList(new Object[]{b, a}))));
+        assertFalse(key.equals(SortedOrderCache.getKey("table", "name", 1, true, Arrays.asList(new Object[]{a}))));
+    }
+
+    /**
+     * The least recently used orders are evicted.
+     */
+    public void testEviction()
+    {
+        SortedOrderCache cache = new SortedOrderCache(2);
+        List list = Arrays.asList(new Object[]{new Object(), new Object()});
+        int[] order = new int[]{1, 0};
+        cache.put("k1", list, order);
+        cache.put("k2", list, order);
+        assertSame(order, cache.get("k1", list));
+
+        cache.put("k3", list, order);
+        assertNull(cache.get("k2", list));
+        assertSame(order, cache.get("k1", list));
+        assertSame(order, cache.get("k3", list));
+    }
+
+    /**
+     * A cached order is only returned for the objects it has been computed for, whatever the key.
+     */
+    public void testVerify()
+    {
+        Object a = new Object();
+        Object b = new Object();
+        SortedOrderCache cache = new SortedOrderCache(2);
+        int[] order = new int[]{1, 0};
+        cache.put("k1", Arrays.asList(new Object[]{a, b}), order);
+
+        assertSame(order, cache.get("k1", new ArrayList(Arrays.asList(new Object[]{a, b}))));
+        assertNull(cache.get("k1", Arrays.asList(new Object[]{b, a})));
+        assertNull(cache.get("k1", Arrays.asList(new Object[]{a, new Object()})));
+        assertNull(cache.get("k1", Arrays.asList(new Object[]{a})));
+        assertNull(cache.get("k2", Arrays.asList(new Object[]{a, b})));
+    }
+
+}
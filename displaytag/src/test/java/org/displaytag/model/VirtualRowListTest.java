@@ -0,0 +1,68 @@
+package org.displaytag.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for VirtualRowList.
+ */
+public class VirtualRowListTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Rows are created on first access, numbered from 1, and kept.
+     */
+    public void testRowsCreatedOnAccess()
+    {
+        VirtualRowList rows = new VirtualRowList(Arrays.asList(new String[]{"a", "b", "c"}), null);
+        assertEquals(3, rows.size());
+
+        Row row = (Row) rows.get(1);
+        assertEquals("b", row.getObject());
+        assertEquals(2, row.getRowNumber());
+        assertSame(row, rows.get(1));
+    }
+
+    /**
+     * Replaced rows are kept, row objects follow the order of the rows.
+     */
+    public void testReorder()
+    {
+        VirtualRowList rows = new VirtualRowList(Arrays.asList(new String[]{"a", "b", "c", "d"}), null);
+
+        // swaps the first two rows only, the last two are never created
+        List page = rows.subList(0, 2);
+        Collections.reverse(page);
+
+        assertEquals("b", ((Row) rows.get(0)).getObject());
+        assertEquals("a", ((Row) rows.get(1)).getObject());
+        assertEquals(Arrays.asList(new String[]{"b", "a", "c", "d"}), rows.getRowObjects());
+    }
+
+    /**
+     * A cached order is applied without creating the rows, which keep their original numbers.
+     */
+    public void testReorderWithoutRows()
+    {
+        VirtualRowList rows = new VirtualRowList(Arrays.asList(new String[]{"a", "b", "c"}), null);
+        rows.reorder(new int[]{2, 0, 1});
+        assertEquals(Arrays.asList(new String[]{"c", "a", "b"}), rows.getRowObjects());
+
+        Row row = (Row) rows.get(0);
+        assertEquals("c", row.getObject());
+        assertEquals(3, row.getRowNumber());
+    }
+
+}
@@ -0,0 +1,155 @@
+package org.displaytag.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.displaytag.properties.SortOrderEnum;
+import org.displaytag.test.NumberedItem;
+
+
+/**
+ * Keyset paginated list of ten NumberedItems, the cursors are item numbers.
+ */
+public class SimpleKeysetPaginatedList implements KeysetPaginatedList
+{
+
+    /**
+     * Number of items in the full list.
+     */
+    private static final int SIZE = 10;
+
+    /**
+     * Current page.
+     */
+    private List list = new ArrayList();
+
+    /**
+     * Number of objects per page.
+     */
+    private int objectsPerPage;
+
+    /**
+     * Current page (starting from 1)
+     */
+    private int pageNumber;
+
+    /**
+     * Instantiates a page after or before the given cursor, or the first page if both are null.
+     * @param objectsPerPage number of objects per page
+     * @param pageNumber page number
+     * @param before number of the first item of the next page, may be null
+     * @param after number of the last item of the previous page, may be null
+     */
+    public SimpleKeysetPaginatedList(int objectsPerPage, int pageNumber, String before, String after)
+    {
+        this.objectsPerPage = objectsPerPage;
+        this.pageNumber = pageNumber;
+
+        int first;
+        if (after != null)
+        {
+            first = Integer.parseInt(after) + 1;
+        }
+        else if (before != null)
+        {
+            first = Math.max(Integer.parseInt(before) - objectsPerPage, 1);
+        }
+        else
+        {
+            first = 1;
+        }
+        for (int j = first; j < first + objectsPerPage && j <= SIZE; j++)
+        {
+            list.add(new NumberedItem(j));
+        }
+    }
+
+    /**
+     * @see org.displaytag.pagination.KeysetPaginatedList#getBeforeCursor()
+     */
+    public String getBeforeCursor()
+    {
+        if (list.isEmpty() || ((NumberedItem) list.get(0)).getNumber() == 1)
+        {
+            return null;
+        }
+        return Integer.toString(((NumberedItem) list.get(0)).getNumber());
+    }
+
+    /**
+     * @see org.displaytag.pagination.KeysetPaginatedList#getAfterCursor()
+     */
+    public String getAfterCursor()
+    {
+        if (list.isEmpty())
+        {
+            return null;
+        }
+        return Integer.toString(((NumberedItem) list.get(list.size() - 1)).getNumber());
+    }
+
+    /**
+     * @see org.displaytag.pagination.KeysetPaginatedList#hasMore()
+     */
+    public Boolean hasMore()
+    {
+        return Boolean.valueOf(!list.isEmpty() && ((NumberedItem) list.get(list.size() - 1)).getNumber() < SIZE);
+    }
+
+    /**
+     * @see org.displaytag.pagination.PaginatedList#getList()
+     */
+    public List getList()
+    {
+        return list;
+    }
+
+    /**
+     * @see org.displaytag.pagination.PaginatedList#getPageNumber()
+     */
+    public int getPageNumber()
+    {
+        return pageNumber;
+    }
+
+    /**
+     * @see org.displaytag.pagination.PaginatedList#getObjectsPerPage()
+     */
+    public int getObjectsPerPage()
+    {
+        return objectsPerPage;
+    }
+
+    /**
+     * @see org.displaytag.pagination.PaginatedList#getFullListSize()
+     */
+    public int getFullListSize()
+    {
+        return UNKNOWN_SIZE;
+    }
+
+    /**
+     * @see org.displaytag.pagination.PaginatedList#getSortCriterion()
+     */
+    public String getSortCriterion()
+    {
+        return "number";
+    }
+
+    /**
+     * @see org.displaytag.pagination.PaginatedList#getSortDirection()
+     */
+    public SortOrderEnum getSortDirection()
+    {
+        return SortOrderEnum.ASCENDING;
+    }
+
+    /**
+     * @see org.displaytag.pagination.PaginatedList#getSearchId()
+     */
+    public String getSearchId()
+    {
+        return null;
+    }
+
+}
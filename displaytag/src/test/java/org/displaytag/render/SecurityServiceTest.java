@@ -23,6 +23,9 @@
  *
  * 4 August 2015
  * Modifed Excel export to support Excel 2007+ format
+ *
+ * 18 October 2026
+ * Classes without a getSecuredForUser method.
  */
 package org.displaytag.render;
 
@@ -41,4 +44,16 @@ public class SecurityServiceTest extends TestCase {
 		boolean rowSecured = service.isRowSecured(new SampleObject(true, "test1"));
 		assertTrue(rowSecured);
 	}
+
+	public void testRowWithoutAccessor() throws Exception {
+		SecurityService service = new SecurityService(SampleObject.class);
+		assertTrue(service.isRowSecured(new SampleObjectWithoutRecnum()));
+		assertFalse(service.isRowSecured(null));
+	}
+
+	public void testUnsecurableClass() throws Exception {
+		SecurityService service = new SecurityService(String.class);
+		assertFalse(service.classIsSecurable());
+		assertFalse(service.isRowSecured("test1"));
+	}
 }
@@ -0,0 +1,227 @@
+package org.displaytag.tags;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.displaytag.model.CustomTableData;
+import org.displaytag.test.StubCustomGridQueryService;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+
+/**
+ * Tests for DataGridCustomiztionUtil.
+ */
+public class DataGridCustomiztionUtilTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * @see junit.framework.TestCase#tearDown()
+     */
+    protected void tearDown() throws Exception
+    {
+        DataGridCustomiztionUtil.invalidateAllCustomizations();
+        DataGridCustomiztionUtil.clearPrefetchedValues();
+        DataGridCustomiztionUtil.customGridQueryService = null;
+        super.tearDown();
+    }
+
+    /**
+     * Keys are tableIdAttribute-customGridRecnum, only keys for the table are matched.
+     */
+    public void testCustomizationRecnum()
+    {
+        assertEquals(12, DataGridCustomiztionUtil.getCustomizationRecnum("table-12", "table"));
+        assertEquals(-1, DataGridCustomiztionUtil.getCustomizationRecnum("table-12", "tab"));
+        assertEquals(-1, DataGridCustomiztionUtil.getCustomizationRecnum("table-12", "table1"));
+        assertEquals(-1, DataGridCustomiztionUtil.getCustomizationRecnum("table1-12", "table"));
+        assertEquals(-1, DataGridCustomiztionUtil.getCustomizationRecnum("table-", "table"));
+        assertEquals(-1, DataGridCustomiztionUtil.getCustomizationRecnum("table", "table"));
+        assertEquals(-1, DataGridCustomiztionUtil.getCustomizationRecnum("table-1-2", "table"));
+        assertEquals(-1, DataGridCustomiztionUtil.getCustomizationRecnum("table-12", null));
+    }
+
+    /**
+     * Each table gets its own copy of the cached configuration.
+     */
+    public void testCopies()
+    {
+        CustomTableData first = DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration(null, "A"));
+        CustomTableData second = DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration(null, "A"));
+
+        assertNotSame(first, second);
+        assertNotSame(first.getVisibleColumnList().get(0), second.getVisibleColumnList().get(0));
+        assertEquals("A", second.getVisibleColumnList().get(0).getTitle());
+    }
+
+    /**
+     * A configuration is parsed again when its version changes.
+     */
+    public void testVersion()
+    {
+        DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration("1", "A"));
+
+        assertEquals("A", title(DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration("1", "B"))));
+        assertEquals("B", title(DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration("2", "B"))));
+    }
+
+    /**
+     * A configuration without version is parsed again when its content changes.
+     */
+    public void testContentChanged()
+    {
+        DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration(null, "A"));
+
+        assertEquals("A", title(DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration(null, "A"))));
+        assertEquals("B", title(DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration(null, "B"))));
+    }
+
+    /**
+     * A configuration is parsed again once invalidated, for its table only.
+     */
+    public void testInvalidate()
+    {
+        DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration("1", "A"));
+        DataGridCustomiztionUtil.getCustomTableData("other-1", 1, configuration("1", "A"));
+        assertEquals("A", title(DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration("1", "B"))));
+
+        DataGridCustomiztionUtil.invalidateCustomizations("table");
+        assertEquals("B", title(DataGridCustomiztionUtil.getCustomTableData("table-1", 1, configuration("1", "B"))));
+        assertEquals("A", title(DataGridCustomiztionUtil.getCustomTableData("other-1", 1, configuration("1", "B"))));
+
+        DataGridCustomiztionUtil.invalidateAllCustomizations();
+        assertEquals("B", title(DataGridCustomiztionUtil.getCustomTableData("other-1", 1, configuration("1", "B"))));
+    }
+
+    /**
+     * Values are read with one call for each kind of field, rows are matched by identity.
+     */
+    public void testPrefetch()
+    {
+        StubCustomGridQueryService service = setService();
+        String first = new String("row");
+        String second = new String("row");
+
+        assertTrue(DataGridCustomiztionUtil.prefetchFieldValues(Arrays.asList(new Object[]{first, second}), fields()));
+        assertEquals(2, service.getBulkCalls());
+
+        assertEquals("bulk0.CF_A", DataGridCustomiztionUtil.findCustomFieldValue(first, "CF_A"));
+        assertEquals("bulk1.CF_A", DataGridCustomiztionUtil.findCustomFieldValue(second, "CF_A"));
+        assertEquals("bulk1.[links].name", DataGridCustomiztionUtil.findLinkedTableFieldValue(second, "[links].name"));
+        assertEquals(0, service.getSingleCalls());
+
+        // an equal object which is not a row, a field which has not been prefetched
+        assertEquals("single.CF_A", DataGridCustomiztionUtil.findCustomFieldValue(new String("row"), "CF_A"));
+        assertEquals("single.CF_B", DataGridCustomiztionUtil.findCustomFieldValue(first, "CF_B"));
+        assertEquals(2, service.getSingleCalls());
+    }
+
+    /**
+     * Missing values of short or null lines are null.
+     */
+    public void testShortLines()
+    {
+        StubCustomGridQueryService service = setService();
+        service.setMatrix(new Object[][]{null, new Object[]{"value"}});
+        List objects = Arrays.asList(new Object[]{new Object(), new Object()});
+
+        assertTrue(DataGridCustomiztionUtil.prefetchFieldValues(objects, Arrays.asList(new String[]{"CF_A", "CF_B"})));
+        assertNull(DataGridCustomiztionUtil.findCustomFieldValue(objects.get(0), "CF_A"));
+        assertNull(DataGridCustomiztionUtil.findCustomFieldValue(objects.get(0), "CF_B"));
+        assertEquals("value", DataGridCustomiztionUtil.findCustomFieldValue(objects.get(1), "CF_A"));
+        assertNull(DataGridCustomiztionUtil.findCustomFieldValue(objects.get(1), "CF_B"));
+        assertEquals(0, service.getSingleCalls());
+    }
+
+    /**
+     * Values are read one by one if the matrix has not one line for each row.
+     */
+    public void testFallback()
+    {
+        StubCustomGridQueryService service = setService();
+        service.setMatrix(new Object[][]{new Object[]{"value", "value"}});
+        List objects = Arrays.asList(new Object[]{new Object(), new Object()});
+
+        assertFalse(DataGridCustomiztionUtil.prefetchFieldValues(objects, fields()));
+        assertEquals("single.CF_A", DataGridCustomiztionUtil.findCustomFieldValue(objects.get(0), "CF_A"));
+        assertEquals(1, service.getSingleCalls());
+    }
+
+    /**
+     * Values are read one by one once the prefetched values are cleared.
+     */
+    public void testClear()
+    {
+        StubCustomGridQueryService service = setService();
+        List objects = Arrays.asList(new Object[]{new Object()});
+
+        assertTrue(DataGridCustomiztionUtil.prefetchFieldValues(objects, fields()));
+        DataGridCustomiztionUtil.clearPrefetchedValues();
+        assertEquals("single.CF_A", DataGridCustomiztionUtil.findCustomFieldValue(objects.get(0), "CF_A"));
+        assertEquals(1, service.getSingleCalls());
+    }
+
+    /**
+     * Nothing is prefetched without service.
+     */
+    public void testNoService()
+    {
+        assertFalse(DataGridCustomiztionUtil.prefetchFieldValues(Arrays.asList(new Object[]{new Object()}), fields()));
+    }
+
+    /**
+     * @return a new service, used by DataGridCustomiztionUtil
+     */
+    private StubCustomGridQueryService setService()
+    {
+        StubCustomGridQueryService service = new StubCustomGridQueryService();
+        DataGridCustomiztionUtil.customGridQueryService = service;
+        DataGridCustomiztionUtil.findGetterMethods(StubCustomGridQueryService.class);
+        return service;
+    }
+
+    /**
+     * @return a custom field, a linked table field and a bean property
+     */
+    private List fields()
+    {
+        return Arrays.asList(new String[]{"CF_A", "[links].name", "name"});
+    }
+
+    /**
+     * A table configuration with one column.
+     * @param version version, may be null
+     * @param title column title
+     * @return JSON configuration
+     */
+    private JsonObject configuration(String version, String title)
+    {
+        return new JsonParser().parse(
+            "{"
+                + (version != null ? "\"version\":\"" + version + "\"," : "")
+                + "\"defaultTableSortProperty\":null,\"defaultTableSortDirection\":null,"
+                + "\"columnConfigurations\":[{\"cotsTitle\":\""
+                + title
+                + "\",\"displayOrder\":1,\"hidden\":false}]}").getAsJsonObject();
+    }
+
+    /**
+     * @param tableData table configuration
+     * @return title of the first visible column
+     */
+    private String title(CustomTableData tableData)
+    {
+        return tableData.getVisibleColumnList().get(0).getTitle();
+    }
+}
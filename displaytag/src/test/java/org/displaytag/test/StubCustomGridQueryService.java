@@ -0,0 +1,117 @@
+package org.displaytag.test;
+
+import java.util.List;
+
+
+/**
+ * Custom grid query service used to test custom field and linked table columns. Values read in bulk are
+ * <code>bulk[row index].[field]</code>, values read one by one are <code>single.[field]</code>.
+ */
+public class StubCustomGridQueryService
+{
+
+    /**
+     * Number of calls to the bulk methods.
+     */
+    private int bulkCalls;
+
+    /**
+     * Number of calls to the single value methods.
+     */
+    private int singleCalls;
+
+    /**
+     * Matrix returned by the bulk methods, computed if null.
+     */
+    private Object[][] matrix;
+
+    /**
+     * Sets the matrix returned by the bulk methods.
+     * @param values matrix, null to compute it
+     */
+    public void setMatrix(Object[][] values)
+    {
+        this.matrix = values;
+    }
+
+    /**
+     * @return number of calls to the bulk methods
+     */
+    public int getBulkCalls()
+    {
+        return this.bulkCalls;
+    }
+
+    /**
+     * @return number of calls to the single value methods
+     */
+    public int getSingleCalls()
+    {
+        return this.singleCalls;
+    }
+
+    /**
+     * @param objects row objects
+     * @param fields custom fields
+     * @return one line for each object, one column for each field
+     */
+    public Object[][] findCustomFieldValues(List objects, List fields)
+    {
+        return findValues(objects, fields);
+    }
+
+    /**
+     * @param objects row objects
+     * @param fields linked table fields
+     * @return one line for each object, one column for each field
+     */
+    public Object[][] findLinkedFieldValues(List objects, List fields)
+    {
+        return findValues(objects, fields);
+    }
+
+    /**
+     * @param object row object
+     * @param field custom field
+     * @return value
+     */
+    public Object findCustomFieldValue(Object object, String field)
+    {
+        this.singleCalls++;
+        return "single." + field;
+    }
+
+    /**
+     * @param object row object
+     * @param field linked table field
+     * @return value
+     */
+    public Object findLinkedFieldValue(Object object, String field)
+    {
+        this.singleCalls++;
+        return "single." + field;
+    }
+
+    /**
+     * @param objects row objects
+     * @param fields fields
+     * @return one line for each object, one column for each field
+     */
+    private Object[][] findValues(List objects, List fields)
+    {
+        this.bulkCalls++;
+        if (this.matrix != null)
+        {
+            return this.matrix;
+        }
+        Object[][] values = new Object[objects.size()][fields.size()];
+        for (int i = 0; i < values.length; i++)
+        {
+            for (int j = 0; j < fields.size(); j++)
+            {
+                values[i][j] = "bulk" + i + "." + fields.get(j);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,63 @@
+package org.displaytag.util;
+
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for ByteChunkBuffer.
+ */
+public class ByteChunkBufferTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Content spanning several chunks, written with single bytes and arrays.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testWriteAcrossChunks() throws Exception
+    {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteChunkBuffer buffer = new ByteChunkBuffer();
+        for (int j = 0; j < 3000; j++)
+        {
+            byte[] text = ("row " + j + ";").getBytes();
+            buffer.write(text, 0, text.length);
+            buffer.write('\n');
+            expected.write(text, 0, text.length);
+            expected.write('\n');
+        }
+
+        assertEquals(expected.size(), buffer.size());
+        assertTrue(expected.size() > ByteChunkBuffer.CHUNK_SIZE);
+        assertEquals(expected.toString(), buffer.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    /**
+     * A reset buffer is empty and can be reused.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testReset() throws Exception
+    {
+        ByteChunkBuffer buffer = new ByteChunkBuffer();
+        buffer.write("first".getBytes(), 0, 5);
+        buffer.reset();
+        assertEquals(0, buffer.size());
+        assertEquals("", buffer.toString());
+
+        buffer.write("second".getBytes(), 0, 6);
+        assertEquals("second", buffer.toString());
+    }
+}
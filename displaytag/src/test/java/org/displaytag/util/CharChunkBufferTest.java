@@ -0,0 +1,67 @@
+package org.displaytag.util;
+
+import java.io.StringWriter;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for CharChunkBuffer.
+ */
+public class CharChunkBufferTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Content spanning several chunks, written with single chars, arrays and strings.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testWriteAcrossChunks() throws Exception
+    {
+        StringBuffer expected = new StringBuffer();
+        CharChunkBuffer buffer = new CharChunkBuffer();
+        for (int j = 0; j < 3000; j++)
+        {
+            String text = "row " + j + ";";
+            buffer.write(text);
+            buffer.write('\n');
+            buffer.write(text.toCharArray(), 1, 2);
+            expected.append(text).append('\n').append(text.substring(1, 3));
+        }
+
+        assertEquals(expected.length(), buffer.length());
+        assertTrue(buffer.getChunks().size() > 1);
+        assertEquals(expected.toString(), buffer.toString());
+        assertEquals(expected.charAt(CharChunkBuffer.CHUNK_SIZE), buffer.charAt(CharChunkBuffer.CHUNK_SIZE));
+        assertEquals(
+            expected.substring(CharChunkBuffer.CHUNK_SIZE - 5, CharChunkBuffer.CHUNK_SIZE + 5),
+            buffer.subSequence(CharChunkBuffer.CHUNK_SIZE - 5, CharChunkBuffer.CHUNK_SIZE + 5));
+
+        StringWriter out = new StringWriter();
+        buffer.writeTo(out);
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    /**
+     * A reset buffer is empty and can be reused.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testReset() throws Exception
+    {
+        CharChunkBuffer buffer = new CharChunkBuffer();
+        buffer.write("first");
+        buffer.reset();
+        assertEquals(0, buffer.length());
+        assertEquals("", buffer.toString());
+
+        buffer.write("second");
+        assertEquals("second", buffer.toString());
+    }
+}
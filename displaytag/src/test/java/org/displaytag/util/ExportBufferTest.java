@@ -0,0 +1,164 @@
+package org.displaytag.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for ExportBuffer.
+ */
+public class ExportBufferTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Content up to the threshold is kept in memory.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testInMemory() throws Exception
+    {
+        ExportBuffer buffer = new ExportBuffer(100);
+        byte[] content = write(buffer, 100);
+
+        assertNull(buffer.getFile());
+        assertEquals(100, buffer.size());
+        assertTrue(Arrays.equals(content, read(buffer)));
+        buffer.dispose();
+    }
+
+    /**
+     * Content larger than the threshold is moved to a temporary file, deleted on dispose.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testSpill() throws Exception
+    {
+        ExportBuffer buffer = new ExportBuffer(16);
+        byte[] content = write(buffer, 200000);
+
+        File file = buffer.getFile();
+        assertNotNull(file);
+        assertTrue(file.exists());
+        assertEquals(200000, buffer.size());
+        assertTrue(Arrays.equals(content, read(buffer)));
+
+        buffer.dispose();
+        assertNull(buffer.getFile());
+        assertFalse(file.exists());
+    }
+
+    /**
+     * Content in a temporary file is transferred to a file stream.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testWriteToFile() throws Exception
+    {
+        ExportBuffer buffer = new ExportBuffer(0);
+        byte[] content = write(buffer, 100000);
+        assertNotNull(buffer.getFile());
+
+        File target = File.createTempFile("displaytag", ".test");
+        try
+        {
+            FileOutputStream out = new FileOutputStream(target);
+            try
+            {
+                buffer.writeTo(out);
+            }
+            finally
+            {
+                out.close();
+            }
+
+            byte[] written = new byte[(int) target.length()];
+            FileInputStream in = new FileInputStream(target);
+            try
+            {
+                int read = 0;
+                while (read < written.length)
+                {
+                    read += in.read(written, read, written.length - read);
+                }
+            }
+            finally
+            {
+                in.close();
+            }
+            assertTrue(Arrays.equals(content, written));
+        }
+        finally
+        {
+            target.delete();
+            buffer.dispose();
+        }
+    }
+
+    /**
+     * A threshold larger than an array is limited.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testLargeThreshold() throws Exception
+    {
+        ExportBuffer buffer = new ExportBuffer(3L * Integer.MAX_VALUE);
+        byte[] content = write(buffer, 1000);
+
+        assertNull(buffer.getFile());
+        assertTrue(Arrays.equals(content, read(buffer)));
+        buffer.dispose();
+    }
+
+    /**
+     * Writes bytes one by one and in arrays.
+     * @param buffer export buffer
+     * @param length number of bytes
+     * @return written content
+     * @throws Exception any exception thrown during test.
+     */
+    private byte[] write(ExportBuffer buffer, int length) throws Exception
+    {
+        byte[] content = new byte[length];
+        for (int j = 0; j < length; j++)
+        {
+            content[j] = (byte) (j * 31);
+        }
+
+        int position = 0;
+        while (position < length)
+        {
+            if (position % 3 == 0)
+            {
+                buffer.write(content[position++]);
+            }
+            else
+            {
+                int len = Math.min(position % 1000 + 1, length - position);
+                buffer.write(content, position, len);
+                position += len;
+            }
+        }
+        return content;
+    }
+
+    /**
+     * @param buffer export buffer
+     * @return content written by the buffer
+     * @throws Exception any exception thrown during test.
+     */
+    private byte[] read(ExportBuffer buffer) throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        return out.toByteArray();
+    }
+}
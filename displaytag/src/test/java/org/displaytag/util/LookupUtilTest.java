@@ -0,0 +1,171 @@
+package org.displaytag.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for LookupUtil.
+ */
+public class LookupUtilTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Simple property.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testSimpleProperty() throws Exception
+    {
+        assertEquals("root", LookupUtil.getBeanProperty(new Node("root"), "name"));
+    }
+
+    /**
+     * Nested properties, evaluated twice to go through the cached expression.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testNestedProperty() throws Exception
+    {
+        Node root = new Node("root");
+        root.setChild(new Node("child"));
+        root.getChild().setChild(new Node("grandchild"));
+
+        assertEquals("grandchild", LookupUtil.getBeanProperty(root, "child.child.name"));
+        assertEquals("grandchild", LookupUtil.getBeanProperty(root, "child.child.name"));
+    }
+
+    /**
+     * Null values in the middle of an expression.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testNullNestedProperty() throws Exception
+    {
+        assertNull(LookupUtil.getBeanProperty(new Node("root"), "child.name"));
+    }
+
+    /**
+     * Indexed properties and lists.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testIndexedProperty() throws Exception
+    {
+        Node root = new Node("root");
+        root.getChildren().add(new Node("first"));
+        root.getChildren().add(new Node("second"));
+
+        assertEquals("second", LookupUtil.getBeanProperty(root, "children[1].name"));
+        assertEquals("first", LookupUtil.getBeanProperty(root.getChildren(), "[0].name"));
+    }
+
+    /**
+     * Map values, both for nested and final parts of the expression.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testMapProperty() throws Exception
+    {
+        Map map = new HashMap();
+        map.put("node", new Node("mapped"));
+        map.put("key", "value");
+
+        assertEquals("value", LookupUtil.getBeanProperty(map, "key"));
+        assertEquals("mapped", LookupUtil.getBeanProperty(map, "node.name"));
+    }
+
+    /**
+     * The same expression on beans of different classes.
+     * @throws Exception any exception thrown during test.
+     */
+    public void testSamePropertyDifferentClasses() throws Exception
+    {
+        assertEquals("node", LookupUtil.getBeanProperty(new Node("node"), "name"));
+        assertEquals("other", LookupUtil.getBeanProperty(new OtherNode(), "name"));
+    }
+
+    /**
+     * Simple bean used in tests.
+     */
+    public static class Node
+    {
+
+        /**
+         * name.
+         */
+        private String name;
+
+        /**
+         * child.
+         */
+        private Node child;
+
+        /**
+         * children.
+         */
+        private List children = new ArrayList();
+
+        /**
+         * @param name node name
+         */
+        public Node(String name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * @return name
+         */
+        public String getName()
+        {
+            return this.name;
+        }
+
+        /**
+         * @return child
+         */
+        public Node getChild()
+        {
+            return this.child;
+        }
+
+        /**
+         * @param child child
+         */
+        public void setChild(Node child)
+        {
+            this.child = child;
+        }
+
+        /**
+         * @return children
+         */
+        public List getChildren()
+        {
+            return this.children;
+        }
+    }
+
+    /**
+     * Unrelated bean with a property with the same name.
+     */
+    public static class OtherNode
+    {
+
+        /**
+         * @return name
+         */
+        public String getName()
+        {
+            return "other";
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.displaytag.util;
+
+import junit.framework.TestCase;
+
+
+/**
+ * Tests for TranslationCache.
+ */
+public class TranslationCacheTest extends TestCase
+{
+
+    /**
+     * @see junit.framework.TestCase#getName()
+     */
+    public String getName()
+    {
+        return getClass().getName() + "." + super.getName();
+    }
+
+    /**
+     * Translations are keyed by bean and property name, beans without translation are cached too.
+     */
+    public void testGetAndPut()
+    {
+        TranslationCache cache = new TranslationCache(this, 10);
+        assertSame(TranslationCache.NOT_CACHED, cache.get("code1", "name"));
+
+        cache.put("code1", "name", "translated");
+        cache.put("code2", "name", null);
+
+        assertEquals("translated", cache.get("code1", "name"));
+        assertNull(cache.get("code2", "name"));
+        assertSame(TranslationCache.NOT_CACHED, cache.get("code1", "description"));
+        assertSame(this, cache.getService());
+    }
+
+    /**
+     * Beans are compared by identity, not with equals().
+     */
+    public void testIdentity()
+    {
+        TranslationCache cache = new TranslationCache(this, 10);
+        String bean = new String("code1");
+        cache.put(bean, "name", "translated");
+
+        assertEquals("translated", cache.get(bean, "name"));
+        assertSame(TranslationCache.NOT_CACHED, cache.get(new String("code1"), "name"));
+    }
+
+    /**
+     * The least recently used entries are evicted above the maximum size.
+     */
+    public void testMaxSize()
+    {
+        TranslationCache cache = new TranslationCache(this, 2);
+        cache.put("code1", "name", "one");
+        cache.put("code2", "name", "two");
+        cache.get("code1", "name");
+        cache.put("code3", "name", "three");
+
+        assertEquals("one", cache.get("code1", "name"));
+        assertSame(TranslationCache.NOT_CACHED, cache.get("code2", "name"));
+        assertEquals("three", cache.get("code3", "name"));
+    }
+}
@@ -0,0 +1,29 @@
+<jsp:root version="1.2" xmlns:jsp="http://java.sun.com/JSP/Page"
+    xmlns:display="urn:jsptld:http://displaytag.sf.net/el">
+    <jsp:text> <![CDATA[<!DOCTYPE html PUBLIC "-//W3C//DTD XHTML 1.0 Strict//EN"
+        "http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd"> ]]> </jsp:text>
+    <jsp:directive.page contentType="text/html; charset=UTF8"/>
+    <html xmlns="http://www.w3.org/1999/xhtml" lang="en">
+        <head>
+            <meta http-equiv="content-type" content="text/html; charset=UTF-8" />
+            <title>Displaytag unit test</title>
+        </head>
+        <body>
+            <jsp:scriptlet> <![CDATA[
+                org.displaytag.test.StubCustomGridQueryService service = new org.displaytag.test.StubCustomGridQueryService();
+                request.setAttribute("customGridQueryService", service);
+                java.util.List testData = new java.util.ArrayList();
+                testData.add(new String("row"));
+                testData.add(new String("row"));
+                testData.add(new String("row"));
+                request.setAttribute( "test", testData);
+            ]]> </jsp:scriptlet>
+            <display:table name="${requestScope.test}" id="table" pagesize="2">
+                <display:column property="CF_A"/>
+                <display:column property="[links].name"/>
+            </display:table>
+            <p id="calls"><jsp:expression>service.getBulkCalls() + "/" + service.getSingleCalls()</jsp:expression></p>
+            <p id="after"><jsp:expression>org.displaytag.tags.DataGridCustomiztionUtil.findCustomFieldValue(testData.get(0), "CF_A")</jsp:expression></p>
+        </body>
+    </html>
+</jsp:root>
\ No newline at end of file
@@ -0,0 +1,29 @@
+<jsp:root version="1.2" xmlns:jsp="http://java.sun.com/JSP/Page"
+    xmlns:display="urn:jsptld:http://displaytag.sf.net/el">
+    <jsp:text> <![CDATA[<!DOCTYPE html PUBLIC "-//W3C//DTD XHTML 1.0 Strict//EN"
+        "http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd"> ]]> </jsp:text>
+    <jsp:directive.page contentType="text/html; charset=UTF8"/>
+    <html xmlns="http://www.w3.org/1999/xhtml" lang="en">
+        <head>
+            <meta http-equiv="content-type" content="text/html; charset=UTF-8" />
+            <title>Displaytag unit test</title>
+        </head>
+        <body>
+            <jsp:scriptlet> <![CDATA[
+                java.util.List testData = new java.util.ArrayList();
+                double[] amounts = new double[]{0.1, Double.NaN, 0.2, Double.POSITIVE_INFINITY};
+                for (int j = 0; j < amounts.length; j++)
+                {
+                    java.util.Map row = new java.util.HashMap();
+                    row.put("amount", new Double(amounts[j]));
+                    testData.add(row);
+                }
+                request.setAttribute( "test", testData);
+            ]]> </jsp:scriptlet>
+            <display:table name="${requestScope.test}" varTotals="totals" decorator="org.displaytag.decorator.TotalTableDecorator">
+                <display:column property="amount" total="true" exactTotal="true" />
+            </display:table>
+            <div id="divtotal"><jsp:expression>((java.util.Map)pageContext.getAttribute("totals")).get("column1")</jsp:expression></div>
+        </body>
+    </html>
+</jsp:root>
@@ -0,0 +1,41 @@
+<jsp:root version="1.2" xmlns:jsp="http://java.sun.com/JSP/Page"
+    xmlns:display="urn:jsptld:http://displaytag.sf.net/el">
+    <jsp:text> <![CDATA[<!DOCTYPE html PUBLIC "-//W3C//DTD XHTML 1.0 Strict//EN"
+        "http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd"> ]]> </jsp:text>
+    <jsp:directive.page contentType="text/html; charset=UTF8"/>
+    <html xmlns="http://www.w3.org/1999/xhtml" lang="en">
+        <head>
+            <meta http-equiv="content-type" content="text/html; charset=UTF-8" />
+            <title>Displaytag unit test</title>
+        </head>
+        <body>
+            <jsp:scriptlet> <![CDATA[
+                java.util.List testData = new java.util.ArrayList();
+                for (int j = 0; j < 3; j++)
+                {
+                    java.util.Map row = new java.util.HashMap();
+                    row.put("ant", "ant");
+                    testData.add(row);
+                }
+                request.setAttribute( "test", testData);
+            ]]> </jsp:scriptlet>
+			<display:table name="${requestScope.test}" id="table" pagesize="1">
+				<display:setProperty name="export.streaming" value="${param.streaming}" />
+				<display:setProperty name="export.streaming.flushrows" value="2" />
+				<jsp:scriptlet> <![CDATA[
+				    java.util.Map row = (java.util.Map) pageContext.getAttribute("table");
+				    row.put("evaluated", "yes");
+				    // marks the previous row, which is already written if the export is streamed
+				    java.util.Map previous = (java.util.Map) pageContext.getAttribute("previous");
+				    if (previous != null && "true".equals(request.getParameter("mark")))
+				    {
+				        previous.put("evaluated", "marked");
+				    }
+				    pageContext.setAttribute("previous", row);
+				]]> </jsp:scriptlet>
+				<display:column property="ant" />
+				<display:column property="evaluated" />
+			</display:table>
+        </body>
+    </html>
+</jsp:root>
@@ -0,0 +1,33 @@
+<jsp:root version="1.2" xmlns:jsp="http://java.sun.com/JSP/Page"
+    xmlns:display="urn:jsptld:http://displaytag.sf.net/el">
+    <jsp:text> <![CDATA[<!DOCTYPE html PUBLIC "-//W3C//DTD XHTML 1.0 Strict//EN"
+        "http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd"> ]]> </jsp:text>
+    <jsp:directive.page contentType="text/html; charset=UTF8"/>
+    <html xmlns="http://www.w3.org/1999/xhtml" lang="en">
+        <head>
+            <meta http-equiv="content-type" content="text/html; charset=UTF-8" />
+            <title>Displaytag unit test</title>
+        </head>
+        <body>
+            <jsp:scriptlet> <![CDATA[
+                java.util.List testData = new java.util.ArrayList();
+                String[] groups = new String[]{"a", "a", "b"};
+                String[] names = new String[]{"pear", "apple", "fig"};
+                for (int j = 0; j < groups.length; j++)
+                {
+                    java.util.Map row = new java.util.HashMap();
+                    row.put("group", groups[j]);
+                    row.put("name", names[j]);
+                    testData.add(row);
+                }
+                request.setAttribute( "test", testData);
+            ]]> </jsp:scriptlet>
+            <display:table name="${requestScope.test}" decorator="org.displaytag.decorator.AggregateFunctionsTableDecorator">
+                <display:column property="group" group="1" />
+                <display:column property="name" total="true" />
+                <display:column property="name" total="true" />
+                <display:column property="name" total="true" />
+            </display:table>
+        </body>
+    </html>
+</jsp:root>
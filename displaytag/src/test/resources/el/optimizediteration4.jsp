@@ -0,0 +1,31 @@
+<jsp:root version="1.2" xmlns:jsp="http://java.sun.com/JSP/Page"
+  xmlns:display="urn:jsptld:http://displaytag.sf.net/el">
+    <jsp:text> <![CDATA[<!DOCTYPE html PUBLIC "-//W3C//DTD XHTML 1.0 Strict//EN"
+        "http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd"> ]]> </jsp:text>
+    <jsp:directive.page contentType="text/html; charset=UTF8"/>
+    <html xmlns="http://www.w3.org/1999/xhtml" lang="en">
+        <head>
+            <meta http-equiv="content-type" content="text/html; charset=UTF-8" />
+            <title>Displaytag unit test</title>
+        </head>
+        <body>
+            <jsp:scriptlet> <![CDATA[
+                java.util.List testData = new java.util.ArrayList();
+                testData.add(new org.displaytag.test.NumberedItem(4));
+                testData.add(new org.displaytag.test.NumberedItem(1));
+                testData.add(new org.displaytag.test.NumberedItem(6));
+                testData.add(new org.displaytag.test.NumberedItem(3));
+                testData.add(new org.displaytag.test.NumberedItem(7));
+                testData.add(new org.displaytag.test.NumberedItem(2));
+                testData.add(new org.displaytag.test.NumberedItem(5));
+                request.setAttribute( "test", testData);
+            ]]> </jsp:scriptlet>
+            <jsp:scriptlet>int count = 0;</jsp:scriptlet>
+            <display:table name="${requestScope.test}" id="table" pagesize="2" sort="list">
+                <display:column property="number"/>
+                <display:column title="iterations"><jsp:expression>++count</jsp:expression></display:column>
+            </display:table>
+						<p id="iterations"><jsp:expression>count</jsp:expression></p>
+        </body>
+    </html>
+</jsp:root>
\ No newline at end of file
@@ -0,0 +1,30 @@
+<jsp:root version="1.2" xmlns:jsp="http://java.sun.com/JSP/Page"
+  xmlns:display="urn:jsptld:http://displaytag.sf.net">
+  <jsp:text> <![CDATA[<!DOCTYPE html PUBLIC "-//W3C//DTD XHTML 1.0 Strict//EN"
+        "http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd"> ]]> </jsp:text>
+    <jsp:directive.page contentType="text/html; charset=UTF8"/>
+  <html xmlns="http://www.w3.org/1999/xhtml" lang="en">
+    <head>
+      <meta http-equiv="content-type" content="text/html; charset=UTF-8" />
+      <title>Displaytag unit test</title>
+    </head>
+    <body>
+      <jsp:scriptlet> <![CDATA[
+          String page = request.getParameter("page");
+          org.displaytag.pagination.SimpleKeysetPaginatedList testData = new org.displaytag.pagination.SimpleKeysetPaginatedList(
+              2, page == null ? 1 : Integer.parseInt(page), request.getParameter("before"), request.getParameter("after"));
+          request.setAttribute( "test", testData);
+      ]]> </jsp:scriptlet>
+      <display:table name="test" uid="table">
+        <display:column property="number" sortable="true"/>
+        <display:setProperty name="paging.banner.keyset.items_found">
+           <div id="pagebanner">{1}|{2}|{3}</div>
+        </display:setProperty>
+        <display:setProperty name="paging.banner.keyset.full">
+           <div id="pagelinks">{0}|<a id="first" href="{1}">first</a>|<a id="prev" href="{2}">prev</a>|<a id="next" href="{3}">next</a></div>
+        </display:setProperty>
+        <display:setProperty name="paging.banner.page.selected" value="[{0}]"/>
+      </display:table>
+    </body>
+  </html>
+</jsp:root>